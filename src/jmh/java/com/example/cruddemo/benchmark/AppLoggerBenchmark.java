@@ -0,0 +1,91 @@
+package com.example.cruddemo.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import com.example.cruddemo.util.AppLogger;
+import com.example.cruddemo.util.AsyncLogDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a simulated request (the AppLogger calls of a getEmployeeById round trip
+ * plus a fixed amount of work) with logging off, synchronous file appenders, and the
+ * async dispatcher. Logback is configured from simple-logging-config.xml with the
+ * console appender detached and the log files written to a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AppLoggerBenchmark {
+
+    @Param({"OFF", "SYNC", "ASYNC_DROP", "ASYNC_BLOCK"})
+    public String mode;
+
+    // Simulated request work besides logging, in JMH consumeCPU tokens
+    @Param({"2000"})
+    public long work;
+
+    private AsyncLogDispatcher dispatcher;
+
+    @Setup
+    public void setUp() throws Exception {
+        System.setProperty("LOG_PATH", Files.createTempDirectory("applogger-bench").toString());
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(AppLoggerBenchmark.class.getResource("/simple-logging-config.xml"));
+        for (String name : new String[] {"log1", "log2", Logger.ROOT_LOGGER_NAME}) {
+            context.getLogger(name).detachAppender("CONSOLE");
+        }
+        if ("OFF".equals(mode)) {
+            context.getLogger("log1").setLevel(ch.qos.logback.classic.Level.OFF);
+            context.getLogger("log2").setLevel(ch.qos.logback.classic.Level.OFF);
+        } else if (mode.startsWith("ASYNC")) {
+            dispatcher = new AsyncLogDispatcher(8192, "ASYNC_DROP".equals(mode)
+                    ? AsyncLogDispatcher.OverflowPolicy.DROP
+                    : AsyncLogDispatcher.OverflowPolicy.BLOCK);
+            AppLogger.setDispatcher(dispatcher);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+            System.out.println("Dropped records: " + dispatcher.getDroppedCount());
+        }
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+    }
+
+    @Benchmark
+    public void request(Blackhole blackhole) {
+        long id = 42L;
+        AppLogger.log1Info("Fetching employee with ID: {}", id);
+        AppLogger.log1Info("Service: Getting employee with ID: {}", id);
+        Blackhole.consumeCPU(work);
+        AppLogger.log2Info("Service: Found employee: {}", "john.doe@example.com");
+        blackhole.consume(id);
+    }
+}
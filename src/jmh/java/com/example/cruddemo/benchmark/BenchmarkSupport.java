@@ -0,0 +1,87 @@
+package com.example.cruddemo.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.SalaryAggregate;
+import com.example.cruddemo.repository.EmployeeRepository;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Offline stand-ins for the Spring context: an in-memory employee repository and quiet logging.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Raises the application and framework loggers to WARN, so the benchmarks measure
+     * the code path and not the console appender of Logback's default configuration
+     */
+    static void quietLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (String name : new String[] {"log1", "log2", org.slf4j.Logger.ROOT_LOGGER_NAME}) {
+            context.getLogger(name).setLevel(Level.WARN);
+        }
+    }
+
+    /**
+     * Creates an EmployeeRepository backed by a list of employees with IDs 1..n.
+     * Supports findAll, findById, count and aggregateSalaries; every other method throws.
+     * findAll returns a fresh list, like a query, but the entities are shared.
+     * @param employees The employees, ordered by ID
+     * @return The stub repository
+     */
+    static EmployeeRepository employeeRepository(List<Employee> employees) {
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[] {EmployeeRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAll":
+                            if (args == null) {
+                                return new ArrayList<>(employees);
+                            }
+                            break;
+                        case "findById":
+                            long id = (Long) args[0];
+                            return id >= 1 && id <= employees.size()
+                                    ? Optional.of(employees.get((int) id - 1))
+                                    : Optional.empty();
+                        case "count":
+                            return (long) employees.size();
+                        case "aggregateSalaries":
+                            return aggregate(employees);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubEmployeeRepository";
+                        default:
+                    }
+                    throw new UnsupportedOperationException("Not supported by the benchmark stub: " + method);
+                });
+    }
+
+    private static SalaryAggregate aggregate(List<Employee> employees) {
+        long salaried = 0;
+        double total = 0;
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (Employee employee : employees) {
+            if (employee.getSalary() != null) {
+                salaried++;
+                total += employee.getSalary();
+                min = Math.min(min, employee.getSalary());
+                max = Math.max(max, employee.getSalary());
+            }
+        }
+        return new SalaryAggregate((long) employees.size(), salaried, total,
+                salaried > 0 ? total / salaried : null, salaried > 0 ? min : null, salaried > 0 ? max : null);
+    }
+}
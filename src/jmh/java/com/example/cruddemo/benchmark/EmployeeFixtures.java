@@ -0,0 +1,74 @@
+package com.example.cruddemo.benchmark;
+
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic employees for the benchmarks.
+ */
+final class EmployeeFixtures {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Michael", "Emily", "Mike", "Sarah", "David", "Anna"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Brown", "Miller", "Davis", "Wilson", "Moore"};
+    private static final String[] POSITIONS = {"Junior Developer", "Senior Developer", "Software Engineer",
+            "Project Manager", "Junior Analyst", "Senior Manager"};
+
+    private EmployeeFixtures() {
+    }
+
+    /**
+     * Creates employees with IDs 1..count and salaries between 30k and 230k
+     * @param count Number of employees
+     * @return The employees
+     */
+    static List<Employee> employees(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i);
+            employee.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            employee.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)] + i);
+            employee.setEmail("employee" + i + "@example.com");
+            employee.setPhoneNumber("555-" + (1000000 + i));
+            employee.setPosition(POSITIONS[random.nextInt(POSITIONS.length)]);
+            employee.setSalary(30000.0 + random.nextInt(20000000) / 100.0);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /**
+     * Creates employees with IDs 1..count that share their name, email and position strings,
+     * so ten million of them fit in a benchmark heap. Salaries are the same as in {@link #employees(int)}.
+     * @param count Number of employees
+     * @return The employees
+     */
+    static List<Employee> lightEmployees(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i);
+            employee.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            employee.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            employee.setEmail("employee@example.com");
+            employee.setPosition(POSITIONS[random.nextInt(POSITIONS.length)]);
+            employee.setSalary(30000.0 + random.nextInt(20000000) / 100.0);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    static List<EmployeeSnapshot> snapshots(List<Employee> employees) {
+        List<EmployeeSnapshot> snapshots = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            snapshots.add(EmployeeSnapshot.of(employee));
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.cruddemo.benchmark;
+
+import com.example.cruddemo.index.SalaryIndex;
+import com.example.cruddemo.mapping.MapperRegistry;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.service.impl.EmployeeServiceImpl;
+import com.example.cruddemo.service.impl.PayrollAggregateServiceImpl;
+import com.example.cruddemo.validation.EmployeeValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-call cost of the helpers on the create/update path: mapQueryResultToEntity and the
+ * field checks of EmployeeValidator (valid and invalid employee), next to a precompiled
+ * pattern as the reference for the email rule alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+
+    private EmployeeServiceImpl service;
+    private EmployeeValidator validator;
+    private Employee source;
+    private Employee validEmployee;
+    private Employee invalidEmployee;
+    private String validEmail;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        List<Employee> employees = EmployeeFixtures.employees(1);
+        service = new EmployeeServiceImpl(BenchmarkSupport.employeeRepository(employees), null, null,
+                new PayrollAggregateServiceImpl(null, null), event -> { }, new SalaryIndex(null), new MapperRegistry(), null, null, null, null, null);
+        validator = new EmployeeValidator(null);
+        source = employees.get(0);
+        validEmail = "jane.smith+payroll@mail.example.com";
+        validEmployee = new Employee(null, "Jane", "Smith", validEmail, "Analyst", 72000, "555-0100");
+        invalidEmployee = new Employee(null, " ", "Smith", "jane.smith(at)example.com", "Analyst", -1, "555-0100");
+    }
+
+    @Benchmark
+    public Employee mapQueryResultToEntity() {
+        return service.mapQueryResultToEntity(source, Employee.class);
+    }
+
+    @Benchmark
+    public boolean checkFieldsValid() {
+        return validator.checkFields(validEmployee, EmployeeValidator.Mode.FULL, new LinkedHashMap<>());
+    }
+
+    @Benchmark
+    public Map<String, String> checkFieldsInvalid() {
+        Map<String, String> violations = new LinkedHashMap<>();
+        validator.checkFields(invalidEmployee, EmployeeValidator.Mode.FULL, violations);
+        return violations;
+    }
+
+    @Benchmark
+    public boolean precompiledPatternValid() {
+        return EMAIL_PATTERN.matcher(validEmail).matches();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.cruddemo.benchmark;
+
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.test.AdvancedEmployeeFunctionalProgramming;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AdvancedEmployeeFunctionalProgramming stream pipelines with the lambdas of its
+ * demonstration method, over an in-memory repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FunctionalPipelineBenchmark {
+
+    @Param({"10000", "100000"})
+    private int employeeCount;
+
+    private List<Employee> employees;
+    private double[] originalSalaries;
+    private AdvancedEmployeeFunctionalProgramming pipelines;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        employees = EmployeeFixtures.employees(employeeCount);
+        originalSalaries = employees.stream().mapToDouble(Employee::getSalary).toArray();
+        pipelines = new AdvancedEmployeeFunctionalProgramming();
+        Field repository = AdvancedEmployeeFunctionalProgramming.class.getDeclaredField("employeeRepository");
+        repository.setAccessible(true);
+        repository.set(pipelines, BenchmarkSupport.employeeRepository(employees));
+    }
+
+    // The salary adjustment mutates the shared entities, so every iteration starts from the same salaries
+    @Setup(Level.Iteration)
+    public void resetSalaries() {
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setSalary(originalSalaries[i]);
+        }
+    }
+
+    @Benchmark
+    public List<String> advancedFiltering() {
+        return pipelines.processEmployeesWithAdvancedFiltering(
+                emp -> emp.getPosition().contains("Senior"),
+                emp -> emp.getSalary() > 100000,
+                Employee::getFullName);
+    }
+
+    @Benchmark
+    public Map<String, List<Employee>> complexGrouping() {
+        return pipelines.groupEmployeesByComplexCriteria(
+                emp -> emp.getPosition() + "_" + (emp.getSalary() > 80000 ? "Senior" : "Junior"),
+                emp -> emp.getFirstName().length() > 3);
+    }
+
+    @Benchmark
+    public List<Employee> conditionalSalaryAdjustment() {
+        return pipelines.applyConditionalSalaryAdjustment(
+                emp -> emp.getPosition().contains("Junior") && emp.getSalary() < 70000,
+                emp -> emp.getSalary() * 1.15);
+    }
+
+    @Benchmark
+    public List<String> complexEvaluation() {
+        return pipelines.evaluateEmployeesWithComplexRules(
+                emp -> emp.getPosition().contains("Senior"),
+                emp -> new BigDecimal(emp.getSalary()).compareTo(BigDecimal.valueOf(90000)) > 0,
+                emp -> String.format("Employee: %s, Salary: %.2f, Position: %s",
+                        emp.getFullName(), emp.getSalary(), emp.getPosition()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.cruddemo.benchmark;
+
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.Manager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the REST payloads with the ObjectMapper configuration Spring MVC uses:
+ * a single Employee (with and without its Manager), a Manager, and a 100-employee list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter employeeListWriter;
+    private Employee employee;
+    private Employee managedEmployee;
+    private Manager manager;
+    private List<Employee> employeePage;
+    private byte[] employeeJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employeeListWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, Employee.class));
+
+        List<Employee> employees = EmployeeFixtures.employees(101);
+        manager = new Manager("Ada", "Lovelace", "ada.lovelace@example.com", "555-0100", new BigDecimal("150000.00"));
+        manager.setId(1L);
+        employee = employees.get(0);
+        managedEmployee = employees.get(1);
+        managedEmployee.setManager(manager);
+        employeePage = employees.subList(1, 101);
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeWithManager() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(managedEmployee);
+    }
+
+    @Benchmark
+    public byte[] serializeManager() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(manager);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeePage() throws JsonProcessingException {
+        return employeeListWriter.writeValueAsBytes(employeePage);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws IOException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+}
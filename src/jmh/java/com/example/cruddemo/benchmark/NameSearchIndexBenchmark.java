@@ -0,0 +1,91 @@
+package com.example.cruddemo.benchmark;
+
+import com.example.cruddemo.index.NameSearchIndex;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeeName;
+import com.example.cruddemo.model.SearchIndexStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Type-ahead queries: filtering loaded entities on the client side (what the UI did with the full
+ * employee list) versus the trigram name search index. The index size and estimated memory use are
+ * printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class NameSearchIndexBenchmark {
+
+    @Param({"1000000"})
+    private int employeeCount;
+
+    private static final int LIMIT = 10;
+
+    private List<Employee> employees;
+    private NameSearchIndex nameSearchIndex;
+
+    @Setup
+    public void setUp() {
+        employees = EmployeeFixtures.employees(employeeCount);
+        nameSearchIndex = new NameSearchIndex(null, 4000);
+        nameSearchIndex.load(EmployeeFixtures.snapshots(employees));
+        SearchIndexStats stats = nameSearchIndex.stats();
+        System.out.printf("%nName search index: %d employees, %d trigrams, %d postings, %d MB (%d bytes per employee, %d MB per million)%n",
+                stats.getEmployees(), stats.getTrigrams(), stats.getPostings(), stats.getEstimatedBytes() >> 20,
+                stats.getBytesPerEmployee(), stats.getEstimatedBytesPerMillion() >> 20);
+    }
+
+    @Benchmark
+    public List<String> prefixStream() {
+        return employees.stream()
+                .filter(employee -> employee.getLastName().toLowerCase(Locale.ROOT).startsWith("smith4242"))
+                .limit(LIMIT)
+                .map(Employee::getFullName)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<EmployeeName> prefixIndex() {
+        return nameSearchIndex.search("smith4242", LIMIT);
+    }
+
+    // Two letters: hundreds of thousands of matches, stopped after the limit
+    @Benchmark
+    public List<EmployeeName> shortPrefixIndex() {
+        return nameSearchIndex.search("jo", LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeName> firstAndLastNameIndex() {
+        return nameSearchIndex.search("sarah mill", LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeName> emailIndex() {
+        return nameSearchIndex.search("employee77777", LIMIT);
+    }
+
+    // Transposed letters: no prefix match, answered by the typo tier
+    @Benchmark
+    public List<EmployeeName> typoIndex() {
+        return nameSearchIndex.search("simth42421", LIMIT);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.cruddemo.benchmark;
+
+import com.example.cruddemo.event.EmployeeWriteEpoch;
+import com.example.cruddemo.index.SalaryIndex;
+import com.example.cruddemo.mapping.MapperRegistry;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.repository.EmployeeRepository;
+import com.example.cruddemo.service.impl.EmployeeServiceImpl;
+import com.example.cruddemo.service.impl.PayrollAggregateServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * calculateTotalSalary and findHighestPaidEmployee over 10k to 10M synthetic employees:
+ * the original findAll().stream() implementations (with the stub repository's findAll,
+ * so without hydration cost) against the current service backed by the running payroll
+ * totals and the salary index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PayrollBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int employeeCount;
+
+    private EmployeeRepository repository;
+    private EmployeeServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        List<Employee> employees = EmployeeFixtures.lightEmployees(employeeCount);
+        repository = BenchmarkSupport.employeeRepository(employees);
+
+        PayrollAggregateServiceImpl payroll = new PayrollAggregateServiceImpl(repository, new EmployeeWriteEpoch());
+        payroll.seedRunningTotals();
+        SalaryIndex salaryIndex = new SalaryIndex(null);
+        salaryIndex.load(EmployeeFixtures.snapshots(employees));
+        service = new EmployeeServiceImpl(repository, null, null, payroll, event -> { }, salaryIndex,
+                new MapperRegistry(), null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Double totalSalaryStream() {
+        return repository.findAll().stream()
+                .map(Employee::getSalary)
+                .reduce(0.0, Double::sum);
+    }
+
+    @Benchmark
+    public Double totalSalaryService() {
+        return service.calculateTotalSalary();
+    }
+
+    @Benchmark
+    public Optional<Employee> highestPaidStream() {
+        return repository.findAll().stream()
+                .max(Comparator.comparing(Employee::getSalary));
+    }
+
+    @Benchmark
+    public Optional<Employee> highestPaidService() {
+        return service.findHighestPaidEmployee();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.cruddemo.benchmark;
+
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.index.SalaryIndex;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeeSalary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Salary queries over already loaded entities (the previous in-memory part of the
+ * service methods, without the database round trip) versus the sorted salary index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SalaryIndexBenchmark {
+
+    @Param({"1000000"})
+    private int employeeCount;
+
+    // Selects roughly the top 1% of the 30k..230k salary range
+    private static final double HIGH_PAID_THRESHOLD = 228000.0;
+
+    private List<Employee> employees;
+    private SalaryIndex salaryIndex;
+    private int updateCounter;
+
+    @Setup
+    public void setUp() {
+        employees = EmployeeFixtures.employees(employeeCount);
+        salaryIndex = new SalaryIndex(null);
+        salaryIndex.load(EmployeeFixtures.snapshots(employees));
+    }
+
+    @Benchmark
+    public Optional<Employee> highestPaidStream() {
+        return employees.stream().max(Comparator.comparing(Employee::getSalary));
+    }
+
+    @Benchmark
+    public OptionalLong highestPaidIndex() {
+        return salaryIndex.findHighestPaidId();
+    }
+
+    @Benchmark
+    public List<String> highPaidNamesStream() {
+        return employees.stream()
+                .filter(employee -> employee.getSalary() > HIGH_PAID_THRESHOLD)
+                .map(Employee::getFullName)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> highPaidNamesIndex() {
+        return salaryIndex.findNamesAbove(HIGH_PAID_THRESHOLD);
+    }
+
+    @Benchmark
+    public List<EmployeeSalary> salaryRangeStream() {
+        return employees.stream()
+                .filter(employee -> employee.getSalary() >= 100000.0 && employee.getSalary() <= 100500.0)
+                .limit(500)
+                .map(employee -> new EmployeeSalary(employee.getId(), employee.getFullName(), employee.getSalary()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<EmployeeSalary> salaryRangeIndex() {
+        return salaryIndex.findInRange(100000.0, 100500.0, 500);
+    }
+
+    // One committed salary change: a removal and an insertion, no copy of the index
+    @Benchmark
+    public int salaryUpdateIndex() {
+        EmployeeSnapshot before = EmployeeSnapshot.of(employees.get(updateCounter++ % employeeCount));
+        EmployeeSnapshot after = new EmployeeSnapshot(before.getId(), before.getFirstName(), before.getLastName(),
+                before.getEmail(), before.getPosition(), before.getSalary() + 1, before.getManagerId(), before.getVersion());
+        salaryIndex.onEmployeeChange(EmployeeChangeEvent.updated(before, after));
+        salaryIndex.onEmployeeChange(EmployeeChangeEvent.updated(after, before));
+        return salaryIndex.size();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.cruddemo.benchmark;
+
+import com.example.cruddemo.CrudDemoApplication;
+import com.example.cruddemo.exception.PreconditionFailedException;
+import com.example.cruddemo.exception.UpdateConflictException;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.repository.EmployeeRepository;
+import com.example.cruddemo.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent updates of a few hot employees through the real service, transaction manager and
+ * the in-memory H2 database of the perf profile (no web server). Threads pick a random hot row and either
+ * <ul>
+ *   <li>readModifyWrite: read it, raise the salary by one and write it back with the version they
+ *       read (If-Match), re-reading after a 412 like a client would, or</li>
+ *   <li>blindWrite: overwrite its phone number without a version, relying on the server-side retry
+ *       and counting the writes that still end in a 409.</li>
+ * </ul>
+ * The trial teardown checks that no salary increment was lost and prints the server-side
+ * retries and conflicts. Change the number of threads with -t.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class UpdateContentionBenchmark {
+
+    @Param({"1", "16"})
+    private int hotRows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+    private EmployeeRepository repository;
+    private final List<Long> ids = new ArrayList<>();
+    private final Map<Long, Double> initialSalaries = new HashMap<>();
+    private final LongAdder increments = new LongAdder();
+
+    /**
+     * Client-visible failures per thread (412 and 409), reported next to the throughput
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ClientRetries {
+        public long preconditionFailures;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            preconditionFailures = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CrudDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=perf",
+                        "--logging.file.path=" + System.getProperty("java.io.tmpdir") + "/crud-demo-benchmark-logs",
+                        "--app.logging.async.enabled=false");
+        service = context.getBean(EmployeeService.class);
+        repository = context.getBean(EmployeeRepository.class);
+        for (int i = 0; i < hotRows; i++) {
+            Employee employee = repository.save(new Employee(null, "Hot", "Row" + i,
+                    "hot.row" + i + "@example.com", "Engineer", 50_000, "555-0100"));
+            ids.add(employee.getId());
+            initialSalaries.put(employee.getId(), employee.getSalary());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double raised = 0;
+        for (Long id : ids) {
+            raised += repository.findById(id).map(Employee::getSalary).orElse(0.0) - initialSalaries.get(id);
+        }
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        System.out.printf("%nhot rows %d: %d committed increments, %.0f applied (lost: %.0f), "
+                        + "server retries %.0f, server conflicts %.0f%n",
+                hotRows, increments.sum(), raised, increments.sum() - raised,
+                registry.counter("app.optimistic.retries").count(),
+                registry.counter("app.optimistic.conflicts").count());
+        context.close();
+    }
+
+    @Benchmark
+    public Employee readModifyWrite(ClientRetries retries) {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        while (true) {
+            Employee current = repository.findById(id).orElseThrow(IllegalStateException::new);
+            try {
+                Employee updated = service.updateEmployee(id, copyOf(current, current.getSalary() + 1),
+                        current.getVersion());
+                increments.increment();
+                return updated;
+            } catch (PreconditionFailedException e) {
+                retries.preconditionFailures++;
+            }
+        }
+    }
+
+    @Benchmark
+    public Employee blindWrite(ClientRetries retries) {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        Employee current = repository.findById(id).orElseThrow(IllegalStateException::new);
+        Employee details = copyOf(current, current.getSalary());
+        details.setPhoneNumber("555-" + ThreadLocalRandom.current().nextInt(10_000));
+        try {
+            return service.updateEmployee(id, details);
+        } catch (UpdateConflictException e) {
+            retries.conflicts++;
+            return null;
+        }
+    }
+
+    private static Employee copyOf(Employee employee, double salary) {
+        return new Employee(null, employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getPosition(), salary, employee.getPhoneNumber());
+    }
+}
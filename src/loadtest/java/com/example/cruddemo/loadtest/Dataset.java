@@ -0,0 +1,151 @@
+package com.example.cruddemo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Employees and managers created through the API before the run, so reads and updates hit rows
+ * that exist. Emails carry a run ID, so repeated runs against the same database do not collide.
+ */
+final class Dataset {
+
+    static final int LAST_NAMES = 200;
+    static final int POSITIONS = 10;
+
+    private static final String[] POSITION_NAMES = {
+            "Software Engineer", "Senior Developer", "QA Engineer", "Product Manager", "Data Analyst",
+            "DevOps Engineer", "Designer", "Support Engineer", "Architect", "Team Lead"
+    };
+
+    // Rows per POST /employees/batch, below app.batch.max-rows
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final ObjectMapper mapper;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong created = new AtomicLong();
+    private final List<Long> employeeIds = new ArrayList<>();
+    private final List<ObjectNode> employees = new ArrayList<>();
+    private final List<Long> managerIds = new ArrayList<>();
+
+    private Dataset(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    static String lastName(int index) {
+        return "Surname" + index;
+    }
+
+    static String position(int index) {
+        return POSITION_NAMES[index];
+    }
+
+    /**
+     * Creates the managers one by one and the employees in batches
+     * @param client The HTTP client
+     * @param baseUrl The API root
+     * @param employeeCount Employees to create
+     * @param managerCount Managers to create
+     * @param mapper The JSON mapper
+     * @return The IDs and bodies of the created rows
+     */
+    static Dataset seed(HttpClient client, String baseUrl, int employeeCount, int managerCount, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        Dataset dataset = new Dataset(mapper);
+        for (int i = 0; i < managerCount; i++) {
+            ObjectNode manager = mapper.createObjectNode()
+                    .put("firstName", "Manager")
+                    .put("lastName", lastName(i % LAST_NAMES))
+                    .put("email", "manager-" + dataset.runId + "-" + i + "@example.com")
+                    .put("salary", 90_000 + i * 100);
+            JsonNode body = send(client, mapper, HttpRequest.newBuilder(URI.create(baseUrl + "/managers")), manager);
+            dataset.managerIds.add(body.get("id").asLong());
+        }
+        for (int start = 0; start < employeeCount; start += SEED_BATCH_SIZE) {
+            ArrayNode batch = mapper.createArrayNode();
+            List<ObjectNode> rows = new ArrayList<>();
+            for (int i = start; i < Math.min(employeeCount, start + SEED_BATCH_SIZE); i++) {
+                ObjectNode row = dataset.employee(ThreadLocalRandom.current());
+                batch.add(row);
+                rows.add(row);
+            }
+            JsonNode body = send(client, mapper, HttpRequest.newBuilder(URI.create(baseUrl + "/employees/batch")), batch);
+            for (JsonNode result : body.get("results")) {
+                if (result.hasNonNull("id")) {
+                    dataset.employeeIds.add(result.get("id").asLong());
+                    dataset.employees.add(rows.get(result.get("index").asInt()));
+                }
+            }
+        }
+        if (dataset.employeeIds.isEmpty() || dataset.managerIds.isEmpty()) {
+            throw new IllegalStateException("Seeding created no employees or no managers");
+        }
+        return dataset;
+    }
+
+    int size() {
+        return employeeIds.size();
+    }
+
+    int randomEmployeeIndex(ThreadLocalRandom random) {
+        return random.nextInt(employeeIds.size());
+    }
+
+    long employeeId(int index) {
+        return employeeIds.get(index);
+    }
+
+    long randomManagerId(ThreadLocalRandom random) {
+        return managerIds.get(random.nextInt(managerIds.size()));
+    }
+
+    String newEmployeeJson(ThreadLocalRandom random) {
+        return employee(random).toString();
+    }
+
+    /**
+     * @return The seeded employee with a new salary and phone number (a blind full update)
+     */
+    String updatedEmployeeJson(int index, ThreadLocalRandom random) {
+        return employees.get(index).deepCopy()
+                .put("salary", 30_000 + random.nextInt(150_000))
+                .put("phoneNumber", phoneNumber(random))
+                .toString();
+    }
+
+    private ObjectNode employee(ThreadLocalRandom random) {
+        return mapper.createObjectNode()
+                .put("firstName", "Load")
+                .put("lastName", lastName(random.nextInt(LAST_NAMES)))
+                .put("email", "load-" + runId + "-" + created.incrementAndGet() + "@example.com")
+                .put("phoneNumber", phoneNumber(random))
+                .put("position", position(random.nextInt(POSITIONS)))
+                .put("salary", 30_000 + random.nextInt(150_000));
+    }
+
+    private static String phoneNumber(ThreadLocalRandom random) {
+        return "555-" + (1000 + random.nextInt(9000));
+    }
+
+    private static JsonNode send(HttpClient client, ObjectMapper mapper, HttpRequest.Builder builder, JsonNode body)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        return mapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.cruddemo.loadtest;
+
+import com.example.cruddemo.CrudDemoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * HTTP load test of the employee and manager API.
+ * Boots the application in this JVM with the perf profile (in-memory H2), seeds employees and
+ * managers through the API, sends open-model load with the chosen scenario mix and writes
+ * throughput, latency percentiles and error rates to a JSON report.
+ * <p>
+ * Options ({@code --name=value}): rate (requests per second, 200), duration (60s), warmup (15s),
+ * mix (read-heavy, balanced, write-heavy or scenario=weight pairs), arrivals (poisson or uniform),
+ * employees (10000), managers (100), max-in-flight (1000), timeout (30s),
+ * report (target/loadtest-report.json) and base-url (load an already running application instead,
+ * e.g. http://localhost:8080/api/v1). Any other {@code --app.*}, {@code --spring.*} or
+ * {@code --server.*} option is passed to the booted application.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("rate", "200");
+        DEFAULTS.put("duration", "60s");
+        DEFAULTS.put("warmup", "15s");
+        DEFAULTS.put("mix", "read-heavy");
+        DEFAULTS.put("arrivals", "poisson");
+        DEFAULTS.put("employees", "10000");
+        DEFAULTS.put("managers", "100");
+        DEFAULTS.put("max-in-flight", "1000");
+        DEFAULTS.put("timeout", "30s");
+        DEFAULTS.put("report", "target/loadtest-report.json");
+        DEFAULTS.put("base-url", "");
+    }
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (DEFAULTS.containsKey(name)) {
+                options.put(name, arg.substring(equals + 1));
+            } else if (name.startsWith("app.") || name.startsWith("spring.") || name.startsWith("server.")) {
+                applicationArgs.add(arg);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected one of " + DEFAULTS.keySet());
+            }
+        }
+
+        double rate = Double.parseDouble(options.get("rate"));
+        Duration duration = DurationStyle.detectAndParse(options.get("duration"));
+        Duration warmup = DurationStyle.detectAndParse(options.get("warmup"));
+        Duration timeout = DurationStyle.detectAndParse(options.get("timeout"));
+        ScenarioMix mix = ScenarioMix.parse(options.get("mix"));
+        boolean poisson = parseArrivals(options.get("arrivals"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl.isEmpty()) {
+            context = boot(applicationArgs);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+        }
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            System.out.printf("Seeding %s employees and %s managers at %s%n", options.get("employees"),
+                    options.get("managers"), baseUrl);
+            Dataset dataset = Dataset.seed(client, baseUrl, Integer.parseInt(options.get("employees")),
+                    Integer.parseInt(options.get("managers")), mapper);
+            System.out.printf("Sending %s at %.0f requests/s (%s arrivals) for %s after %s warmup%n", mix.getName(),
+                    rate, poisson ? "poisson" : "uniform", duration, warmup);
+
+            Map<Scenario, ScenarioStats> stats = new OpenLoadGenerator(client, baseUrl, dataset, mix, rate, poisson,
+                    Integer.parseInt(options.get("max-in-flight")), timeout).run(warmup, duration);
+
+            ObjectNode config = mapper.createObjectNode();
+            options.forEach(config::put);
+            config.put("base-url", baseUrl);
+            config.put("seededEmployees", dataset.size());
+            ObjectNode weights = config.putObject("weights");
+            for (Entry<Scenario, Integer> weight : mix.getWeights().entrySet()) {
+                weights.put(weight.getKey().getLabel(), weight.getValue());
+            }
+            config.set("applicationArgs", mapper.valueToTree(applicationArgs));
+
+            LoadTestReport report = new LoadTestReport(mapper, config, stats, duration);
+            report.print(System.out);
+            Path file = Path.of(options.get("report"));
+            report.write(file);
+            System.out.printf("%nReport written to %s%n", file.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(List<String> applicationArgs) {
+        // A devtools restart would relaunch this main class in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=perf",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging.file.path=" + System.getProperty("java.io.tmpdir") + "/crud-demo-loadtest-logs"));
+        args.addAll(applicationArgs);
+        return new SpringApplicationBuilder(CrudDemoApplication.class).run(args.toArray(new String[0]));
+    }
+
+    private static boolean parseArrivals(String arrivals) {
+        switch (arrivals) {
+            case "poisson":
+                return true;
+            case "uniform":
+                return false;
+            default:
+                throw new IllegalArgumentException("Unknown arrivals " + arrivals + ", expected poisson or uniform");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.cruddemo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Throughput, latency percentiles and error rates of a run, per scenario and in total,
+ * written as JSON and printed as a table.
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p95", "p99", "p99.9"};
+
+    private final ObjectMapper mapper;
+    private final ObjectNode config;
+    private final Map<Scenario, ScenarioStats> stats;
+    private final Duration duration;
+    private final Histogram total;
+
+    /**
+     * @param mapper The JSON mapper
+     * @param config The run settings, copied into the report
+     * @param stats Stats of the measured period per scenario
+     * @param duration Length of the measured period
+     */
+    LoadTestReport(ObjectMapper mapper, ObjectNode config, Map<Scenario, ScenarioStats> stats, Duration duration) {
+        this.mapper = mapper;
+        this.config = config;
+        this.stats = stats;
+        this.duration = duration;
+        this.total = new Histogram(3);
+        stats.values().forEach(scenarioStats -> total.add(scenarioStats.getLatencies()));
+    }
+
+    void write(Path file) throws IOException {
+        ObjectNode report = mapper.createObjectNode();
+        report.put("finishedAt", Instant.now().toString());
+        report.set("config", config);
+        ObjectNode totals = report.putObject("total");
+        summary(totals, total, totalErrors(), totalDropped());
+        ObjectNode scenarios = report.putObject("scenarios");
+        stats.forEach((scenario, scenarioStats) -> {
+            ObjectNode node = scenarios.putObject(scenario.getLabel());
+            summary(node, scenarioStats.getLatencies(), scenarioStats.getErrors(), scenarioStats.getDropped());
+            ObjectNode statuses = node.putObject("statuses");
+            scenarioStats.getStatuses().forEach((status, count) ->
+                    statuses.put(status == ScenarioStats.NO_RESPONSE ? "none" : status.toString(), count));
+        });
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        mapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-18s %10s %9s %8s %9s %9s %9s %9s %9s%n", "scenario", "requests", "req/s", "errors",
+                "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        stats.forEach((scenario, scenarioStats) -> printRow(out, scenario.getLabel(), scenarioStats.getLatencies(),
+                scenarioStats.getErrors(), scenarioStats.getDropped()));
+        printRow(out, "total", total, totalErrors(), totalDropped());
+    }
+
+    private void printRow(PrintStream out, String name, Histogram latencies, long errors, long dropped) {
+        long requests = latencies.getTotalCount() + dropped;
+        out.printf("%-18s %10d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, requests,
+                latencies.getTotalCount() / seconds(), errorRate(errors, requests),
+                millis(latencies, 50), millis(latencies, 95), millis(latencies, 99), millis(latencies, 99.9),
+                latencies.getTotalCount() == 0 ? 0 : latencies.getMaxValue() / 1000.0);
+    }
+
+    private void summary(ObjectNode node, Histogram latencies, long errors, long dropped) {
+        long requests = latencies.getTotalCount() + dropped;
+        node.put("requests", requests);
+        node.put("throughputPerSecond", round(latencies.getTotalCount() / seconds()));
+        node.put("errors", errors);
+        node.put("dropped", dropped);
+        node.put("errorRatePercent", round(errorRate(errors, requests)));
+        ObjectNode latency = node.putObject("latencyMillis");
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latency.put(PERCENTILE_NAMES[i], round(millis(latencies, PERCENTILES[i])));
+        }
+        latency.put("max", round(latencies.getTotalCount() == 0 ? 0 : latencies.getMaxValue() / 1000.0));
+        latency.put("mean", round(latencies.getTotalCount() == 0 ? 0 : latencies.getMean() / 1000.0));
+    }
+
+    private long totalErrors() {
+        return stats.values().stream().mapToLong(ScenarioStats::getErrors).sum();
+    }
+
+    private long totalDropped() {
+        return stats.values().stream().mapToLong(ScenarioStats::getDropped).sum();
+    }
+
+    private double seconds() {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getTotalCount() == 0 ? 0 : latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double errorRate(long errors, long requests) {
+        return requests == 0 ? 0 : 100.0 * errors / requests;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
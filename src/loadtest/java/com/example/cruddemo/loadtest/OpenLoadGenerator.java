@@ -0,0 +1,105 @@
+package com.example.cruddemo.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive at a fixed average rate whether or not earlier ones have
+ * completed, like independent users, instead of a fixed number of clients waiting for each
+ * response. Arrivals are spaced evenly or exponentially (Poisson process). When more than
+ * max-in-flight requests are outstanding, new arrivals are dropped and counted as errors.
+ */
+final class OpenLoadGenerator {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final ScenarioMix mix;
+    private final double ratePerSecond;
+    private final boolean poisson;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    OpenLoadGenerator(HttpClient client, String baseUrl, Dataset dataset, ScenarioMix mix, double ratePerSecond,
+                      boolean poisson, int maxInFlight, Duration requestTimeout) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.mix = mix;
+        this.ratePerSecond = ratePerSecond;
+        this.poisson = poisson;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Sends load for warmup plus duration and waits for outstanding requests
+     * @param warmup Initial period whose requests are sent but not recorded
+     * @param duration Measured period
+     * @return Stats of the requests that arrived in the measured period, per scenario
+     */
+    Map<Scenario, ScenarioStats> run(Duration warmup, Duration duration) throws InterruptedException {
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        mix.getWeights().keySet().forEach(scenario -> stats.put(scenario, new ScenarioStats()));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long intended = start;
+        while (intended < end) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = mix.next(random);
+            ScenarioStats scenarioStats = intended >= measureFrom ? stats.get(scenario) : null;
+            if (!inFlight.tryAcquire()) {
+                if (scenarioStats != null) {
+                    scenarioStats.recordDropped();
+                }
+            } else {
+                send(scenario, intended, scenarioStats, inFlight);
+            }
+            double gap = poisson ? -Math.log(1 - random.nextDouble()) * intervalNanos : intervalNanos;
+            intended += (long) gap;
+        }
+
+        // Let outstanding requests finish, so late responses are part of the tail
+        if (inFlight.tryAcquire(maxInFlight, requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(5),
+                TimeUnit.NANOSECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+        return stats;
+    }
+
+    private void send(Scenario scenario, long intendedStart, ScenarioStats stats, Semaphore inFlight) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(scenario.request(baseUrl, dataset), (name, value) -> true)
+                    .timeout(requestTimeout)
+                    .build();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intendedStart;
+                    inFlight.release();
+                    if (stats != null) {
+                        stats.record(latency, response != null ? response.statusCode() : ScenarioStats.NO_RESPONSE);
+                    }
+                });
+    }
+}
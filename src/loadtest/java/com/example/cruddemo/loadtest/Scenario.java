@@ -0,0 +1,88 @@
+package com.example.cruddemo.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One kind of request the load generator sends, picked at random for each arrival.
+ */
+enum Scenario {
+    GET_BY_ID("get-by-id"),
+    SEARCH_LAST_NAME("search-last-name"),
+    SEARCH_POSITION("search-position"),
+    CREATE("create"),
+    UPDATE("update"),
+    HIGH_PAID("high-paid"),
+    TOTAL_SALARY("total-salary"),
+    GET_MANAGER("get-manager");
+
+    private final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    static Scenario fromLabel(String label) {
+        for (Scenario scenario : values()) {
+            if (scenario.label.equals(label)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + label);
+    }
+
+    /**
+     * Builds the next request of this scenario
+     * @param baseUrl The API root, e.g. http://localhost:8080/api/v1
+     * @param dataset The seeded employees and managers to pick from
+     * @return The request to send
+     */
+    HttpRequest request(String baseUrl, Dataset dataset) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (this) {
+            case GET_BY_ID:
+                return get(baseUrl + "/employees/" + dataset.employeeId(dataset.randomEmployeeIndex(random)));
+            case SEARCH_LAST_NAME:
+                return get(baseUrl + "/employees/lastname/" + encode(Dataset.lastName(random.nextInt(Dataset.LAST_NAMES))));
+            case SEARCH_POSITION:
+                return get(baseUrl + "/employees/position/" + encode(Dataset.position(random.nextInt(Dataset.POSITIONS))));
+            case CREATE:
+                return json(HttpRequest.newBuilder(URI.create(baseUrl + "/employees")), "POST",
+                        dataset.newEmployeeJson(random));
+            case UPDATE: {
+                int index = dataset.randomEmployeeIndex(random);
+                return json(HttpRequest.newBuilder(URI.create(baseUrl + "/employees/" + dataset.employeeId(index))), "PUT",
+                        dataset.updatedEmployeeJson(index, random));
+            }
+            case HIGH_PAID:
+                return get(baseUrl + "/employees/high-paid?threshold=" + (40_000 + random.nextInt(110_000)));
+            case TOTAL_SALARY:
+                return get(baseUrl + "/employees/total-salary");
+            case GET_MANAGER:
+                return get(baseUrl + "/managers/" + dataset.randomManagerId(random));
+            default:
+                throw new IllegalStateException("Unhandled scenario " + this);
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.cruddemo.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of the scenario for each arrival.
+ * Either a preset (read-heavy, balanced, write-heavy) or weights such as
+ * {@code get-by-id=60,update=30,total-salary=10}.
+ */
+final class ScenarioMix {
+
+    private final String name;
+    private final Map<Scenario, Integer> weights;
+    private final Scenario[] scenarios;
+    private final int[] cumulative;
+
+    private ScenarioMix(String name, Map<Scenario, Integer> weights) {
+        this.name = name;
+        this.weights = weights;
+        this.scenarios = weights.keySet().toArray(new Scenario[0]);
+        this.cumulative = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += weights.get(scenarios[i]);
+            cumulative[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Mix " + name + " has no positive weight");
+        }
+    }
+
+    /**
+     * @param spec A preset name or comma-separated scenario=weight pairs
+     * @return The mix
+     * @throws IllegalArgumentException for unknown scenarios or malformed weights
+     */
+    static ScenarioMix parse(String spec) {
+        switch (spec) {
+            case "read-heavy":
+                spec = "get-by-id=40,search-last-name=10,search-position=5,high-paid=10,total-salary=5,"
+                        + "get-manager=10,create=5,update=15";
+                return new ScenarioMix("read-heavy", weights(spec));
+            case "balanced":
+                spec = "get-by-id=25,search-last-name=10,high-paid=5,total-salary=5,get-manager=5,create=20,update=30";
+                return new ScenarioMix("balanced", weights(spec));
+            case "write-heavy":
+                spec = "get-by-id=15,total-salary=5,create=40,update=40";
+                return new ScenarioMix("write-heavy", weights(spec));
+            default:
+                return new ScenarioMix(spec, weights(spec));
+        }
+    }
+
+    private static Map<Scenario, Integer> weights(String spec) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected scenario=weight but got " + pair);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.merge(Scenario.fromLabel(parts[0].trim()), weight, Integer::sum);
+        }
+        return weights;
+    }
+
+    Scenario next(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Map<Scenario, Integer> getWeights() {
+        return weights;
+    }
+}
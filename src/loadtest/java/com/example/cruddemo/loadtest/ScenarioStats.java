@@ -0,0 +1,70 @@
+package com.example.cruddemo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response times and outcomes of one scenario during the measured part of a run.
+ * Response times are recorded in microseconds from the intended start of each request, so time
+ * spent waiting behind a slow server counts (no coordinated omission).
+ */
+final class ScenarioStats {
+
+    // Status recorded for requests that failed without a response (timeout, refused connection)
+    static final int NO_RESPONSE = -1;
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param latencyNanos Time from the intended start to the end of the response
+     * @param status The HTTP status, or NO_RESPONSE
+     */
+    void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_MICROS));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    // An arrival not sent because max-in-flight requests were already outstanding
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Histogram getLatencies() {
+        return latencies;
+    }
+
+    long getCompleted() {
+        return latencies.getTotalCount();
+    }
+
+    /**
+     * @return Failed and dropped requests
+     */
+    long getErrors() {
+        return errors.sum() + dropped.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
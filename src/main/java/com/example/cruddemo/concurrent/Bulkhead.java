@@ -0,0 +1,215 @@
+package com.example.cruddemo.concurrent;
+
+import com.example.cruddemo.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor that isolates one class of database work (reads, writes or analytics).
+ * At most {@code threads + queueCapacity} requests are admitted at a time; any further request
+ * is rejected at once with {@link BulkheadFullException} (503) instead of tying up a Tomcat thread.
+ * Admitted work runs as a {@link WebAsyncTask}, so the request thread is released while it waits,
+ * and the open-in-view EntityManager is carried to the worker thread for lazy loading.
+ * A bulkhead for writes answers a request only once its work has ended: a timeout answered while
+ * a write still runs would invite a retry of a write that then commits. Its timeout only bounds
+ * the wait for a worker, and work that never started is rejected with a retryable 503.
+ */
+public class Bulkhead {
+
+    // Servlet async timeout meaning "never"
+    private static final long NO_TIMEOUT = 0;
+
+    // Task states, used to release the permit exactly once
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private final String name;
+    private final int capacity;
+    private final long timeoutMillis;
+    private final boolean completeStarted;
+    private final Semaphore permits;
+    private final ThreadPoolExecutor executor;
+    private final AsyncTaskExecutor taskExecutor;
+    private final Counter rejected;
+    private final Timer queueWait;
+    private final Timer execution;
+
+    /**
+     * Creates the bulkhead and registers its meters
+     * @param name Bulkhead name, used for thread names and the bulkhead tag
+     * @param threads Worker threads
+     * @param queueCapacity Admitted requests that may wait for a worker
+     * @param timeoutMillis How long an admitted request may take before it is answered with 503,
+     *                      or only wait for a worker if started work is always completed
+     * @param completeStarted Whether a request whose work has started is answered only once it ends
+     * @param registry The registry for the saturation meters
+     */
+    public Bulkhead(String name, int threads, int queueCapacity, long timeoutMillis, boolean completeStarted,
+                    MeterRegistry registry) {
+        this.name = name;
+        this.capacity = threads + queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        this.completeStarted = completeStarted;
+        this.permits = new Semaphore(capacity);
+        // Admission is bounded by the permits, so the queue itself never rejects
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory(name));
+        this.taskExecutor = new TaskExecutorAdapter(executor);
+
+        this.rejected = Counter.builder("app.bulkhead.rejected")
+                .description("Requests rejected because the bulkhead was full")
+                .tag("bulkhead", name)
+                .register(registry);
+        this.queueWait = Timer.builder("app.bulkhead.queue.wait")
+                .description("Time admitted requests waited for a worker thread")
+                .tag("bulkhead", name)
+                .register(registry);
+        this.execution = Timer.builder("app.bulkhead.execution")
+                .description("Time admitted requests ran on a worker thread")
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("app.bulkhead.in.flight", this, Bulkhead::getInFlight)
+                .description("Admitted requests, running or waiting")
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("app.bulkhead.capacity", this, Bulkhead::getCapacity)
+                .description("Maximum admitted requests")
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("app.bulkhead.saturation", this, Bulkhead::getSaturation)
+                .description("Admitted requests as a fraction of the capacity")
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("app.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Worker threads running a request")
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder("app.bulkhead.queued", executor, e -> e.getQueue().size())
+                .description("Admitted requests waiting for a worker thread")
+                .tag("bulkhead", name)
+                .register(registry);
+    }
+
+    /**
+     * Admits a unit of work or rejects it immediately
+     * @param work The work to run, typically a service call building the response
+     * @return The async task to return from the handler method
+     * @throws BulkheadFullException if the bulkhead is full
+     */
+    public <T> WebAsyncTask<T> submit(Callable<T> work) {
+        return submit(work, completeStarted);
+    }
+
+    /**
+     * Admits a streamed response body or rejects it immediately.
+     * The body is written straight to the response by a worker thread of this bulkhead, so the
+     * stream counts against the bulkhead like any other admitted work and holds no other thread.
+     * A stream that has started is never answered with a timeout, as its status is already sent;
+     * the timeout only bounds the wait for a worker.
+     * @param response The response to write to, with its content headers already set
+     * @param body The body to write
+     * @return The async task to return from the handler method; it answers with the written response
+     * @throws BulkheadFullException if the bulkhead is full
+     */
+    public WebAsyncTask<ResponseEntity<Void>> stream(HttpServletResponse response, StreamingResponseBody body) {
+        return submit(() -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            // Already written, nothing is left for the return value handler
+            return null;
+        }, true);
+    }
+
+    private <T> WebAsyncTask<T> submit(Callable<T> work, boolean completeStarted) {
+        admit();
+        AtomicInteger state = new AtomicInteger(PENDING);
+        long admittedAt = System.nanoTime();
+        Callable<T> task = () -> {
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                // The request already timed out while the task was queued
+                return null;
+            }
+            try {
+                long waited = System.nanoTime() - admittedAt;
+                queueWait.record(waited, TimeUnit.NANOSECONDS);
+                if (completeStarted && waited > TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) {
+                    // Nothing has run, so the client can safely retry
+                    throw new BulkheadFullException("Timed out waiting for a " + name + " worker, please retry later");
+                }
+                return execution.recordCallable(work);
+            } finally {
+                permits.release();
+            }
+        };
+        WebAsyncTask<T> asyncTask = new WebAsyncTask<>(completeStarted ? NO_TIMEOUT : timeoutMillis, taskExecutor, task);
+        asyncTask.onCompletion(() -> {
+            // A task that never started (timed out or cancelled) gives its permit back here
+            if (state.compareAndSet(PENDING, ABANDONED)) {
+                permits.release();
+            }
+        });
+        return asyncTask;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Admitted requests that are running or waiting
+     */
+    public int getInFlight() {
+        return capacity - permits.availablePermits();
+    }
+
+    /**
+     * @return Admitted requests as a fraction of the capacity, between 0 and 1
+     */
+    public double getSaturation() {
+        return (double) getInFlight() / capacity;
+    }
+
+    /**
+     * Stops the worker threads after the queued work has run
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void admit() {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            throw new BulkheadFullException("Too many concurrent " + name + " requests, please retry later");
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
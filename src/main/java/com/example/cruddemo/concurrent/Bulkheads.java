@@ -0,0 +1,40 @@
+package com.example.cruddemo.concurrent;
+
+/**
+ * The bulkheads that database-bound endpoints run on.
+ * Cheap point reads, writes (which may wait on row locks) and analytics (full scans and
+ * aggregates) each have their own threads and limits, so one class cannot starve the others.
+ */
+public class Bulkheads {
+
+    private final Bulkhead reads;
+    private final Bulkhead writes;
+    private final Bulkhead analytics;
+
+    public Bulkheads(Bulkhead reads, Bulkhead writes, Bulkhead analytics) {
+        this.reads = reads;
+        this.writes = writes;
+        this.analytics = analytics;
+    }
+
+    public Bulkhead reads() {
+        return reads;
+    }
+
+    public Bulkhead writes() {
+        return writes;
+    }
+
+    public Bulkhead analytics() {
+        return analytics;
+    }
+
+    /**
+     * Stops the worker threads of every bulkhead
+     */
+    public void shutdown() {
+        reads.shutdown();
+        writes.shutdown();
+        analytics.shutdown();
+    }
+}
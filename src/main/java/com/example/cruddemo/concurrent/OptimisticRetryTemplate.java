@@ -0,0 +1,115 @@
+package com.example.cruddemo.concurrent;
+
+import com.example.cruddemo.exception.UpdateConflictException;
+import com.example.cruddemo.util.AppLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs an update in its own transaction and repeats it when a concurrent commit changed the
+ * same row first (optimistic lock failure). Each attempt re-reads the row, so no row lock is held
+ * between the read and the write. Attempts are separated by exponential backoff with jitter,
+ * so colliding writers spread out instead of retrying in lockstep.
+ */
+@Component
+public class OptimisticRetryTemplate {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final double multiplier;
+    private final long maxBackoffMillis;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    /**
+     * Constructor-based dependency injection
+     * @param transactionManager The transaction manager each attempt runs in
+     * @param registry The registry for the retry counters
+     * @param maxAttempts Attempts before giving up with a conflict
+     * @param initialBackoff Pause before the first retry
+     * @param multiplier Growth factor of the pause between retries
+     * @param maxBackoff Upper bound of the pause between retries
+     */
+    @Autowired
+    public OptimisticRetryTemplate(PlatformTransactionManager transactionManager, MeterRegistry registry,
+                                   @Value("${app.optimistic-retry.max-attempts:4}") int maxAttempts,
+                                   @Value("${app.optimistic-retry.initial-backoff:10ms}") Duration initialBackoff,
+                                   @Value("${app.optimistic-retry.multiplier:2.0}") double multiplier,
+                                   @Value("${app.optimistic-retry.max-backoff:200ms}") Duration maxBackoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.multiplier = multiplier;
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.retries = Counter.builder("app.optimistic.retries")
+                .description("Attempts repeated after an optimistic lock failure")
+                .register(registry);
+        this.exhausted = Counter.builder("app.optimistic.conflicts")
+                .description("Updates given up after the last attempt failed")
+                .register(registry);
+    }
+
+    /**
+     * Runs the attempt in a new transaction, repeating it on optimistic lock failures.
+     * Inside an existing transaction the attempt runs once, because only the outer transaction can be retried.
+     * @param operation Description used in logs and in the conflict message
+     * @param attempt The read-modify-write to run; it must re-read what it changes
+     * @return The result of the first attempt that commits
+     * @throws UpdateConflictException if every attempt collided with a concurrent update
+     */
+    public <T> T execute(String operation, Supplier<T> attempt) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return attempt.get();
+        }
+        long backoffMillis = initialBackoffMillis;
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return transactionTemplate.execute(status -> attempt.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attemptNumber >= maxAttempts) {
+                    exhausted.increment();
+                    AppLogger.log1Warn("{} gave up after {} attempts because of concurrent updates", operation, attemptNumber);
+                    throw new UpdateConflictException(operation + " failed after " + attemptNumber
+                            + " attempts because of concurrent updates, please retry");
+                }
+                retries.increment();
+                long pauseMillis = jitter(backoffMillis);
+                AppLogger.log2Info("{} hit a concurrent update, retrying in {} ms (attempt {} of {})",
+                        operation, pauseMillis, attemptNumber + 1, maxAttempts);
+                pause(pauseMillis, operation);
+                backoffMillis = Math.min((long) (backoffMillis * multiplier), maxBackoffMillis);
+            }
+        }
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    // Random pause between half and all of the backoff ("equal jitter")
+    private static long jitter(long backoffMillis) {
+        long half = backoffMillis / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoffMillis - half + 1);
+    }
+
+    private static void pause(long millis, String operation) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpdateConflictException(operation + " was interrupted while waiting to retry");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.util.AppLogger;
+import com.example.cruddemo.util.AsyncLogDispatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of asynchronous logging for {@link AppLogger}.
+ * The dispatcher is installed as soon as the context starts creating beans and removed on
+ * shutdown after the queued records have been written. Records logged before that (early
+ * startup) are written synchronously.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.logging.async.enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncLoggingConfig {
+
+    /**
+     * Async dispatcher used by AppLogger
+     * @param bufferSize Ring buffer capacity in records
+     * @param overflowPolicy DROP or BLOCK when the buffer is full
+     * @return The started dispatcher
+     */
+    @Bean(destroyMethod = "close")
+    public AsyncLogDispatcher asyncLogDispatcher(
+            @Value("${app.logging.async.buffer-size:8192}") int bufferSize,
+            @Value("${app.logging.async.overflow-policy:DROP}") AsyncLogDispatcher.OverflowPolicy overflowPolicy) {
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(bufferSize, overflowPolicy);
+        AppLogger.setDispatcher(dispatcher);
+        AppLogger.log1Info("Async logging enabled with buffer size {} and overflow policy {}",
+                dispatcher.getCapacity(), overflowPolicy);
+        return dispatcher;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.concurrent.Bulkhead;
+import com.example.cruddemo.concurrent.Bulkheads;
+import com.example.cruddemo.util.AppLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the request bulkheads.
+ * Each bulkhead has its own worker threads, queue depth and timeout, configured through
+ * {@code app.bulkhead.<name>.threads}, {@code .queue-capacity} and {@code .timeout}.
+ * Keep the sum of the worker threads at or below the connection pool size.
+ * Writes are answered only once they have ended, so their timeout bounds the wait for a worker.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    // Point and list reads
+    public static final String READS = "reads";
+
+    // Creates, updates and deletes
+    public static final String WRITES = "writes";
+
+    // Payroll totals, aggregates and consistency checks
+    public static final String ANALYTICS = "analytics";
+
+    /**
+     * The bulkheads used by the controllers
+     * @param environment The environment holding the bulkhead settings
+     * @param registry The registry for the saturation meters
+     * @return The read, write and analytics bulkheads
+     */
+    @Bean(destroyMethod = "shutdown")
+    public Bulkheads bulkheads(Environment environment, MeterRegistry registry) {
+        return new Bulkheads(
+                createBulkhead(environment, registry, READS, 6, 100, Duration.ofSeconds(10), false),
+                createBulkhead(environment, registry, WRITES, 2, 50, Duration.ofSeconds(30), true),
+                createBulkhead(environment, registry, ANALYTICS, 2, 10, Duration.ofSeconds(60), false));
+    }
+
+    private Bulkhead createBulkhead(Environment environment, MeterRegistry registry, String name,
+                                    int defaultThreads, int defaultQueueCapacity, Duration defaultTimeout,
+                                    boolean completeStarted) {
+        int threads = environment.getProperty("app.bulkhead." + name + ".threads", Integer.class, defaultThreads);
+        int queueCapacity = environment.getProperty("app.bulkhead." + name + ".queue-capacity", Integer.class,
+                defaultQueueCapacity);
+        Duration timeout = environment.getProperty("app.bulkhead." + name + ".timeout", Duration.class, defaultTimeout);
+        AppLogger.log1Info("Bulkhead {} created with {} threads, queue capacity {} and timeout {}",
+                name, threads, queueCapacity, timeout);
+        return new Bulkhead(name, threads, queueCapacity, timeout.toMillis(), completeStarted, registry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.util.AppLogger;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the in-process entity and query cache.
+ * Every region is a bounded Caffeine cache (W-TinyLFU eviction) with its own maximum size
+ * and time-to-live, configured through {@code app.cache.<region>.max-size} and
+ * {@code app.cache.<region>.ttl}. Statistics are recorded for every region.
+ * Regions refuse puts of values loaded while an overlapping eviction ran (see {@link GuardedCaffeineCache}).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Employee entities by ID
+    public static final String EMPLOYEES = "employees";
+
+    // Employee entities by email
+    public static final String EMPLOYEES_BY_EMAIL = "employeesByEmail";
+
+    // Employee lists by position
+    public static final String EMPLOYEES_BY_POSITION = "employeesByPosition";
+
+    // Manager entities by ID
+    public static final String MANAGERS = "managers";
+
+    // Manager summary pages by cursor and limit
+    public static final String MANAGER_SUMMARIES = "managerSummaries";
+
+    /**
+     * Cache manager with one bounded region per cached entity or query
+     * @param environment The environment holding the region settings
+     * @return CacheManager backed by Caffeine
+     */
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        // Only the regions registered below exist
+        List<GuardedCaffeineCache> regions = new ArrayList<>();
+        registerRegion(regions, environment, EMPLOYEES, 10_000, Duration.ofMinutes(10));
+        registerRegion(regions, environment, EMPLOYEES_BY_EMAIL, 10_000, Duration.ofMinutes(10));
+        registerRegion(regions, environment, EMPLOYEES_BY_POSITION, 500, Duration.ofMinutes(2));
+        registerRegion(regions, environment, MANAGERS, 2_000, Duration.ofMinutes(10));
+        registerRegion(regions, environment, MANAGER_SUMMARIES, 200, Duration.ofMinutes(1));
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(regions);
+        return cacheManager;
+    }
+
+    private void registerRegion(List<GuardedCaffeineCache> regions, Environment environment, String region,
+                                long defaultMaxSize, Duration defaultTtl) {
+        long maxSize = environment.getProperty("app.cache." + region + ".max-size", Long.class, defaultMaxSize);
+        Duration ttl = environment.getProperty("app.cache." + region + ".ttl", Duration.class, defaultTtl);
+        regions.add(GuardedCaffeineCache.build(region, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()));
+        AppLogger.log1Info("Cache region {} registered with max size {} and ttl {}", region, maxSize, ttl);
+    }
+}
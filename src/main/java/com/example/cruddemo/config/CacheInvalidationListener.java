@@ -0,0 +1,114 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.event.ManagerChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Evicts cached employees and managers once a change has committed.
+ * Evicting after the commit (rather than inside the write transaction) means a reader that
+ * misses after the eviction loads the committed state. A reader whose load started before the
+ * commit may still try to put the pre-commit state back once the eviction has run; the regions
+ * drop such puts (see {@link GuardedCaffeineCache}). BULK changes clear the employee regions.
+ * The email and position regions are keyed by the string the client sent, which may differ in case
+ * from the stored value, so they evict a changed employee through their index of cached employees;
+ * position lists the employee joins are evicted under every spelling of the new position.
+ * Manager summaries aggregate whole teams, so every employee or manager change clears them.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructor-based dependency injection
+     * @param cacheManager The application cache manager
+     */
+    @Autowired
+    public CacheInvalidationListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evicts the cache entries affected by a committed employee change
+     * @param event The change published by the employee services
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        Cache byEmail = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_EMAIL);
+        Cache byPosition = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_POSITION);
+        cacheManager.getCache(CacheConfig.MANAGER_SUMMARIES).clear();
+
+        if (event.getType() == EmployeeChangeEvent.Type.BULK) {
+            employees.clear();
+            byEmail.clear();
+            byPosition.clear();
+            return;
+        }
+        evict(event.getBefore(), employees, byEmail, byPosition);
+        evict(event.getAfter(), employees, byEmail, byPosition);
+        for (EmployeeSnapshot snapshot : event.getAfter()) {
+            // The lists of the new position do not hold the employee yet
+            if (snapshot.getPosition() != null) {
+                evictSpellings(byPosition, snapshot.getPosition());
+            }
+        }
+    }
+
+    /**
+     * Evicts the cache entries affected by a committed manager change
+     * @param event The change published by the manager service
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onManagerChange(ManagerChangeEvent event) {
+        cacheManager.getCache(CacheConfig.MANAGER_SUMMARIES).clear();
+        if (event.getType() == ManagerChangeEvent.Type.CREATED) {
+            return;
+        }
+        cacheManager.getCache(CacheConfig.MANAGERS).evict(event.getManagerId());
+        if (event.getType() == ManagerChangeEvent.Type.UPDATED) {
+            // Cached employees embed a copy of their manager; a deleted manager's team is evicted
+            // through the employee changes of the delete
+            cacheManager.getCache(CacheConfig.EMPLOYEES).clear();
+            cacheManager.getCache(CacheConfig.EMPLOYEES_BY_EMAIL).clear();
+            cacheManager.getCache(CacheConfig.EMPLOYEES_BY_POSITION).clear();
+        }
+    }
+
+    private void evict(List<EmployeeSnapshot> snapshots, Cache employees, Cache byEmail, Cache byPosition) {
+        for (EmployeeSnapshot snapshot : snapshots) {
+            Long id = snapshot.getId();
+            employees.evict(id);
+            evictEmployee(byEmail, id);
+            evictEmployee(byPosition, id);
+        }
+    }
+
+    // Evicts the entries holding an employee from a guarded region; other caches are cleared
+    private void evictEmployee(Cache cache, Long id) {
+        if (cache instanceof GuardedCaffeineCache) {
+            ((GuardedCaffeineCache) cache).evictEmployee(id);
+        } else {
+            cache.clear();
+        }
+    }
+
+    // Evicts the entries keyed by any spelling of a value from a guarded region; other caches are cleared
+    private void evictSpellings(Cache cache, String value) {
+        if (cache instanceof GuardedCaffeineCache) {
+            String normalized = value.trim();
+            ((GuardedCaffeineCache) cache).evictKeys(
+                    key -> key instanceof String && ((String) key).trim().equalsIgnoreCase(normalized));
+        } else {
+            cache.clear();
+        }
+    }
+}
@@ -7,10 +7,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 /**
  * Configuration class to initialize sample data for the application.
  * This class creates sample employees when the application starts.
+ * Not used in production (profiles prod and fast-start), where it would only add startup queries.
  */
 @Configuration
 @Slf4j
@@ -34,6 +36,7 @@ public class DataInitializer {
      * @return CommandLineRunner that creates sample data
      */
     @Bean
+    @Profile("!prod & !fast-start")
     CommandLineRunner initData() {
         return args -> {
             log.info("Starting data initialization...");
@@ -0,0 +1,116 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.datasource.PrimaryStickinessFilter;
+import com.example.cruddemo.datasource.PrimaryStickinessInterceptor;
+import com.example.cruddemo.datasource.ReadWriteRoutingDataSource;
+import com.example.cruddemo.util.AppLogger;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, active when {@code app.datasource.replica.url} is set.
+ * The primary pool is configured with the usual {@code spring.datasource.*} keys and the replica
+ * pool with the same keys under {@code app.datasource.replica} (Hikari settings under
+ * {@code app.datasource.replica.hikari}). Read-only transactions use the replica, unless the
+ * request is pinned to the primary by the read-your-writes window
+ * ({@code app.datasource.routing.stickiness-window}).
+ * Without a replica URL the single auto-configured data source is used.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class DataSourceRoutingConfig implements WebMvcConfigurer {
+
+    /**
+     * Connection pool of the primary database
+     * @param properties The spring.datasource settings
+     * @return The primary pool
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Connection pool of the read replica
+     * @param environment The environment holding the app.datasource.replica settings
+     * @return The replica pool
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        Binder binder = Binder.get(environment);
+        DataSourceProperties properties = binder.bind("app.datasource.replica", DataSourceProperties.class)
+                .get();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("replica");
+        // Connections of read-only transactions only
+        dataSource.setReadOnly(true);
+        AppLogger.log1Info("Read replica configured at {}", properties.getUrl());
+        return dataSource;
+    }
+
+    /**
+     * Chooses the pool per transaction; also binds the per-route connection counters
+     * @param primaryDataSource The primary pool
+     * @param replicaDataSource The replica pool
+     * @return The routing data source
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        HikariDataSource replicaDataSource) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource);
+    }
+
+    /**
+     * The data source used by JPA, JdbcTemplate and the transaction manager
+     * @param routingDataSource The routing data source
+     * @return The routing data source behind a lazy connection proxy
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        // Defers taking the connection until the transaction has been marked read-only or not
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Pins writing requests, and reads within the window after a write, to the primary
+     * @param environment The environment holding the stickiness window
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<PrimaryStickinessFilter> primaryStickinessFilter(Environment environment) {
+        Duration window = environment.getProperty("app.datasource.routing.stickiness-window", Duration.class,
+                Duration.ofSeconds(5));
+        FilterRegistrationBean<PrimaryStickinessFilter> registration =
+                new FilterRegistrationBean<>(new PrimaryStickinessFilter(window));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        AppLogger.log1Info("Read-your-writes stickiness window {}", window);
+        return registration;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new PrimaryStickinessInterceptor());
+    }
+}
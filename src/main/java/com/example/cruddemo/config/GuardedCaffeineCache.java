@@ -0,0 +1,237 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * Caffeine cache region that keeps a load overlapping an eviction from putting stale state back,
+ * and that can evict every entry holding a given employee.
+ * A miss remembers the generation of its key's stripe for the calling thread. Evictions advance
+ * the generation before removing entries, and a put is dropped if the generation moved on since
+ * the miss, or removed again if it moved on while the value was being stored.
+ * Entries holding employees are indexed by employee ID, so regions keyed by email or position
+ * can still evict an employee by key.
+ */
+class GuardedCaffeineCache extends CaffeineCache {
+
+    // Number of generation stripes; keys share a stripe by hash
+    private static final int STRIPES = 64;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    // Key and stripe generation of the calling thread's latest miss
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+
+    // Keys of the entries holding each employee; a key set is only changed while computing its ID
+    private final ConcurrentHashMap<Long, Set<Object>> keysByEmployee;
+
+    private GuardedCaffeineCache(String name, Cache<Object, Object> cache,
+                                 ConcurrentHashMap<Long, Set<Object>> keysByEmployee) {
+        super(name, cache, true);
+        this.keysByEmployee = keysByEmployee;
+    }
+
+    /**
+     * Builds a region
+     * @param name The region name
+     * @param builder The configured Caffeine builder
+     * @return The region
+     */
+    static GuardedCaffeineCache build(String name, Caffeine<Object, Object> builder) {
+        ConcurrentHashMap<Long, Set<Object>> keysByEmployee = new ConcurrentHashMap<>();
+        // Size and expiry evictions run within the entry's computation, like the writes below
+        Cache<Object, Object> cache = builder
+                .evictionListener((key, value, cause) -> unindex(keysByEmployee, key, value))
+                .build();
+        return new GuardedCaffeineCache(name, cache, keysByEmployee);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, generation(key)));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        lastMiss.remove();
+        long generation = miss != null && miss.key.equals(key) ? miss.generation : generation(key);
+        if (generation(key) != generation) {
+            // An eviction ran while the value was loaded, which may predate the evicted change
+            return;
+        }
+        Object stored = toStoreValue(value);
+        getNativeCache().asMap().compute(key, (k, previous) -> {
+            if (previous != null) {
+                unindex(keysByEmployee, k, previous);
+            }
+            index(keysByEmployee, k, stored);
+            return stored;
+        });
+        if (generation(key) != generation) {
+            // The eviction may have run before the value was stored
+            getNativeCache().asMap().computeIfPresent(key, (k, current) -> {
+                if (current != stored) {
+                    return current;
+                }
+                unindex(keysByEmployee, k, current);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object stored = toStoreValue(value);
+        Object[] existing = new Object[1];
+        getNativeCache().asMap().compute(key, (k, current) -> {
+            if (current != null) {
+                existing[0] = current;
+                return current;
+            }
+            index(keysByEmployee, k, stored);
+            return stored;
+        });
+        return toValueWrapper(existing[0]);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generations.incrementAndGet(stripe(key));
+        boolean[] present = new boolean[1];
+        getNativeCache().asMap().computeIfPresent(key, (k, current) -> {
+            unindex(keysByEmployee, k, current);
+            present[0] = true;
+            return null;
+        });
+        return present[0];
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        advanceAll();
+        boolean notEmpty = !getNativeCache().asMap().isEmpty();
+        getNativeCache().invalidateAll();
+        keysByEmployee.clear();
+        return notEmpty;
+    }
+
+    /**
+     * Evicts every entry holding the given employee
+     * @param id The ID of the employee
+     */
+    void evictEmployee(Long id) {
+        // A load of any key may hold the employee without being indexed yet
+        advanceAll();
+        Set<Object> keys = keysByEmployee.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (Object key : keys) {
+            getNativeCache().asMap().computeIfPresent(key, (k, current) -> {
+                unindex(keysByEmployee, k, current);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Evicts every entry whose key matches, such as the keys spelling one value in different case
+     * @param matches The key condition
+     */
+    void evictKeys(Predicate<Object> matches) {
+        // A load of a matching key may not have stored its value yet
+        advanceAll();
+        for (Object key : getNativeCache().asMap().keySet()) {
+            if (matches.test(key)) {
+                getNativeCache().asMap().computeIfPresent(key, (k, current) -> {
+                    unindex(keysByEmployee, k, current);
+                    return null;
+                });
+            }
+        }
+    }
+
+    private long generation(Object key) {
+        return generations.get(stripe(key));
+    }
+
+    private void advanceAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private static void index(Map<Long, Set<Object>> keysByEmployee, Object key, Object value) {
+        for (Long id : employeeIds(value)) {
+            keysByEmployee.compute(id, (i, keys) -> {
+                Set<Object> indexed = keys != null ? keys : new HashSet<>();
+                indexed.add(key);
+                return indexed;
+            });
+        }
+    }
+
+    private static void unindex(Map<Long, Set<Object>> keysByEmployee, Object key, Object value) {
+        for (Long id : employeeIds(value)) {
+            keysByEmployee.computeIfPresent(id, (i, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    // IDs of the employees a cached value holds: one employee or a list of them
+    private static Set<Long> employeeIds(Object value) {
+        Set<Long> ids = new HashSet<>();
+        if (value instanceof Employee) {
+            ids.add(((Employee) value).getId());
+        } else if (value instanceof Collection) {
+            for (Object member : (Collection<?>) value) {
+                if (member instanceof Employee) {
+                    ids.add(((Employee) member).getId());
+                }
+            }
+        }
+        ids.remove(null);
+        return ids;
+    }
+
+    private static final class Miss {
+        private final Object key;
+        private final long generation;
+
+        private Miss(Object key, long generation) {
+            this.key = key;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.index.EmailIndex;
+import com.example.cruddemo.index.NameSearchIndex;
+import com.example.cruddemo.index.SalaryIndex;
+import com.example.cruddemo.service.impl.PayrollAggregateServiceImpl;
+import com.example.cruddemo.util.AppLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the in-memory indexes and seeds the payroll running totals on background threads: once
+ * the application (and its sample data) is ready, and again after every BULK change, so neither
+ * readiness nor the thread that committed a bulk change waits for full table scans.
+ * A bulk change drops the content at once; until a load has finished its readers fall back to the
+ * database: the salary and name search indexes report not ready, the email index answers "maybe"
+ * and the payroll totals are queried. Changes committed meanwhile are replayed by each load, and a
+ * load already queued absorbs further bulk changes.
+ */
+@Component
+public class IndexLoader {
+
+    private final List<Target> targets;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor-based dependency injection
+     * @param salaryIndex The salary index
+     * @param emailIndex The email index
+     * @param nameSearchIndex The name search index
+     * @param payroll The payroll service holding the running totals
+     * @param threads Number of loader threads
+     */
+    @Autowired
+    public IndexLoader(SalaryIndex salaryIndex,
+                       EmailIndex emailIndex,
+                       NameSearchIndex nameSearchIndex,
+                       PayrollAggregateServiceImpl payroll,
+                       @Value("${app.index-loader.threads:2}") int threads) {
+        this.targets = List.of(
+                new Target("salary index", salaryIndex::invalidate, salaryIndex::reload),
+                new Target("email index", emailIndex::invalidate, emailIndex::reload),
+                new Target("name search index", nameSearchIndex::invalidate, nameSearchIndex::reload),
+                new Target("payroll running totals", payroll::invalidate, payroll::seedRunningTotals));
+        this.executor = Executors.newFixedThreadPool(threads, threadFactory());
+    }
+
+    /**
+     * Starts the initial loads
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        targets.forEach(this::submit);
+    }
+
+    /**
+     * Drops and reloads everything derived from the employees table after a committed bulk change
+     * @param event The change published by the employee services
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (event.getType() != EmployeeChangeEvent.Type.BULK) {
+            return;
+        }
+        for (Target target : targets) {
+            target.invalidate.run();
+            submit(target);
+        }
+    }
+
+    /**
+     * Stops loads still running when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Target target) {
+        if (!target.queued.compareAndSet(false, true)) {
+            // The queued load has not started yet, so it reads the latest state anyway
+            return;
+        }
+        executor.execute(() -> {
+            target.queued.set(false);
+            long started = System.nanoTime();
+            try {
+                target.load.run();
+                AppLogger.log1Info("Load of the {} finished in {} ms", target.name, (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                // Readers keep falling back to the database until the next bulk change loads again
+                AppLogger.log1Error("Load of the {} failed", target.name, e);
+            }
+        });
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "index-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One piece of derived state with its drop and load actions
+     */
+    private static final class Target {
+        private final String name;
+        private final Runnable invalidate;
+        private final Runnable load;
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        private Target(String name, Runnable invalidate, Runnable load) {
+            this.name = name;
+            this.invalidate = invalidate;
+            this.load = load;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.cruddemo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every service method and JDBC repository call.
+ * Together with the built-in {@code http.server.requests} (whole request including Jackson),
+ * {@code app.bulkhead.queue.wait} and {@code app.bulkhead.execution} (waiting for and running on a
+ * bulkhead worker) and {@code spring.data.repository.invocations} (Spring Data repositories) timers,
+ * this shows where a request spends its time:
+ * <ul>
+ *     <li>{@code app.service.invocations} - service method, including its transaction</li>
+ *     <li>{@code app.repository.invocations} - hand-written JDBC repositories</li>
+ * </ul>
+ * Every timer is tagged with the class, the method and the exception ("none" on success), so
+ * the count of non-"none" series is the error counter. Histograms are enabled in
+ * application.properties. The aspect runs outside the cache and transaction advice, so service
+ * timers include cache hits and commit time. Success timers are looked up once per method and
+ * kept, so the common path does not build and register a timer on every call.
+ * Controller handlers are not timed: most return a {@code WebAsyncTask} at once and their work runs
+ * on a bulkhead, where it is timed.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InvocationMetricsAspect {
+
+    public static final String SERVICE_TIMER = "app.service.invocations";
+    public static final String REPOSITORY_TIMER = "app.repository.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    // Success timers by method, one map per timer name
+    private final ConcurrentHashMap<Method, Timer> serviceTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Method, Timer> repositoryTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor-based dependency injection
+     * @param meterRegistry The registry the timers are published to
+     */
+    @Autowired
+    public InvocationMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.example.cruddemo.service..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, serviceTimers, joinPoint);
+    }
+
+    // Spring Data repositories are already timed by spring.data.repository.invocations
+    @Around("within(com.example.cruddemo.repository..*) "
+            + "&& @within(org.springframework.stereotype.Repository) "
+            + "&& !target(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, repositoryTimers, joinPoint);
+    }
+
+    private Object time(String timerName, ConcurrentHashMap<Method, Timer> successTimers,
+                        ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            // Failures are rare, so their timers are not cached
+            sample.stop(timer(timerName, method, e.getClass().getSimpleName()));
+            throw e;
+        }
+        sample.stop(successTimers.computeIfAbsent(method, m -> timer(timerName, m, "none")));
+        return result;
+    }
+
+    private Timer timer(String timerName, Method method, String exception) {
+        return Timer.builder(timerName)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
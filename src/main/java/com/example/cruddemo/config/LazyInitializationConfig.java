@@ -0,0 +1,30 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.util.AsyncLogDispatcher;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Beans that stay eager when {@code spring.main.lazy-initialization} is on (profile fast-start).
+ * The async log dispatcher installs itself into AppLogger when created, and the data source and
+ * entity manager factory validate the connection settings and the schema, which should fail the
+ * startup instead of the first request. Everything else is created on first use.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    /**
+     * Excludes the beans above from lazy initialization
+     * @return The exclude filter (static, as it is read before other beans are created)
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(AsyncLogDispatcher.class, DataSource.class,
+                EntityManagerFactory.class, AbstractEntityManagerFactoryBean.class);
+    }
+}
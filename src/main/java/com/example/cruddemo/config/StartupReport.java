@@ -0,0 +1,183 @@
+package com.example.cruddemo.config;
+
+import com.example.cruddemo.util.AppLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Logs how long startup took, broken down by phase, once the application accepts traffic.
+ * Phases come from the startup steps recorded by {@link BufferingApplicationStartup} (set in
+ * {@code CrudDemoApplication.main}); runners and ready listeners are timed here. The full step
+ * timeline stays available at {@code /actuator/startup} on the management port.
+ * <p>
+ * With {@code app.startup.exit-after-ready=true} the application exits after the report, which is
+ * how the AppCDS training run of the {@code appcds} build profile ends.
+ */
+@Component
+public class StartupReport {
+
+    private static final String REFRESH_STEP = "spring.context.refresh";
+    private static final String POST_PROCESS_STEP = "spring.context.beans.post-process";
+    private static final String INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    private final ConfigurableApplicationContext context;
+    private final Environment environment;
+    private final int slowestBeans;
+    private final boolean exitAfterReady;
+
+    // When the ApplicationReadyEvent listeners started; the index and running-total warm-ups they
+    // start run in the background (IndexLoader) and log their own durations
+    private volatile Instant readyListenersStarted;
+    private volatile boolean reported;
+
+    /**
+     * Constructor-based dependency injection
+     * @param context The application context, holding the recorded startup steps
+     * @param environment The environment, for the active profiles and lazy initialization
+     * @param slowestBeans Number of slowest beans to list
+     * @param exitAfterReady Whether to exit once the report is written
+     */
+    @Autowired
+    public StartupReport(ConfigurableApplicationContext context,
+                         Environment environment,
+                         @Value("${app.startup.report.slowest-beans:5}") int slowestBeans,
+                         @Value("${app.startup.exit-after-ready:false}") boolean exitAfterReady) {
+        this.context = context;
+        this.environment = environment;
+        this.slowestBeans = slowestBeans;
+        this.exitAfterReady = exitAfterReady;
+    }
+
+    /**
+     * Marks the end of the runners, before any other ready listener runs
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        readyListenersStarted = Instant.now();
+    }
+
+    /**
+     * Writes the report once all ready listeners are done and the application accepts traffic
+     * @param event The readiness change
+     */
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || reported) {
+            return;
+        }
+        reported = true;
+        report(Instant.now());
+        if (exitAfterReady) {
+            AppLogger.log1Info("Exiting after startup (app.startup.exit-after-ready)");
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void report(Instant now) {
+        Instant jvmStarted = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+        String header = String.format("Startup report (profiles %s, lazy initialization %s): ready in %d ms",
+                String.join(", ", environment.getActiveProfiles()),
+                environment.getProperty("spring.main.lazy-initialization", Boolean.class, false) ? "on" : "off",
+                Duration.between(jvmStarted, now).toMillis());
+
+        ApplicationStartup startup = context.getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup)) {
+            AppLogger.log1Info("{} (startup steps not recorded)", header);
+            return;
+        }
+        StartupTimeline timeline = ((BufferingApplicationStartup) startup).getBufferedTimeline();
+        List<TimelineEvent> events = timeline.getEvents();
+        TimelineEvent refresh = events.stream()
+                .filter(event -> REFRESH_STEP.equals(event.getStartupStep().getName()))
+                .findFirst()
+                .orElse(null);
+        if (refresh == null) {
+            AppLogger.log1Info("{} (refresh step not recorded, startup step buffer full)", header);
+            return;
+        }
+        long refreshId = refresh.getStartupStep().getId();
+        Duration postProcessing = sum(events, POST_PROCESS_STEP, refreshId);
+        Duration beanCreation = sum(events, INSTANTIATE_STEP, refreshId);
+        Instant runnersEnded = readyListenersStarted != null ? readyListenersStarted : now;
+
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        phases.put("JVM start to main", Duration.between(jvmStarted, timeline.getStartTime()));
+        phases.put("Environment and context preparation",
+                Duration.between(timeline.getStartTime(), refresh.getStartTime()));
+        phases.put("Configuration parsing and scanning", postProcessing);
+        phases.put("Eager bean creation", beanCreation);
+        phases.put("Web server start and other refresh work",
+                refresh.getDuration().minus(postProcessing).minus(beanCreation));
+        phases.put("Runners", Duration.between(refresh.getEndTime(), runnersEnded));
+        phases.put("Ready listeners", Duration.between(runnersEnded, now));
+
+        StringBuilder message = new StringBuilder(header);
+        phases.forEach((phase, duration) -> line(message, "  ", phase, duration));
+
+        // Top-level bean creations, wherever they happened; nested ones are part of their parent
+        Set<Long> instantiateIds = events.stream()
+                .map(TimelineEvent::getStartupStep)
+                .filter(step -> INSTANTIATE_STEP.equals(step.getName()))
+                .map(StartupStep::getId)
+                .collect(Collectors.toSet());
+        List<TimelineEvent> slowest = events.stream()
+                .filter(event -> INSTANTIATE_STEP.equals(event.getStartupStep().getName()))
+                .filter(event -> !instantiateIds.contains(event.getStartupStep().getParentId()))
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(slowestBeans)
+                .collect(Collectors.toList());
+        if (!slowest.isEmpty()) {
+            message.append(System.lineSeparator()).append("  Slowest beans (including their dependencies):");
+            slowest.forEach(event -> line(message, "    ", beanName(event.getStartupStep()), event.getDuration()));
+        }
+        AppLogger.log1Info(message.toString());
+    }
+
+    private static Duration sum(List<TimelineEvent> events, String stepName, long parentId) {
+        return events.stream()
+                .filter(event -> stepName.equals(event.getStartupStep().getName()))
+                .filter(event -> Long.valueOf(parentId).equals(event.getStartupStep().getParentId()))
+                .map(TimelineEvent::getDuration)
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "(unnamed)";
+    }
+
+    private static void line(StringBuilder message, String indent, String label, Duration duration) {
+        message.append(System.lineSeparator())
+                .append(String.format("%s%-48s %6d ms", indent, label, duration.toMillis()));
+    }
+}
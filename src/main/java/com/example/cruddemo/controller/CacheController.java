@@ -0,0 +1,47 @@
+package com.example.cruddemo.controller;
+
+import com.example.cruddemo.model.CacheRegionStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+@Slf4j
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        log.info("CacheController initialized with cache manager");
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStats>> getCacheStats() {
+        log.info("Fetching cache statistics");
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache)) {
+                continue;
+            }
+            Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+            CacheStats stats = nativeCache.stats();
+            regions.add(new CacheRegionStats(name, nativeCache.estimatedSize(), stats.hitCount(),
+                    stats.missCount(), stats.hitRate(), stats.evictionCount(), stats.loadCount()));
+        }
+        return ResponseEntity.ok(regions);
+    }
+}
@@ -1,16 +1,42 @@
 package com.example.cruddemo.controller;
 
+import com.example.cruddemo.concurrent.Bulkheads;
+import com.example.cruddemo.event.TableVersions;
+import com.example.cruddemo.exception.BadRequestException;
+import com.example.cruddemo.exception.PreconditionFailedException;
 import com.example.cruddemo.exception.ResourceNotFoundException;
+import com.example.cruddemo.model.BatchCreateResponse;
+import com.example.cruddemo.model.CursorPage;
 import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeeExportFormat;
+import com.example.cruddemo.model.EmployeeName;
+import com.example.cruddemo.model.EmployeePatch;
+import com.example.cruddemo.model.EmployeeSalary;
+import com.example.cruddemo.model.EmployeeSortKey;
+import com.example.cruddemo.model.PayrollConsistencyReport;
+import com.example.cruddemo.model.PayrollGrouping;
+import com.example.cruddemo.model.PayrollTotal;
+import com.example.cruddemo.model.SalaryAdjustmentRequest;
+import com.example.cruddemo.model.SalaryAdjustmentResult;
+import com.example.cruddemo.model.SalaryAggregate;
+import com.example.cruddemo.model.SearchIndexStats;
+import com.example.cruddemo.service.EmployeeBatchService;
 import com.example.cruddemo.service.EmployeeService;
+import com.example.cruddemo.service.PayrollAggregateService;
+import com.example.cruddemo.service.SalaryAdjustmentService;
 import com.example.cruddemo.util.AppLogger;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
-import javax.validation.Valid;
+import javax.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,83 +44,252 @@ import java.util.Map;
 /**
  * REST Controller for managing Employee resources.
  * Provides endpoints for CRUD operations on employees.
+ * Database work runs on the read, write or analytics bulkhead; a full bulkhead answers 503.
  */
 @RestController
 @RequestMapping("/api/v1/employees")
 @Slf4j
 public class EmployeeController {
 
+    // Media type of JSON Merge Patch documents (RFC 7396)
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     // Service dependency
     private final EmployeeService employeeService;
 
+    // Payroll aggregate dependency
+    private final PayrollAggregateService payrollAggregateService;
+
+    // Bulk creation dependency
+    private final EmployeeBatchService employeeBatchService;
+
+    // Salary adjustment dependency
+    private final SalaryAdjustmentService salaryAdjustmentService;
+
+    // Bounded executors for database work
+    private final Bulkheads bulkheads;
+
+    // Change versions behind the list ETags
+    private final TableVersions tableVersions;
+
     /**
      * Constructor-based dependency injection
      * @param employeeService The employee service to be used
+     * @param payrollAggregateService The payroll aggregate service to be used
+     * @param employeeBatchService The bulk creation service to be used
+     * @param salaryAdjustmentService The salary adjustment service to be used
+     * @param bulkheads The bulkheads the endpoints run on
+     * @param tableVersions The table change versions for conditional GETs
      */
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, PayrollAggregateService payrollAggregateService,
+                              EmployeeBatchService employeeBatchService, SalaryAdjustmentService salaryAdjustmentService,
+                              Bulkheads bulkheads, TableVersions tableVersions) {
         this.employeeService = employeeService;
+        this.payrollAggregateService = payrollAggregateService;
+        this.employeeBatchService = employeeBatchService;
+        this.salaryAdjustmentService = salaryAdjustmentService;
+        this.bulkheads = bulkheads;
+        this.tableVersions = tableVersions;
         log.info("EmployeeController initialized with service");
     }
 
     /**
-     * Get all employees endpoint
-     * @return List of all employees with HTTP status
+     * Get all employees endpoint.
+     * When any of the paging parameters is present a cursor page is returned instead of the full list.
+     * The full list is a table scan and runs on the analytics bulkhead, pages on the read bulkhead.
+     * @param after Continuation token (or employee ID for id ordering) from the previous page
+     * @param limit Page size, capped server-side
+     * @param sort Sort key: id, last_name or salary
+     * @param request The request, for If-None-Match
+     * @return List of all employees, or one page of employees, with HTTP status and ETag;
+     *         304 without the list query when the employees and managers have not changed
      */
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        AppLogger.log1Info("Fetching all employees");
-        List<Employee> employees = employeeService.getAllEmployees();
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+    public WebAsyncTask<ResponseEntity<?>> getAllEmployees(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", required = false) String sort,
+            WebRequest request) {
+        if (after == null && limit == null && sort == null) {
+            AppLogger.log1Info("Fetching all employees");
+            return bulkheads.analytics().submit(() -> {
+                String eTag = employeesETag();
+                if (request.checkNotModified(eTag)) {
+                    return notModified();
+                }
+                List<Employee> employees = employeeService.getAllEmployees();
+                return ResponseEntity.ok().eTag(eTag).body(employees);
+            });
+        }
+
+        AppLogger.log1Info("Fetching employee page after: {}, limit: {}, sort: {}", after, limit, sort);
+        EmployeeSortKey sortKey;
+        try {
+            sortKey = EmployeeSortKey.fromParameter(sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return bulkheads.reads().submit(() -> {
+            String eTag = employeesETag();
+            if (request.checkNotModified(eTag)) {
+                return notModified();
+            }
+            CursorPage<Employee> page = employeeService.getEmployeePage(after, limit, sortKey);
+            return ResponseEntity.ok().eTag(eTag).body(page);
+        });
+    }
+
+    /**
+     * Export all employees endpoint.
+     * Rows are streamed from a database cursor as they are read, so the full table is never held in memory.
+     * The stream is written on the analytics bulkhead, like the other full-table reads.
+     * @param format Output format: ndjson (default) or csv
+     * @param response The response the rows are written to
+     * @return Async task writing the rows to the response
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<ResponseEntity<Void>> exportEmployees(
+            @RequestParam(value = "format", required = false) String format,
+            HttpServletResponse response) {
+        EmployeeExportFormat exportFormat;
+        try {
+            exportFormat = EmployeeExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        AppLogger.log1Info("Exporting employees as {}", exportFormat);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"employees." + exportFormat.getFileExtension() + "\"");
+        return bulkheads.analytics().stream(response, out -> employeeService.exportEmployees(exportFormat, out));
     }
 
     /**
      * Get employee by ID endpoint
      * @param employeeId The ID of the employee to retrieve
-     * @return The employee with HTTP status
+     * @return The employee with its version as ETag and HTTP status
      * @throws ResourceNotFoundException if employee not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable(value = "id") Long employeeId) {
-        AppLogger.log1Info("Fetching employee with ID: " + employeeId);
-        Employee employee = employeeService.getEmployeeById(employeeId)
-                .orElseThrow(() -> {
-                    log.error("Employee not found with id: {}", employeeId);
-                    return new ResourceNotFoundException("Employee not found with id: " + employeeId);
-                });
-                
-        return ResponseEntity.ok().body(employee);
+    public WebAsyncTask<ResponseEntity<Employee>> getEmployeeById(@PathVariable(value = "id") Long employeeId) {
+        AppLogger.log1Info("Fetching employee with ID: {}", employeeId);
+        return bulkheads.reads().submit(() -> {
+            Employee employee = employeeService.getEmployeeById(employeeId)
+                    .orElseThrow(() -> {
+                        log.error("Employee not found with id: {}", employeeId);
+                        return new ResourceNotFoundException("Employee not found with id: " + employeeId);
+                    });
+
+            return ResponseEntity.ok().eTag(eTag(employee)).body(employee);
+        });
     }
 
     /**
-     * Create new employee endpoint
+     * Create new employee endpoint.
+     * The body is validated by the service in one pass, so @Valid is not used here.
      * @param employee The employee entity to create
      * @return The created employee with HTTP status
      */
     @PostMapping
-    public ResponseEntity<Employee> createEmployee(@Valid @RequestBody Employee employee) {
-        AppLogger.log1Info("Creating new employee: " + employee.getFirstName() + " " + employee.getLastName());
-        AppLogger.log2Info("Employee creation details: " + employee); // Log details to secondary log
-        Employee savedEmployee = employeeService.createEmployee(employee);
-        return new ResponseEntity<>(savedEmployee, HttpStatus.CREATED);
+    public WebAsyncTask<ResponseEntity<Employee>> createEmployee(@RequestBody Employee employee) {
+        AppLogger.log1Info("Creating new employee: {} {}", employee.getFirstName(), employee.getLastName());
+        AppLogger.log2Info("Employee creation details: {}", employee); // Log details to secondary log
+        return bulkheads.writes().submit(() -> {
+            Employee savedEmployee = employeeService.createEmployee(employee);
+            return new ResponseEntity<>(savedEmployee, HttpStatus.CREATED);
+        });
+    }
+
+    /**
+     * Create many employees endpoint.
+     * Each row is validated on its own; invalid rows are reported and valid rows are still created.
+     * @param employees The employees to create
+     * @return Per-row results with generated IDs; 201 when every row was created, 200 otherwise
+     */
+    @PostMapping("/batch")
+    public WebAsyncTask<ResponseEntity<BatchCreateResponse>> createEmployees(@RequestBody List<Employee> employees) {
+        AppLogger.log1Info("Creating batch of {} employees", employees.size());
+        return bulkheads.writes().submit(() -> {
+            BatchCreateResponse response = employeeBatchService.createEmployees(employees);
+            HttpStatus status = response.getRejectedCount() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+            return new ResponseEntity<>(response, status);
+        });
+    }
+
+    /**
+     * Salary adjustment endpoint.
+     * Eligibility rules are compiled into one set-based UPDATE; rules with a name pattern run in chunks.
+     * A dry run reports the matching employees and salary totals without writing, on the analytics bulkhead.
+     * @param adjustment The eligibility rule and the adjustment
+     * @param dryRun Whether to only preview the adjustment
+     * @return Matched and updated counts with the salary totals before and after
+     */
+    @PostMapping("/salary-adjustments")
+    public WebAsyncTask<ResponseEntity<SalaryAdjustmentResult>> adjustSalaries(
+            @RequestBody SalaryAdjustmentRequest adjustment,
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
+        AppLogger.log1Info("Salary adjustment requested, dry run: {}", dryRun);
+        return (dryRun ? bulkheads.analytics() : bulkheads.writes()).submit(() ->
+                ResponseEntity.ok(salaryAdjustmentService.adjustSalaries(adjustment, dryRun)));
     }
 
     /**
-     * Update employee endpoint
+     * Update employee endpoint.
+     * With an If-Match header the update only applies to the version the client read (412 otherwise);
+     * without it, concurrent updates are serialized by the version check and retried.
      * @param id The ID of the employee to update
+     * @param ifMatch The ETag of the version the client last read, optional
      * @param employeeDetails The updated employee details
-     * @return The updated employee with HTTP status
+     * @return The updated employee with its new ETag and HTTP status
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(
+    public WebAsyncTask<ResponseEntity<Employee>> updateEmployee(
             @PathVariable(value = "id") Long employeeId, 
-            @Valid @RequestBody Employee employeeDetails) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Employee employeeDetails) {
         
-        AppLogger.log1Info("Updating employee with ID: " + employeeId);
-        AppLogger.log2Info("Employee update details: " + employeeDetails); // Log details to secondary log
+        AppLogger.log1Info("Updating employee with ID: {}", employeeId);
+        AppLogger.log2Info("Employee update details: {}", employeeDetails); // Log details to secondary log
+        Long expectedVersion = parseIfMatch(ifMatch);
         
-        Employee updatedEmployee = employeeService.updateEmployee(employeeId, employeeDetails);
-        return ResponseEntity.ok(updatedEmployee);
+        return bulkheads.writes().submit(() -> {
+            Employee updatedEmployee = employeeService.updateEmployee(employeeId, employeeDetails, expectedVersion);
+            return ResponseEntity.ok().eTag(eTag(updatedEmployee)).body(updatedEmployee);
+        });
+    }
+
+    /**
+     * Patch employee endpoint (JSON Merge Patch).
+     * Only the members present in the body are written; null clears a column. Phone number,
+     * position and manager changes are a single UPDATE without reading the employee first.
+     * @param employeeId The ID of the employee to patch
+     * @param ifMatch The ETag of the version the client last read, optional
+     * @param document The merge patch document
+     * @return 204 with the new ETag when it is known
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public WebAsyncTask<ResponseEntity<Void>> patchEmployee(
+            @PathVariable(value = "id") Long employeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode document) {
+
+        AppLogger.log1Info("Patching employee with ID: {}", employeeId);
+        EmployeePatch patch;
+        try {
+            patch = EmployeePatch.fromJson(document);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        Long expectedVersion = parseIfMatch(ifMatch);
+
+        return bulkheads.writes().submit(() -> {
+            Long version = employeeService.patchEmployee(employeeId, patch, expectedVersion);
+            return version != null
+                    ? ResponseEntity.noContent().eTag(eTag(version)).build()
+                    : ResponseEntity.noContent().build();
+        });
     }
 
     /**
@@ -103,13 +298,15 @@ public class EmployeeController {
      * @return Confirmation message with HTTP status
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Boolean>> deleteEmployee(@PathVariable(value = "id") Long employeeId) {
-        AppLogger.log1Info("Deleting employee with ID: " + employeeId);
-        employeeService.deleteEmployee(employeeId);
-        
-        Map<String, Boolean> response = new HashMap<>();
-        response.put("deleted", Boolean.TRUE);
-        return ResponseEntity.ok(response);
+    public WebAsyncTask<ResponseEntity<Map<String, Boolean>>> deleteEmployee(@PathVariable(value = "id") Long employeeId) {
+        AppLogger.log1Info("Deleting employee with ID: {}", employeeId);
+        return bulkheads.writes().submit(() -> {
+            employeeService.deleteEmployee(employeeId);
+
+            Map<String, Boolean> response = new HashMap<>();
+            response.put("deleted", Boolean.TRUE);
+            return ResponseEntity.ok(response);
+        });
     }
 
     /**
@@ -118,12 +315,14 @@ public class EmployeeController {
      * @return List of employees with matching last name
      */
     @GetMapping("/lastname/{lastName}")
-    public ResponseEntity<List<Employee>> getEmployeesByLastName(@PathVariable String lastName) {
+    public WebAsyncTask<ResponseEntity<List<Employee>>> getEmployeesByLastName(@PathVariable String lastName) {
         log.info("REST request to get Employees by last name: {}", lastName);
         
-        List<Employee> employees = employeeService.findByLastName(lastName);
-        log.debug("Found {} employees with last name: {}", employees.size(), lastName);
-        return ResponseEntity.ok(employees);
+        return bulkheads.reads().submit(() -> {
+            List<Employee> employees = employeeService.findByLastName(lastName);
+            log.debug("Found {} employees with last name: {}", employees.size(), lastName);
+            return ResponseEntity.ok(employees);
+        });
     }
 
     /**
@@ -132,12 +331,14 @@ public class EmployeeController {
      * @return List of employees with matching position
      */
     @GetMapping("/position/{position}")
-    public ResponseEntity<List<Employee>> getEmployeesByPosition(@PathVariable String position) {
+    public WebAsyncTask<ResponseEntity<List<Employee>>> getEmployeesByPosition(@PathVariable String position) {
         log.info("REST request to get Employees by position: {}", position);
         
-        List<Employee> employees = employeeService.findByPosition(position);
-        log.debug("Found {} employees with position: {}", employees.size(), position);
-        return ResponseEntity.ok(employees);
+        return bulkheads.reads().submit(() -> {
+            List<Employee> employees = employeeService.findByPosition(position);
+            log.debug("Found {} employees with position: {}", employees.size(), position);
+            return ResponseEntity.ok(employees);
+        });
     }
 
     /**
@@ -147,17 +348,19 @@ public class EmployeeController {
      * @throws ResourceNotFoundException if employee not found
      */
     @GetMapping("/email/{email}")
-    public ResponseEntity<Employee> getEmployeeByEmail(@PathVariable String email) {
+    public WebAsyncTask<ResponseEntity<Employee>> getEmployeeByEmail(@PathVariable String email) {
         log.info("REST request to get Employee by email: {}", email);
         
-        Employee employee = employeeService.findByEmail(email);
-        if (employee == null) {
-            log.error("Employee not found with email: {}", email);
-            throw new ResourceNotFoundException("Employee not found with email: " + email);
-        }
-        
-        log.debug("Found Employee with id: {}", employee.getId());
-        return ResponseEntity.ok(employee);
+        return bulkheads.reads().submit(() -> {
+            Employee employee = employeeService.findByEmail(email);
+            if (employee == null) {
+                log.error("Employee not found with email: {}", email);
+                throw new ResourceNotFoundException("Employee not found with email: " + email);
+            }
+
+            log.debug("Found Employee with id: {}", employee.getId());
+            return ResponseEntity.ok(employee);
+        });
     }
 
     /**
@@ -166,14 +369,16 @@ public class EmployeeController {
      * @return List of names of high-paid employees
      */
     @GetMapping("/high-paid")
-    public ResponseEntity<List<String>> getHighPaidEmployeeNames(
+    public WebAsyncTask<ResponseEntity<List<String>>> getHighPaidEmployeeNames(
             @RequestParam(value = "threshold", defaultValue = "50000.0") Double salaryThreshold) {
         log.info("REST request to get high-paid employee names with threshold: {}", salaryThreshold);
         
-        List<String> highPaidEmployeeNames = employeeService.findHighPaidEmployeeNames(salaryThreshold);
-        log.debug("Found {} high-paid employees", highPaidEmployeeNames.size());
-        
-        return ResponseEntity.ok(highPaidEmployeeNames);
+        return bulkheads.reads().submit(() -> {
+            List<String> highPaidEmployeeNames = employeeService.findHighPaidEmployeeNames(salaryThreshold);
+            log.debug("Found {} high-paid employees", highPaidEmployeeNames.size());
+
+            return ResponseEntity.ok(highPaidEmployeeNames);
+        });
     }
 
     /**
@@ -181,38 +386,187 @@ public class EmployeeController {
      * @return The employee with the highest salary
      */
     @GetMapping("/highest-paid")
-    public ResponseEntity<Employee> getHighestPaidEmployee() {
+    public WebAsyncTask<ResponseEntity<Employee>> getHighestPaidEmployee() {
         log.info("REST request to get highest paid employee");
         
-        Employee highestPaidEmployee = employeeService.findHighestPaidEmployee()
-            .orElseThrow(() -> new ResourceNotFoundException("No employees found"));
-        
-        log.debug("Highest paid employee found: {}", highestPaidEmployee.getFullName());
-        return ResponseEntity.ok(highestPaidEmployee);
+        return bulkheads.reads().submit(() -> {
+            Employee highestPaidEmployee = employeeService.findHighestPaidEmployee()
+                .orElseThrow(() -> new ResourceNotFoundException("No employees found"));
+
+            log.debug("Highest paid employee found: {}", highestPaidEmployee.getFullName());
+            return ResponseEntity.ok(highestPaidEmployee);
+        });
     }
 
     /**
-     * Find employees under a specific manager endpoint
+     * Find employees within a salary range endpoint
+     * @param minSalary Lower bound, inclusive
+     * @param maxSalary Upper bound, inclusive
+     * @param limit Maximum number of results
+     * @return Matching employees, lowest salary first
+     */
+    @GetMapping("/salary-range")
+    public WebAsyncTask<ResponseEntity<List<EmployeeSalary>>> getEmployeesInSalaryRange(
+            @RequestParam(value = "min", required = false) Double minSalary,
+            @RequestParam(value = "max", required = false) Double maxSalary,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        log.info("REST request to get employees with salary between {} and {}", minSalary, maxSalary);
+
+        return bulkheads.reads().submit(() -> {
+            List<EmployeeSalary> employees = employeeService.findEmployeesInSalaryRange(minSalary, maxSalary, limit);
+            log.debug("Found {} employees in salary range", employees.size());
+            return ResponseEntity.ok(employees);
+        });
+    }
+
+    /**
+     * Type-ahead search by first name, last name or email endpoint
+     * @param query Words typed so far; prefixes and small typos match
+     * @param limit Maximum number of results
+     * @return Matching employee IDs and names, best matches first
+     */
+    @GetMapping("/search")
+    public WebAsyncTask<ResponseEntity<List<EmployeeName>>> searchEmployees(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        log.debug("REST request to search employees for: {}", query);
+
+        return bulkheads.reads().submit(() -> ResponseEntity.ok(employeeService.searchEmployees(query, limit)));
+    }
+
+    /**
+     * Size and estimated memory use of the name search index endpoint
+     * @return The index statistics
+     */
+    @GetMapping("/search/stats")
+    public ResponseEntity<SearchIndexStats> getSearchIndexStats() {
+        log.info("REST request to get search index statistics");
+        return ResponseEntity.ok(employeeService.getSearchIndexStats());
+    }
+
+    /**
+     * Find employees under a specific manager endpoint.
+     * Without paging parameters the full list of names is returned; with {@code after} or
+     * {@code limit} one page is returned together with the cursor for the next page.
      * @param managerId The ID of the manager
-     * @return List of full names of employees under the manager
+     * @param after Continuation token from the previous page
+     * @param limit Page size
+     * @return List of full names of employees under the manager, or one page of them
      */
     @GetMapping("/under-manager/{managerId}")
-    public ResponseEntity<List<String>> getEmployeesUnderManager(@PathVariable Long managerId) {
+    public WebAsyncTask<ResponseEntity<?>> getEmployeesUnderManager(
+            @PathVariable Long managerId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
         log.info("REST request to get employees under manager with ID: {}", managerId);
-        
-        List<String> employeesUnderManager = employeeService.findEmployeesUnderManager(managerId);
-        log.debug("Found {} employees under manager", employeesUnderManager.size());
-        
-        return ResponseEntity.ok(employeesUnderManager);
+
+        return bulkheads.reads().submit(() -> {
+            if (after != null || limit != null) {
+                CursorPage<EmployeeName> page = employeeService.findEmployeesUnderManager(managerId, after, limit);
+                log.debug("Returning {} employees under manager, hasMore: {}", page.getItems().size(), page.isHasMore());
+                return ResponseEntity.ok(page);
+            }
+
+            List<String> employeesUnderManager = employeeService.findEmployeesUnderManager(managerId);
+            log.debug("Found {} employees under manager", employeesUnderManager.size());
+
+            return ResponseEntity.ok(employeesUnderManager);
+        });
     }
 
     /**
-     * Get the total salary of all employees
-     * @return Total salary as a ResponseEntity
+     * Get the total salary of all employees.
+     * Tagged with the version of the running totals the total was read from, not with the table
+     * version: the totals apply a change only after its commit, so the table version can be ahead.
+     * @param request The request, for If-None-Match
+     * @return Total salary as a ResponseEntity with ETag; 304 while the running totals are unchanged,
+     *         untagged while they are not seeded yet
      */
     @GetMapping("/total-salary")
-    public ResponseEntity<Double> getTotalSalary() {
-        Double totalSalary = employeeService.calculateTotalSalary();
-        return ResponseEntity.ok(totalSalary);
+    public WebAsyncTask<ResponseEntity<Double>> getTotalSalary(WebRequest request) {
+        return bulkheads.analytics().submit(() -> {
+            PayrollTotal total = payrollAggregateService.getTotalSalarySnapshot();
+            if (total.getVersion() == null) {
+                return ResponseEntity.ok(total.getTotalSalary());
+            }
+            String eTag = "W/\"t-" + total.getVersion() + '"';
+            if (request.checkNotModified(eTag)) {
+                return notModified();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(total.getTotalSalary());
+        });
+    }
+
+    /**
+     * Get payroll aggregates computed by the database
+     * @param groupBy Optional grouping: position or manager
+     * @return SUM/COUNT/AVG/MIN/MAX per group
+     */
+    @GetMapping("/payroll/aggregates")
+    public WebAsyncTask<ResponseEntity<List<SalaryAggregate>>> getPayrollAggregates(
+            @RequestParam(value = "groupBy", required = false) String groupBy) {
+        log.info("REST request to get payroll aggregates grouped by: {}", groupBy);
+        PayrollGrouping grouping;
+        try {
+            grouping = PayrollGrouping.fromParameter(groupBy);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return bulkheads.analytics().submit(() -> ResponseEntity.ok(payrollAggregateService.getSalaryAggregates(grouping)));
+    }
+
+    /**
+     * Compare the cached payroll totals with the database
+     * @param repair Whether to reset the cached totals when they drifted
+     * @return The consistency report
+     */
+    @GetMapping("/payroll/consistency")
+    public WebAsyncTask<ResponseEntity<PayrollConsistencyReport>> checkPayrollConsistency(
+            @RequestParam(value = "repair", defaultValue = "false") boolean repair) {
+        log.info("REST request to check payroll consistency, repair: {}", repair);
+        return bulkheads.analytics().submit(() -> ResponseEntity.ok(payrollAggregateService.checkConsistency(repair)));
+    }
+
+    // Strong entity tag of an employee version
+    private static String eTag(Employee employee) {
+        return eTag(employee.getVersion());
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the expected version from an If-Match header
+     * @param ifMatch The header value, a single strong entity tag or *
+     * @return The expected version, or null when any version may be updated
+     * @throws PreconditionFailedException if the tag cannot match any version (weak or malformed)
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.indexOf(',') >= 0) {
+            throw new BadRequestException("If-Match must contain a single entity tag");
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through: a tag this server never issued cannot match
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + tag + " does not match any version of the employee");
+    }
+
+    // Employees embed their manager, so both tables feed the tag
+    private String employeesETag() {
+        return tableVersions.eTag(TableVersions.Table.EMPLOYEES, TableVersions.Table.MANAGERS);
+    }
+
+    // checkNotModified has already set the status and ETag header on the response
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
     }
 }
@@ -1,12 +1,18 @@
 package com.example.cruddemo.controller;
 
+import com.example.cruddemo.concurrent.Bulkheads;
+import com.example.cruddemo.event.TableVersions;
+import com.example.cruddemo.model.CursorPage;
 import com.example.cruddemo.model.Manager;
+import com.example.cruddemo.model.ManagerSummary;
 import com.example.cruddemo.service.ManagerService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -17,47 +23,79 @@ import java.util.List;
 public class ManagerController {
 
     private final ManagerService managerService;
+    private final Bulkheads bulkheads;
+    private final TableVersions tableVersions;
 
     @Autowired
-    public ManagerController(ManagerService managerService) {
+    public ManagerController(ManagerService managerService, Bulkheads bulkheads, TableVersions tableVersions) {
         this.managerService = managerService;
+        this.bulkheads = bulkheads;
+        this.tableVersions = tableVersions;
         log.info("ManagerController initialized with service");
     }
 
     @PostMapping
-    public ResponseEntity<Manager> createManager(@Valid @RequestBody Manager manager) {
+    public WebAsyncTask<ResponseEntity<Manager>> createManager(@Valid @RequestBody Manager manager) {
         log.info("Creating new manager: {} {}", 
                 manager.getFirstName(), 
                 manager.getLastName());
-        return new ResponseEntity<>(managerService.createManager(manager), HttpStatus.CREATED);
+        return bulkheads.writes().submit(() -> new ResponseEntity<>(managerService.createManager(manager), HttpStatus.CREATED));
     }
 
     @GetMapping("/{managerId}")
-    public ResponseEntity<Manager> getManagerById(@PathVariable Long managerId) {
+    public WebAsyncTask<ResponseEntity<Manager>> getManagerById(@PathVariable Long managerId) {
         log.info("Fetching manager with ID: {}", managerId);
-        return managerService.getManagerById(managerId)
+        return bulkheads.reads().submit(() -> managerService.getManagerById(managerId)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElse(ResponseEntity.notFound().build()));
     }
 
     @PutMapping("/{managerId}")
-    public ResponseEntity<Manager> updateManager(
+    public WebAsyncTask<ResponseEntity<Manager>> updateManager(
             @PathVariable Long managerId, 
             @Valid @RequestBody Manager managerDetails) {
         log.info("Updating manager with ID: {} with new salary: {}", managerId, managerDetails.getSalary());
-        return ResponseEntity.ok(managerService.updateManager(managerId, managerDetails));
+        return bulkheads.writes().submit(() -> ResponseEntity.ok(managerService.updateManager(managerId, managerDetails)));
     }
 
+    // Deletes the team with the manager, or moves it to the manager given in reassignTo
     @DeleteMapping("/{managerId}")
-    public ResponseEntity<Void> deleteManager(@PathVariable Long managerId) {
-        log.info("Deleting manager with ID: {}", managerId);
-        managerService.deleteManager(managerId);
-        return ResponseEntity.noContent().build();
+    public WebAsyncTask<ResponseEntity<Void>> deleteManager(
+            @PathVariable Long managerId,
+            @RequestParam(value = "reassignTo", required = false) Long reassignTo) {
+        log.info("Deleting manager with ID: {}, reassigning team to: {}", managerId, reassignTo);
+        return bulkheads.writes().submit(() -> {
+            managerService.deleteManager(managerId, reassignTo);
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 
+    // Answered with 304 without the list query while no manager has changed
     @GetMapping
-    public ResponseEntity<List<Manager>> getAllManagers() {
+    public WebAsyncTask<ResponseEntity<List<Manager>>> getAllManagers(WebRequest request) {
         log.info("Fetching all managers");
-        return ResponseEntity.ok(managerService.getAllManagers());
+        return bulkheads.reads().submit(() -> {
+            String eTag = tableVersions.eTag(TableVersions.Table.MANAGERS);
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(managerService.getAllManagers());
+        });
+    }
+
+    // Team headcount and payroll per manager in one grouped query, paged by manager ID
+    @GetMapping("/summary")
+    public WebAsyncTask<ResponseEntity<CursorPage<ManagerSummary>>> getManagerSummaries(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest request) {
+        log.info("Fetching manager summaries after: {}, limit: {}", after, limit);
+        return bulkheads.analytics().submit(() -> {
+            String eTag = tableVersions.eTag(TableVersions.Table.EMPLOYEES, TableVersions.Table.MANAGERS);
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(managerService.getManagerSummaries(after, limit));
+        });
     }
 }
@@ -0,0 +1,11 @@
+package com.example.cruddemo.datasource;
+
+/**
+ * Targets of the read/write routing data source.
+ */
+public enum DataSourceRoute {
+    // Writes, read-write transactions and reads pinned by read-your-writes stickiness
+    PRIMARY,
+    // Read-only transactions
+    REPLICA
+}
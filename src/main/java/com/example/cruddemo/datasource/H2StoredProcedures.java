@@ -0,0 +1,65 @@
+package com.example.cruddemo.datasource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+/**
+ * H2 versions of the MySQL procedures in sql/stored_procedures.sql, registered as Java aliases
+ * by sql/h2/stored_procedures.sql. They take the same parameters and return the same rows, so
+ * the service calls them unchanged when the application runs on H2 (profiles perf and h2-replica).
+ */
+public final class H2StoredProcedures {
+
+    // URL of the connection H2 passes when it only asks for the result columns
+    private static final String COLUMN_LIST_URL = "jdbc:columnlist:connection";
+
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employees "
+            + "(first_name, last_name, email, phone_number, position, salary, manager_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_EMPLOYEE = "SELECT * FROM employees WHERE id = ?";
+
+    private H2StoredProcedures() {
+    }
+
+    /**
+     * sp_insert_employee: inserts an employee and returns the inserted row
+     * @param connection The calling connection, supplied by H2
+     * @return The inserted row
+     * @throws SQLException if the insert fails, e.g. on a duplicate email or an unknown manager
+     */
+    public static ResultSet insertEmployee(Connection connection, String firstName, String lastName, String email,
+                                           String phoneNumber, String position, BigDecimal salary, Long managerId)
+            throws SQLException {
+        if (COLUMN_LIST_URL.equals(connection.getMetaData().getURL())) {
+            return connection.createStatement().executeQuery("SELECT * FROM employees WHERE 1 = 0");
+        }
+        long id;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_EMPLOYEE, Statement.RETURN_GENERATED_KEYS)) {
+            insert.setString(1, firstName);
+            insert.setString(2, lastName);
+            insert.setString(3, email);
+            insert.setString(4, phoneNumber);
+            insert.setString(5, position);
+            insert.setBigDecimal(6, salary);
+            if (managerId != null) {
+                insert.setLong(7, managerId);
+            } else {
+                insert.setNull(7, Types.BIGINT);
+            }
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                id = keys.getLong(1);
+            }
+        }
+        PreparedStatement select = connection.prepareStatement(SELECT_EMPLOYEE);
+        select.setLong(1, id);
+        return select.executeQuery();
+    }
+}
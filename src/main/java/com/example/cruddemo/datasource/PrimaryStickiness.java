@@ -0,0 +1,56 @@
+package com.example.cruddemo.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes stickiness of the current thread.
+ * While a thread is pinned, its read-only transactions use the primary as well, so a client
+ * reads its own writes even when the replica lags behind. Requests are pinned by
+ * {@link PrimaryStickinessFilter} and the pin follows them onto async worker threads through
+ * {@link PrimaryStickinessInterceptor}.
+ */
+public final class PrimaryStickiness {
+
+    // Cookie holding the end of the stickiness window (epoch milliseconds)
+    public static final String COOKIE_NAME = "db-primary-until";
+
+    // Request attribute carrying the decision to the async worker thread
+    static final String REQUEST_ATTRIBUTE = PrimaryStickiness.class.getName() + ".PINNED";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryStickiness() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    /**
+     * Runs work with the current thread pinned to the primary, e.g. the reload of in-memory state
+     * that must not be seeded from a lagging replica
+     * @param work The work to run
+     * @return The result of the work
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                PINNED.set(previous);
+            } else {
+                PINNED.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.cruddemo.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Pins requests to the primary for read-your-writes consistency.
+ * A request that may write (any method but GET, HEAD and OPTIONS) is pinned and starts a
+ * stickiness window on the client with a cookie; reads from that client are pinned until the
+ * window ends, by which time the replica is expected to have caught up.
+ */
+public class PrimaryStickinessFilter extends OncePerRequestFilter {
+
+    private final long windowMillis;
+
+    /**
+     * @param window How long a client reads from the primary after a write
+     */
+    public PrimaryStickinessFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean pinned;
+        if (isWrite(request)) {
+            pinned = true;
+            if (windowMillis > 0) {
+                Cookie cookie = new Cookie(PrimaryStickiness.COOKIE_NAME, Long.toString(now + windowMillis));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        } else {
+            pinned = windowEnd(request) > now;
+        }
+
+        request.setAttribute(PrimaryStickiness.REQUEST_ATTRIBUTE, pinned);
+        if (pinned) {
+            PrimaryStickiness.pin();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PrimaryStickiness.clear();
+        }
+    }
+
+    // Async dispatches carry the decision of the initial dispatch
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private static long windowEnd(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (PrimaryStickiness.COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
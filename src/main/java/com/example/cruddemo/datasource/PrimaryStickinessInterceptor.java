@@ -0,0 +1,27 @@
+package com.example.cruddemo.datasource;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the stickiness decision of a request onto the worker thread that runs its async
+ * handler (bulkheads and streaming responses), and clears it again afterwards.
+ */
+public class PrimaryStickinessInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object pinned = request.getAttribute(PrimaryStickiness.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (Boolean.TRUE.equals(pinned)) {
+            PrimaryStickiness.pin();
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        PrimaryStickiness.clear();
+    }
+}
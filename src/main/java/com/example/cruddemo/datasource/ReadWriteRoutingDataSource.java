@@ -0,0 +1,71 @@
+package com.example.cruddemo.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * The routing decision is made when a connection is taken, so this data source must be wrapped in a
+ * LazyConnectionDataSourceProxy: the transaction manager asks for the connection before it marks
+ * the transaction read-only, and the proxy defers that until the first statement.
+ * Work outside a transaction (schema updates, JdbcTemplate calls without one) uses the primary, and
+ * so does everything until the application is ready: the startup runners check for data and then
+ * insert it, which only works if the check reads what they wrote.
+ * The route counts are published as a meter binder, because the meter registry itself
+ * depends on the data sources and cannot be injected here.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource
+        implements MeterBinder, ApplicationListener<ApplicationReadyEvent> {
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private volatile boolean replicaReads;
+
+    /**
+     * @param primary The data source for writes
+     * @param replica The data source for read-only transactions
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaReads && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PrimaryStickiness.isPinned()) {
+            replicaConnections.increment();
+            return DataSourceRoute.REPLICA;
+        }
+        primaryConnections.increment();
+        return DataSourceRoute.PRIMARY;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        replicaReads = true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        routeCounter(registry, DataSourceRoute.PRIMARY, primaryConnections);
+        routeCounter(registry, DataSourceRoute.REPLICA, replicaConnections);
+    }
+
+    private static void routeCounter(MeterRegistry registry, DataSourceRoute route, LongAdder count) {
+        FunctionCounter.builder("app.datasource.connections", count, LongAdder::sum)
+                .description("Connections taken from the routing data source")
+                .tag("route", route.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+    }
+}
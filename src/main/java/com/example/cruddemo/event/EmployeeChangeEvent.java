@@ -0,0 +1,67 @@
+package com.example.cruddemo.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published by the service layer whenever employee rows are written.
+ * Listeners use it to keep in-memory aggregates and indexes in step with the database.
+ * For UPDATED events {@code before.get(i)} and {@code after.get(i)} describe the same row.
+ * BULK events carry no rows: the change was applied with set-based SQL and listeners
+ * must reload whatever they derive from the employees table.
+ * PATCHED events carry one partial snapshot in {@code after} with only the ID and the new
+ * position (null if unchanged): the row was written without being read, and only columns that
+ * no index or running total derives from were changed.
+ */
+@Getter
+@ToString
+public class EmployeeChangeEvent {
+
+    public enum Type { CREATED, UPDATED, PATCHED, DELETED, BULK }
+
+    private final Type type;
+    private final List<EmployeeSnapshot> before;
+    private final List<EmployeeSnapshot> after;
+
+    private EmployeeChangeEvent(Type type, List<EmployeeSnapshot> before, List<EmployeeSnapshot> after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static EmployeeChangeEvent created(EmployeeSnapshot created) {
+        return new EmployeeChangeEvent(Type.CREATED, Collections.emptyList(), List.of(created));
+    }
+
+    public static EmployeeChangeEvent createdAll(List<EmployeeSnapshot> created) {
+        return new EmployeeChangeEvent(Type.CREATED, Collections.emptyList(), List.copyOf(created));
+    }
+
+    public static EmployeeChangeEvent updated(EmployeeSnapshot before, EmployeeSnapshot after) {
+        return new EmployeeChangeEvent(Type.UPDATED, List.of(before), List.of(after));
+    }
+
+    public static EmployeeChangeEvent updatedAll(List<EmployeeSnapshot> before, List<EmployeeSnapshot> after) {
+        return new EmployeeChangeEvent(Type.UPDATED, List.copyOf(before), List.copyOf(after));
+    }
+
+    public static EmployeeChangeEvent patched(Long id, String position) {
+        return new EmployeeChangeEvent(Type.PATCHED, Collections.emptyList(),
+                List.of(new EmployeeSnapshot(id, null, null, null, position, null, null, null)));
+    }
+
+    public static EmployeeChangeEvent deleted(EmployeeSnapshot deleted) {
+        return new EmployeeChangeEvent(Type.DELETED, List.of(deleted), Collections.emptyList());
+    }
+
+    public static EmployeeChangeEvent deletedAll(List<EmployeeSnapshot> deleted) {
+        return new EmployeeChangeEvent(Type.DELETED, List.copyOf(deleted), Collections.emptyList());
+    }
+
+    public static EmployeeChangeEvent bulk() {
+        return new EmployeeChangeEvent(Type.BULK, Collections.emptyList(), Collections.emptyList());
+    }
+}
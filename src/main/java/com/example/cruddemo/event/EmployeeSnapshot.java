@@ -0,0 +1,73 @@
+package com.example.cruddemo.event;
+
+import com.example.cruddemo.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable copy of the indexed columns of an employee row.
+ * Change events carry snapshots instead of entities, so listeners that run after the
+ * transaction never touch a managed or lazily loaded object.
+ * The row version orders snapshots of the same employee: after-commit listeners of concurrent
+ * transactions can run in any order, and indexes ignore a snapshot older than the one they applied.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmployeeSnapshot {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String position;
+    private final Double salary;
+    private final Long managerId;
+
+    // Row version this state was written with, null where it is unknown
+    private final Long version;
+
+    /**
+     * Copies the current state of an employee
+     * @param employee The employee to copy
+     * @return The snapshot
+     */
+    public static EmployeeSnapshot of(Employee employee) {
+        return new EmployeeSnapshot(
+                employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getPosition(),
+                employee.getSalary(),
+                employee.getManagerId(),
+                employee.getVersion());
+    }
+
+    /**
+     * Copies this snapshot with another manager, at the version the UPDATE moving it writes
+     * @param newManagerId The new manager ID
+     * @return The snapshot of the moved employee
+     */
+    public EmployeeSnapshot withManagerId(Long newManagerId) {
+        return new EmployeeSnapshot(id, firstName, lastName, email, position, salary, newManagerId, nextVersion());
+    }
+
+    /**
+     * Copies this snapshot with another salary, at the version the UPDATE adjusting it writes
+     * @param newSalary The new salary
+     * @return The snapshot of the adjusted employee
+     */
+    public EmployeeSnapshot withSalary(Double newSalary) {
+        return new EmployeeSnapshot(id, firstName, lastName, email, position, newSalary, managerId, nextVersion());
+    }
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    private Long nextVersion() {
+        return version != null ? version + 1 : null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.cruddemo.event;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Lets state derived from the employees table be re-read without racing the change events.
+ * A transaction that published an {@link EmployeeChangeEvent} enters the epoch just before it
+ * commits and leaves it once its after-commit listeners have run. {@link #runExclusive} waits
+ * until no transaction is between commit and event delivery and keeps new ones from committing,
+ * so what it reads and installs is exactly the committed state and every later event applies on
+ * top of it. Writers only wait at their commit point; the reload query is a plain read that row
+ * locks held by waiting writers do not block.
+ */
+@Component
+public class EmployeeWriteEpoch {
+
+    // Shared by committing writers, exclusive for reloads
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Registers the publishing transaction, once per transaction
+     * @param event The change published by the employee services
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Without a transaction the change has committed already and is delivered right away
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Writer) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new Writer());
+    }
+
+    /**
+     * Runs a read of committed employee state, and the installation of its result, while no
+     * employee change is committed but not yet delivered
+     * @param read The read, which should install its result before returning
+     * @return The result of the read
+     */
+    public <T> T runExclusive(Supplier<T> read) {
+        // A reload started by an after-commit listener: this transaction has committed and
+        // delivered its earlier events, so it leaves instead of waiting for itself
+        while (lock.getReadHoldCount() > 0) {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            return read.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Holds the epoch from the commit of a writing transaction until its completion
+     */
+    private final class Writer implements TransactionSynchronization {
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            lock.readLock().lock();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            // Runs after all after-commit listeners; nothing to release after a rollback before commit
+            if (lock.getReadHoldCount() > 0) {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
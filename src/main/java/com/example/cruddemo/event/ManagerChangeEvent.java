@@ -0,0 +1,36 @@
+package com.example.cruddemo.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the manager service whenever a manager row is written.
+ * Deletes also publish employee DELETED or UPDATED events for the manager's team, which they
+ * delete or move to another manager.
+ */
+@Getter
+@ToString
+public class ManagerChangeEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long managerId;
+
+    private ManagerChangeEvent(Type type, Long managerId) {
+        this.type = type;
+        this.managerId = managerId;
+    }
+
+    public static ManagerChangeEvent created(Long managerId) {
+        return new ManagerChangeEvent(Type.CREATED, managerId);
+    }
+
+    public static ManagerChangeEvent updated(Long managerId) {
+        return new ManagerChangeEvent(Type.UPDATED, managerId);
+    }
+
+    public static ManagerChangeEvent deleted(Long managerId) {
+        return new ManagerChangeEvent(Type.DELETED, managerId);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.cruddemo.event;
+
+import com.example.cruddemo.repository.TableVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Change versions of the employees and managers tables, kept in the table_versions table.
+ * A transaction that publishes an employee or manager change increments the table's version just
+ * before it commits, so the version commits and replicates together with the change, and every
+ * application instance reads the same versions.
+ * List responses are tagged with the versions of the tables they are built from, so a poll of
+ * an unchanged list is answered with 304 after one small read instead of the list query.
+ * The versions are read on the bulkhead thread serving the request, in a read-only transaction
+ * routed like the query building the body, and before it: a write committing in between then leaves the response with an older tag than its
+ * content, which costs one extra full response later but never a stale 304.
+ * A table's row starts at a random version, so a recreated database does not repeat old tags.
+ */
+@Component
+public class TableVersions {
+
+    public enum Table { EMPLOYEES, MANAGERS }
+
+    private final TableVersionRepository tableVersionRepository;
+    private final TransactionTemplate readTemplate;
+
+    /**
+     * Constructor-based dependency injection
+     * @param tableVersionRepository The repository holding the versions
+     * @param transactionManager The transaction manager for the version reads
+     */
+    @Autowired
+    public TableVersions(TableVersionRepository tableVersionRepository, PlatformTransactionManager transactionManager) {
+        this.tableVersionRepository = tableVersionRepository;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Increments the employees version when the publishing transaction commits
+     * @param event The change published by the employee services
+     */
+    @EventListener
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        incrementOnCommit(Table.EMPLOYEES);
+    }
+
+    /**
+     * Increments the managers version when the publishing transaction commits
+     * @param event The change published by the manager service
+     */
+    @EventListener
+    public void onManagerChange(ManagerChangeEvent event) {
+        incrementOnCommit(Table.MANAGERS);
+    }
+
+    public long getVersion(Table table) {
+        return readVersions().getOrDefault(tableName(table), 0L);
+    }
+
+    /**
+     * Builds the entity tag of a response derived from the given tables.
+     * The tag is weak, because the same content is sent gzipped or not, and the servlet
+     * container does not compress responses carrying a strong tag.
+     * @param tables The tables the response is built from
+     * @return The tag, e.g. W/"v-81723-4"
+     */
+    public String eTag(Table... tables) {
+        Map<String, Long> versions = readVersions();
+        StringBuilder tag = new StringBuilder("W/\"v");
+        for (Table table : tables) {
+            tag.append('-').append(versions.getOrDefault(tableName(table), 0L));
+        }
+        return tag.append('"').toString();
+    }
+
+    private Map<String, Long> readVersions() {
+        return readTemplate.execute(status -> tableVersionRepository.findAll());
+    }
+
+    // Once per transaction and table, at its commit point, so the version row is only locked while committing
+    private void incrementOnCommit(Table table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(table);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Increment && ((Increment) synchronization).table == table) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new Increment(table));
+    }
+
+    private void increment(Table table) {
+        tableVersionRepository.increment(tableName(table), ThreadLocalRandom.current().nextLong(1L << 40));
+    }
+
+    private static String tableName(Table table) {
+        return table.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Increments the version of a table inside the committing transaction
+     */
+    private final class Increment implements TransactionSynchronization {
+
+        private final Table table;
+
+        private Increment(Table table) {
+            this.table = table;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            increment(table);
+        }
+    }
+}
@@ -35,13 +35,13 @@ public class LoggingDemo {
         String logTarget = useSecondLog ? "secondary.log" : "application.log";
         
         // Log a message about which log file will be used
-        AppLogger.log1Info("LoggingDemo: About to log conditionally to " + logTarget);
+        AppLogger.log1Info("LoggingDemo: About to log conditionally to {}", logTarget);
         
         // Use conditional logging methods
-        AppLogger.logInfo("LoggingDemo: This message goes to " + logTarget, useSecondLog);
-        AppLogger.logDebug("LoggingDemo: Debug message to " + logTarget, useSecondLog);
-        AppLogger.logWarn("LoggingDemo: Warning message to " + logTarget, useSecondLog);
-        AppLogger.logError("LoggingDemo: Error message to " + logTarget, useSecondLog);
+        AppLogger.logInfo("LoggingDemo: This message goes to {}", useSecondLog, logTarget);
+        AppLogger.logDebug("LoggingDemo: Debug message to {}", useSecondLog, logTarget);
+        AppLogger.logWarn("LoggingDemo: Warning message to {}", useSecondLog, logTarget);
+        AppLogger.logError("LoggingDemo: Error message to {}", useSecondLog, logTarget);
     }
     
     /**
@@ -50,10 +50,10 @@ public class LoggingDemo {
      */
     public void logWithData(String data) {
         // Log to application.log with the data
-        AppLogger.log1Info("LoggingDemo: Processing data: " + data);
+        AppLogger.log1Info("LoggingDemo: Processing data: {}", data);
         
         // Log more detailed information to secondary.log
-        AppLogger.log2Info("LoggingDemo: Detailed data processing: " + data);
-        AppLogger.log2Debug("LoggingDemo: Data length: " + data.length());
+        AppLogger.log2Info("LoggingDemo: Detailed data processing: {}", data);
+        AppLogger.log2Debug("LoggingDemo: Data length: {}", data.length());
     }
 }
@@ -0,0 +1,22 @@
+package com.example.cruddemo.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+@Slf4j
+public class BadRequestException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BadRequestException(String message) {
+        super(message);
+        log.warn("Bad request exception: {}", message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+        log.warn("Bad request exception: {}", message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.cruddemo.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+@Slf4j
+public class UpdateConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UpdateConflictException(String message) {
+        super(message);
+        log.warn("Update conflict exception: {}", message);
+    }
+}
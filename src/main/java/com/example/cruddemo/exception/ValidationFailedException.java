@@ -0,0 +1,27 @@
+package com.example.cruddemo.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Map;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+@Slf4j
+public class ValidationFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    // Field name to error message, for every violation found
+    private final Map<String, String> errors;
+
+    public ValidationFailedException(Map<String, String> errors) {
+        super("Validation Failed");
+        this.errors = errors;
+        log.warn("Validation failed: {}", errors);
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
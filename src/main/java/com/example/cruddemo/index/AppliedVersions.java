@@ -0,0 +1,83 @@
+package com.example.cruddemo.index;
+
+import com.example.cruddemo.event.EmployeeSnapshot;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Row version each employee had in the last change an index applied.
+ * After-commit listeners of concurrent transactions run in any order, so an index can be handed
+ * an employee's older state after a newer one; comparing row versions tells them apart. A delete
+ * is recorded one past the deleted version, so a late update of the deleted row is ignored too.
+ * Versions are kept until the next load, which starts over from the versions it read.
+ * Snapshots without a version are always applied. Row versions are assumed to stay below 2^31.
+ * Not thread-safe; the owning index guards it with its own lock.
+ */
+final class AppliedVersions {
+
+    private LongIntHashMap versions = new LongIntHashMap(16);
+
+    /**
+     * Starts over before the index is loaded
+     * @param expectedSize Number of employees about to be loaded
+     */
+    void clear(int expectedSize) {
+        versions = new LongIntHashMap(expectedSize);
+    }
+
+    /**
+     * Records the version of a loaded employee
+     * @param id The employee ID
+     * @param version The version read with it, or null if unknown
+     */
+    void load(long id, Long version) {
+        if (version != null) {
+            versions.put(id, (int) (long) version);
+        }
+    }
+
+    /**
+     * Records the versions of a change and finds the employees it would move back in time.
+     * Applying the same version again is allowed, so a replayed change stays harmless.
+     * @param removed Employees as they were before the change
+     * @param added Employees as they are after the change
+     * @return IDs of the employees whose part of the change is older than the applied state
+     */
+    Set<Long> advance(List<EmployeeSnapshot> removed, List<EmployeeSnapshot> added) {
+        Set<Long> stale = Collections.emptySet();
+        Set<Long> addedIds = new HashSet<>();
+        for (EmployeeSnapshot employee : added) {
+            addedIds.add(employee.getId());
+            if (!advance(employee.getId(), employee.getVersion())) {
+                stale = addStale(stale, employee.getId());
+            }
+        }
+        for (EmployeeSnapshot employee : removed) {
+            if (!addedIds.contains(employee.getId()) && employee.getVersion() != null
+                    && !advance(employee.getId(), employee.getVersion() + 1)) {
+                stale = addStale(stale, employee.getId());
+            }
+        }
+        return stale;
+    }
+
+    private boolean advance(long id, Long version) {
+        if (version == null) {
+            return true;
+        }
+        if (versions.get(id) > version) {
+            return false;
+        }
+        versions.put(id, (int) (long) version);
+        return true;
+    }
+
+    private static Set<Long> addStale(Set<Long> stale, Long id) {
+        Set<Long> result = stale.isEmpty() ? new HashSet<>() : stale;
+        result.add(id);
+        return result;
+    }
+}
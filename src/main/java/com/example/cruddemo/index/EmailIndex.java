@@ -0,0 +1,264 @@
+package com.example.cruddemo.index;
+
+import com.example.cruddemo.datasource.PrimaryStickiness;
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.repository.EmployeeRepository;
+import com.example.cruddemo.util.AppLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of employee emails.
+ * A Bloom filter answers "definitely not stored" without touching the database, and an optional
+ * exact map from email to employee ID turns filter hits into definite answers. Without the map
+ * (for very large tables) a filter hit only means "maybe", and callers confirm it with a query.
+ * Emails are compared case-insensitively, like the default MySQL collation of the unique key.
+ * <p>
+ * Deleted or changed emails cannot be removed from the filter; they only raise its false-positive
+ * rate, so the filter is rebuilt once too many stale entries have accumulated or it outgrows its size.
+ * Changes are applied after commit, skipping an employee's change older than the one applied last.
+ * A reload queries the primary without holding the index lock and replays the changes delivered
+ * meanwhile, so no committed email is missed.
+ */
+@Component
+public class EmailIndex {
+
+    /**
+     * Answer of an index lookup
+     */
+    public enum Presence {
+        // The email is definitely not stored
+        ABSENT,
+        // The email is definitely stored
+        PRESENT,
+        // The email may be stored and has to be confirmed against the database
+        MAYBE
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final long minimumCapacity;
+    private final double falsePositiveRate;
+    private final boolean exactLookup;
+
+    // Current filter, null until the index is loaded
+    private volatile BloomFilter filter;
+
+    // Email to employee ID, only maintained when exact lookups are enabled
+    private volatile Map<String, Long> idsByEmail;
+
+    // Emails put into the filter and emails removed from the index since the last rebuild
+    private long insertions;
+    private long staleEntries;
+
+    // Changes delivered while a reload runs, guarded by this
+    private final ReloadReplay replay = new ReloadReplay();
+
+    // Serializes reloads, so each replays the changes since its own query started
+    private final Object reloadLock = new Object();
+
+    // Bumped by every invalidation, guarded by this; a reload overlapping one discards its result
+    private long invalidations;
+
+    // Version of each employee's last applied change, guarded by this
+    private final AppliedVersions versions = new AppliedVersions();
+
+    /**
+     * Constructor-based dependency injection
+     * @param employeeRepository The repository used to load the index
+     * @param minimumCapacity Smallest number of emails the filter is sized for
+     * @param falsePositiveRate Target false-positive probability of the filter
+     * @param exactLookup Whether to keep the exact email to ID map
+     */
+    @Autowired
+    public EmailIndex(EmployeeRepository employeeRepository,
+                      @Value("${app.email-index.expected-insertions:100000}") long minimumCapacity,
+                      @Value("${app.email-index.false-positive-rate:0.01}") double falsePositiveRate,
+                      @Value("${app.email-index.exact-lookup:true}") boolean exactLookup) {
+        this.employeeRepository = employeeRepository;
+        this.minimumCapacity = minimumCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.exactLookup = exactLookup;
+    }
+
+    /**
+     * Applies a committed employee change
+     * @param event The change published by the employee services
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (event.getType() == EmployeeChangeEvent.Type.BULK) {
+            // Dropped and reloaded in the background by IndexLoader
+            return;
+        }
+        if (event.getType() == EmployeeChangeEvent.Type.PATCHED) {
+            // In-place patches never change emails
+            return;
+        }
+        if (apply(event.getBefore(), event.getAfter())) {
+            // Without the exact map the filter can only be rebuilt from the database
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the primary database. The query runs without the index lock;
+     * changes delivered meanwhile are replayed onto the result.
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            long invalidationsSeen;
+            synchronized (this) {
+                replay.start();
+                invalidationsSeen = invalidations;
+            }
+            List<Object[]> rows = PrimaryStickiness.onPrimary(employeeRepository::findEmailIndexRows);
+            Map<String, Long> ids = new HashMap<>(rows.size() * 2);
+            for (Object[] row : rows) {
+                ids.put(normalize((String) row[0]), (Long) row[1]);
+            }
+            synchronized (this) {
+                List<ReloadReplay.Change> changes = replay.finish();
+                if (invalidations != invalidationsSeen) {
+                    // A bulk change committed while the query ran; the reload queued behind it installs
+                    return;
+                }
+                rebuild(ids);
+                versions.clear(rows.size());
+                for (Object[] row : rows) {
+                    versions.load((Long) row[1], (Long) row[2]);
+                }
+                // Emails are keyed with their IDs, so replaying a change the query already saw is harmless
+                for (ReloadReplay.Change change : changes) {
+                    apply(change.removed, change.added);
+                }
+            }
+            AppLogger.log1Info("Email index loaded with {} entries", ids.size());
+        }
+    }
+
+    /**
+     * Drops the content after a bulk change, so readers fall back to the database until the
+     * next reload
+     */
+    public synchronized void invalidate() {
+        filter = null;
+        invalidations++;
+    }
+
+    /**
+     * @return true once the index has been loaded
+     */
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /**
+     * Looks an email up without querying the database
+     * @param email The email to look up
+     * @return ABSENT or PRESENT when the index is certain, MAYBE otherwise (including before loading)
+     */
+    public Presence lookup(String email) {
+        BloomFilter current = filter;
+        if (current == null || email == null) {
+            return Presence.MAYBE;
+        }
+        String key = normalize(email);
+        if (!current.mightContain(key)) {
+            return Presence.ABSENT;
+        }
+        Map<String, Long> ids = idsByEmail;
+        if (ids == null) {
+            return Presence.MAYBE;
+        }
+        return ids.containsKey(key) ? Presence.PRESENT : Presence.ABSENT;
+    }
+
+    /**
+     * @return Estimated false-positive probability of the filter, or 0 before loading
+     */
+    public double estimatedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current != null ? current.estimatedFalsePositiveRate() : 0;
+    }
+
+    /**
+     * Removes the emails of the before-state and adds those of the after-state, skipping employees
+     * whose change is older than the one applied last
+     * @param removed Employees as they were before the change
+     * @param added Employees as they are after the change
+     * @return true if the filter is due for a rebuild that needs a reload
+     */
+    synchronized boolean apply(List<EmployeeSnapshot> removed, List<EmployeeSnapshot> added) {
+        // Recorded first: the first load also replays what its query may have missed
+        replay.record(removed, added);
+        if (filter == null) {
+            return false;
+        }
+        Set<Long> stale = versions.advance(removed, added);
+        Map<String, Long> ids = idsByEmail;
+        Map<String, Long> addedIds = new HashMap<>();
+        for (EmployeeSnapshot employee : added) {
+            if (employee.getEmail() != null && !stale.contains(employee.getId())) {
+                addedIds.put(normalize(employee.getEmail()), employee.getId());
+            }
+        }
+        // Add first so an unchanged email is never briefly reported as absent
+        for (Map.Entry<String, Long> entry : addedIds.entrySet()) {
+            if (ids != null) {
+                ids.put(entry.getKey(), entry.getValue());
+            }
+            if (!filter.mightContain(entry.getKey())) {
+                filter.put(entry.getKey());
+                insertions++;
+            }
+        }
+        for (EmployeeSnapshot employee : removed) {
+            if (employee.getEmail() != null && !stale.contains(employee.getId())
+                    && !addedIds.containsKey(normalize(employee.getEmail()))) {
+                if (ids != null) {
+                    ids.remove(normalize(employee.getEmail()), employee.getId());
+                }
+                staleEntries++;
+            }
+        }
+        if (insertions > filter.getExpectedInsertions() || staleEntries > filter.getExpectedInsertions() / 10) {
+            if (ids == null) {
+                return true;
+            }
+            rebuild(new HashMap<>(ids));
+            AppLogger.log1Info("Email index filter rebuilt with {} entries", ids.size());
+        }
+        return false;
+    }
+
+    private void rebuild(Map<String, Long> ids) {
+        long capacity = Math.max(minimumCapacity, ids.size() * 2L);
+        BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+        for (String email : ids.keySet()) {
+            next.put(email);
+        }
+        insertions = ids.size();
+        staleEntries = 0;
+        idsByEmail = exactLookup ? new ConcurrentHashMap<>(ids) : null;
+        filter = next;
+    }
+
+    /**
+     * Normal form of an email for index keys and duplicate checks: trimmed and lower-cased
+     * @param email The email as sent or stored
+     * @return The normalized email
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
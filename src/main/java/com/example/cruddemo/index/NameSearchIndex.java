@@ -0,0 +1,876 @@
+package com.example.cruddemo.index;
+
+import com.example.cruddemo.datasource.PrimaryStickiness;
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.model.EmployeeName;
+import com.example.cruddemo.model.SearchIndexStats;
+import com.example.cruddemo.repository.EmployeeRepository;
+import com.example.cruddemo.util.AppLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory type-ahead index over employee first names, last names and the local part of emails.
+ * Text is lower-cased, accents are stripped and it is split into words; every word is indexed by
+ * its trigrams padded as {@code "  word "}, so the leading trigrams only occur at word starts and the
+ * trailing one only at word ends. A prefix query is the intersection of the posting lists of its
+ * padded trigrams, checked against the stored words.
+ * <p>
+ * Results are ranked in tiers, each filled in employee order and stopped once the limit is reached:
+ * every query word is a whole name word, every query word starts a name word, every query word
+ * starts an email word, and finally names or emails within a few typos (optimal string alignment
+ * distance to a word prefix), one edit before two. Typo candidates come from the rarest trigram
+ * lists of the longest query word, which hold every word within the allowed edits.
+ * <p>
+ * Searches run under a read lock. A committed change appends the employee at a new position under
+ * the write lock and leaves the old position dead; its postings stay behind until the next
+ * compaction and are filtered out by the word checks, so a write never shifts a posting list.
+ */
+@Component
+public class NameSearchIndex {
+
+    // Trigram namespaces, so name and email matches can be ranked separately
+    private static final long NAME = 1L;
+    private static final long EMAIL = 2L;
+
+    // Query words beyond these limits are ignored or cut
+    private static final int MAX_QUERY_WORDS = 4;
+    private static final int MAX_WORD_LENGTH = 32;
+
+    // Compact only after this many dead positions have accumulated
+    private static final int MIN_DEAD_SLOTS_TO_COMPACT = 1024;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final EmployeeRepository employeeRepository;
+
+    // Upper bound on the employees checked for typo matches per query
+    private final int maxFuzzyCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Current content, null until the index is loaded
+    private volatile Data data;
+
+    // Changes delivered while a reload runs, guarded by this
+    private final ReloadReplay replay = new ReloadReplay();
+
+    // Serializes reloads, so each replays the changes since its own query started
+    private final Object reloadLock = new Object();
+
+    // Version of each employee's last applied change, guarded by this
+    private final AppliedVersions versions = new AppliedVersions();
+
+    // Bumped by every invalidation, guarded by this; a reload overlapping one discards its result
+    private long invalidations;
+
+    /**
+     * Constructor-based dependency injection
+     * @param employeeRepository The repository used to load the index
+     * @param maxFuzzyCandidates Upper bound on the employees checked for typo matches per query
+     */
+    @Autowired
+    public NameSearchIndex(EmployeeRepository employeeRepository,
+                           @Value("${app.search.max-fuzzy-candidates:4000}") int maxFuzzyCandidates) {
+        this.employeeRepository = employeeRepository;
+        this.maxFuzzyCandidates = maxFuzzyCandidates;
+    }
+
+    /**
+     * Applies a committed employee change
+     * @param event The change published by the employee services
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (event.getType() == EmployeeChangeEvent.Type.BULK) {
+            // Dropped and reloaded in the background by IndexLoader
+            return;
+        }
+        if (event.getType() == EmployeeChangeEvent.Type.PATCHED) {
+            // In-place patches never change names or emails
+            return;
+        }
+        apply(event.getBefore(), event.getAfter());
+    }
+
+    /**
+     * Rebuilds the index from the primary database. The query runs without the index lock;
+     * changes delivered meanwhile are replayed onto the result.
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            long invalidationsSeen;
+            synchronized (this) {
+                replay.start();
+                invalidationsSeen = invalidations;
+            }
+            List<EmployeeSnapshot> rows = new ArrayList<>();
+            for (Object[] row : PrimaryStickiness.onPrimary(employeeRepository::findSearchIndexRows)) {
+                rows.add(new EmployeeSnapshot((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                        null, null, null, (Long) row[4]));
+            }
+            synchronized (this) {
+                List<ReloadReplay.Change> changes = replay.finish();
+                if (invalidations != invalidationsSeen) {
+                    // A bulk change committed while the query ran; the reload queued behind it installs
+                    return;
+                }
+                load(rows);
+                for (ReloadReplay.Change change : changes) {
+                    apply(change.removed, change.added);
+                }
+            }
+            SearchIndexStats stats = stats();
+            AppLogger.log1Info("Name search index loaded with {} employees and {} trigrams, about {} MB ({} MB per million employees)",
+                    stats.getEmployees(), stats.getTrigrams(), stats.getEstimatedBytes() >> 20,
+                    stats.getEstimatedBytesPerMillion() >> 20);
+        }
+    }
+
+    /**
+     * Replaces the index content
+     * @param employees The employees to index, in any order
+     */
+    public synchronized void load(Collection<EmployeeSnapshot> employees) {
+        List<EmployeeSnapshot> sorted = new ArrayList<>(employees);
+        sorted.sort(Comparator.comparing(EmployeeSnapshot::getId));
+        Data next = new Data(sorted.size());
+        versions.clear(sorted.size());
+        for (EmployeeSnapshot employee : sorted) {
+            next.add(employee.getId(), employee.getFullName(), nameKey(employee), emailKey(employee.getEmail()));
+            versions.load(employee.getId(), employee.getVersion());
+        }
+        next.trim();
+        swap(next);
+    }
+
+    /**
+     * Drops the content after a bulk change, so readers fall back to the database until the
+     * next reload
+     */
+    public synchronized void invalidate() {
+        data = null;
+        invalidations++;
+    }
+
+    /**
+     * @return true once the index has been loaded
+     */
+    public boolean isReady() {
+        return data != null;
+    }
+
+    /**
+     * @return Number of indexed employees
+     */
+    public int size() {
+        Data current = data;
+        return current != null ? current.liveSlots() : 0;
+    }
+
+    /**
+     * Finds employees by name or email as the user types
+     * @param query Words typed so far; the last one may be incomplete or misspelled
+     * @param limit Maximum number of results
+     * @return Matching employees, best matches first
+     */
+    public List<EmployeeName> search(String query, int limit) {
+        requireLoaded();
+        List<String> tokens = queryWords(query);
+        if (tokens.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Data current = data;
+            List<Integer> slots = new ArrayList<>(limit);
+            Set<Integer> seen = new HashSet<>();
+            collect(current.postingLists(tokens, NAME, true),
+                    slot -> containsAll(current.nameKeys[slot], tokens, true), limit, slots, seen);
+            collect(current.postingLists(tokens, NAME, false),
+                    slot -> containsAll(current.nameKeys[slot], tokens, false), limit, slots, seen);
+            collect(current.postingLists(tokens, EMAIL, false),
+                    slot -> containsAll(current.emailKeys[slot], tokens, false), limit, slots, seen);
+            if (slots.size() < limit) {
+                collectSimilar(current, tokens, limit, slots, seen);
+            }
+
+            List<EmployeeName> result = new ArrayList<>(slots.size());
+            for (int slot : slots) {
+                result.add(new EmployeeName(current.ids[slot], current.fullNames[slot]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Size and estimated memory use of the index
+     */
+    public SearchIndexStats stats() {
+        lock.readLock().lock();
+        try {
+            Data current = data;
+            if (current == null) {
+                return new SearchIndexStats(false, 0, 0, 0, 0, 0, 0);
+            }
+            long employees = current.liveSlots();
+            long bytes = current.estimatedBytes();
+            long bytesPerEmployee = employees > 0 ? bytes / employees : 0;
+            return new SearchIndexStats(true, employees, current.trigramCount(), current.postingCount(), bytes,
+                    bytesPerEmployee, bytesPerEmployee * 1_000_000L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the before-state and indexes the after-state of changed employees, skipping
+     * employees whose change is older than the one applied last
+     * @param removed Employees as they were before the change
+     * @param added Employees as they are after the change
+     */
+    synchronized void apply(List<EmployeeSnapshot> removed, List<EmployeeSnapshot> added) {
+        // Recorded first: the first load also replays what its query may have missed
+        replay.record(removed, added);
+        if (data == null) {
+            return;
+        }
+        Set<Long> stale = versions.advance(removed, added);
+        Set<Long> addedIds = new HashSet<>();
+        for (EmployeeSnapshot employee : added) {
+            addedIds.add(employee.getId());
+        }
+        lock.writeLock().lock();
+        try {
+            for (EmployeeSnapshot employee : removed) {
+                if (!addedIds.contains(employee.getId()) && !stale.contains(employee.getId())) {
+                    data.remove(employee.getId());
+                }
+            }
+            for (EmployeeSnapshot employee : added) {
+                if (stale.contains(employee.getId())) {
+                    continue;
+                }
+                // Also covers a create that the reload query has already read
+                data.put(employee.getId(), employee.getFullName(), nameKey(employee), emailKey(employee.getEmail()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (data.deadSlots > MIN_DEAD_SLOTS_TO_COMPACT && data.deadSlots > data.liveSlots() / 4) {
+            compact();
+        }
+    }
+
+    // Rebuilds the arrays without dead positions or their postings; readers keep using the old content meanwhile
+    private void compact() {
+        Data current = data;
+        Data next = new Data(current.liveSlots());
+        for (int slot = 0; slot < current.slotCount; slot++) {
+            if (current.nameKeys[slot] != null) {
+                next.add(current.ids[slot], current.fullNames[slot], current.nameKeys[slot], current.emailKeys[slot]);
+            }
+        }
+        next.trim();
+        swap(next);
+    }
+
+    private void swap(Data next) {
+        lock.writeLock().lock();
+        try {
+            data = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void requireLoaded() {
+        if (data == null) {
+            throw new IllegalStateException("Name search index is not loaded yet");
+        }
+    }
+
+    /**
+     * Adds the employees whose positions are in all lists and that pass the check, in position order
+     */
+    private static void collect(List<PostingList> lists, IntPredicate matches, int limit,
+                                List<Integer> slots, Set<Integer> seen) {
+        if (lists == null || slots.size() >= limit) {
+            return;
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        PostingList base = lists.get(0);
+        int[] cursors = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < base.size && slots.size() < limit; i++) {
+            int slot = base.slots[i];
+            for (int l = 1; l < lists.size(); l++) {
+                PostingList other = lists.get(l);
+                int position = other.seek(slot, cursors[l]);
+                cursors[l] = position;
+                if (position >= other.size) {
+                    return;
+                }
+                if (other.slots[position] != slot) {
+                    continue candidates;
+                }
+            }
+            if (!seen.contains(slot) && matches.test(slot)) {
+                seen.add(slot);
+                slots.add(slot);
+            }
+        }
+    }
+
+    /**
+     * Adds employees whose name or email words are within the allowed edits of every query word,
+     * trying one edit first and two only if the limit is not reached yet. Candidates are checked
+     * in position order, stopping early once enough of them have the smallest possible distance.
+     */
+    private void collectSimilar(Data current, List<String> tokens, int limit, List<Integer> slots, Set<Integer> seen) {
+        String pivot = Collections.max(tokens, Comparator.comparingInt(String::length));
+        int[][] rows = new int[3][MAX_WORD_LENGTH + 3];
+        for (int edits = 1; edits <= maxEdits(pivot) && slots.size() < limit; edits++) {
+            int[] candidates = union(filterCandidates(current, NAME, pivot, edits, maxFuzzyCandidates / 2),
+                    filterCandidates(current, EMAIL, pivot, edits, maxFuzzyCandidates / 2));
+            // A single word within fewer edits would have matched as a prefix or in the previous round
+            int smallestDistance = tokens.size() == 1 ? edits : 0;
+            int needed = limit - slots.size();
+
+            // Distance in the high bits, position in the low bits: sorting ranks by distance, then position
+            long[] scored = new long[candidates.length];
+            int matches = 0;
+            int best = 0;
+            for (int i = 0; i < candidates.length && best < needed; i++) {
+                int slot = candidates[i];
+                int distance = distance(current, slot, tokens, edits, rows);
+                if (distance >= 0 && !seen.contains(slot)) {
+                    scored[matches++] = ((long) distance << 32) | slot;
+                    if (distance <= smallestDistance) {
+                        best++;
+                    }
+                }
+            }
+            Arrays.sort(scored, 0, matches);
+            for (int i = 0; i < matches && slots.size() < limit; i++) {
+                int slot = (int) scored[i];
+                seen.add(slot);
+                slots.add(slot);
+            }
+        }
+    }
+
+    // Summed distance of the tokens to the employee's closest words, or -1 if one needs too many edits
+    private static int distance(Data current, int slot, List<String> tokens, int edits, int[][] rows) {
+        int distance = 0;
+        for (String token : tokens) {
+            int allowed = Math.min(edits, maxEdits(token));
+            int tokenDistance = closestWord(current.nameKeys[slot], token, allowed, rows);
+            if (tokenDistance > 0) {
+                tokenDistance = Math.min(tokenDistance, closestWord(current.emailKeys[slot], token, allowed, rows));
+            }
+            if (tokenDistance > allowed) {
+                return -1;
+            }
+            distance += tokenDistance;
+        }
+        return distance;
+    }
+
+    /**
+     * Sorted positions that can hold a word prefix within the given edits of the pivot in one
+     * namespace. Such a prefix misses at most 4 per edit of the pivot's padded trigrams (an adjacent
+     * transposition touches four); trigrams no employee has are missed by all, and the rest of that
+     * slack decides how many of the known trigram lists a candidate must be in. Candidates are
+     * merged from the slack + 1 rarest lists in position order, at most budget entries, and counted
+     * in the other lists by seeking.
+     */
+    private static int[] filterCandidates(Data current, long namespace, String pivot, int edits, int budget) {
+        List<PostingList> lists = new ArrayList<>();
+        int slack = 4 * edits;
+        for (long key : trigramKeys(namespace, "  " + pivot)) {
+            PostingList list = current.postingList(key);
+            if (list == null) {
+                slack--;
+            } else {
+                lists.add(list);
+            }
+        }
+        if (slack < 0 || lists.isEmpty()) {
+            return new int[0];
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        // With more slack than lists nothing bounds the candidates; settle for one shared trigram
+        int required = Math.max(1, lists.size() - slack);
+        int merged = lists.size() - required + 1;
+
+        int[] cursors = new int[lists.size()];
+        int[] candidates = new int[budget];
+        int count = 0;
+        for (int consumed = 0; consumed < budget; ) {
+            int slot = Integer.MAX_VALUE;
+            for (int l = 0; l < merged; l++) {
+                PostingList list = lists.get(l);
+                if (cursors[l] < list.size && list.slots[cursors[l]] < slot) {
+                    slot = list.slots[cursors[l]];
+                }
+            }
+            if (slot == Integer.MAX_VALUE) {
+                break;
+            }
+            int hits = 0;
+            for (int l = 0; l < merged; l++) {
+                PostingList list = lists.get(l);
+                if (cursors[l] < list.size && list.slots[cursors[l]] == slot) {
+                    cursors[l]++;
+                    consumed++;
+                    hits++;
+                }
+            }
+            for (int l = merged; l < lists.size() && hits < required && hits + lists.size() - l >= required; l++) {
+                PostingList other = lists.get(l);
+                cursors[l] = other.seek(slot, cursors[l]);
+                if (cursors[l] < other.size && other.slots[cursors[l]] == slot) {
+                    hits++;
+                }
+            }
+            if (hits >= required) {
+                candidates[count++] = slot;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    // Sorted union of two sorted arrays without duplicates
+    private static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length || j < b.length) {
+            int next = j >= b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+            while (i < a.length && a[i] == next) {
+                i++;
+            }
+            while (j < b.length && b[j] == next) {
+                j++;
+            }
+            result[k++] = next;
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    // Typos tolerated in a query word: none below 4 characters, one below 7, two otherwise
+    private static int maxEdits(String token) {
+        return token.length() < 4 ? 0 : token.length() < 7 ? 1 : 2;
+    }
+
+    // Whether every token is a word (or starts a word) of the space-separated key
+    private static boolean containsAll(String key, List<String> tokens, boolean wholeWord) {
+        if (key == null) {
+            return false;
+        }
+        for (String token : tokens) {
+            if (!containsWord(key, token, wholeWord)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsWord(String key, String token, boolean wholeWord) {
+        int start = 0;
+        while (start <= key.length()) {
+            int end = key.indexOf(' ', start);
+            if (end < 0) {
+                end = key.length();
+            }
+            int length = end - start;
+            if ((wholeWord ? length == token.length() : length >= token.length()) && key.startsWith(token, start)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    // Smallest distance (at most allowed + 1) between the token and a prefix of any word of the key
+    private static int closestWord(String key, String token, int allowed, int[][] rows) {
+        int best = allowed + 1;
+        if (key == null || key.isEmpty()) {
+            return best;
+        }
+        int start = 0;
+        while (start <= key.length() && best > 0) {
+            int end = key.indexOf(' ', start);
+            if (end < 0) {
+                end = key.length();
+            }
+            if (end - start >= token.length() - allowed) {
+                best = Math.min(best, prefixDistance(token, key, start, end, allowed, rows));
+            }
+            start = end + 1;
+        }
+        return best;
+    }
+
+    /**
+     * Optimal string alignment distance between the token and the closest prefix of key[start, end),
+     * or allowed + 1 once two consecutive rows exceed the allowed edits
+     */
+    private static int prefixDistance(String token, String key, int start, int end, int allowed, int[][] rows) {
+        int n = token.length();
+        int m = Math.min(end - start, n + allowed);
+        int[] previous2 = rows[0];
+        int[] previous = rows[1];
+        int[] row = rows[2];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        int previousMinimum = 0;
+        for (int i = 1; i <= n; i++) {
+            row[0] = i;
+            int minimum = i;
+            char a = token.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char b = key.charAt(start + j - 1);
+                int cost = a == b ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a == key.charAt(start + j - 2) && token.charAt(i - 2) == b) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                row[j] = value;
+                minimum = Math.min(minimum, value);
+            }
+            if (minimum > allowed && previousMinimum > allowed) {
+                return allowed + 1;
+            }
+            previousMinimum = minimum;
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = row;
+            row = recycled;
+        }
+        int best = allowed + 1;
+        for (int j = 0; j <= m; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    private static String nameKey(EmployeeSnapshot employee) {
+        return String.join(" ", words(employee.getFirstName() + " " + employee.getLastName()));
+    }
+
+    // Words of the local part only; the shared domain would match almost every employee
+    private static String emailKey(String email) {
+        if (email == null) {
+            return "";
+        }
+        int at = email.indexOf('@');
+        return String.join(" ", words(at >= 0 ? email.substring(0, at) : email));
+    }
+
+    private static List<String> queryWords(String query) {
+        List<String> words = words(query);
+        List<String> tokens = new ArrayList<>(Math.min(words.size(), MAX_QUERY_WORDS));
+        for (String word : words) {
+            if (tokens.size() == MAX_QUERY_WORDS) {
+                break;
+            }
+            tokens.add(word.length() > MAX_WORD_LENGTH ? word.substring(0, MAX_WORD_LENGTH) : word);
+        }
+        return tokens;
+    }
+
+    /**
+     * Lower-cases the text, strips accents and splits it at everything but letters and digits
+     */
+    public static List<String> words(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) > 127) {
+                normalized = COMBINING_MARKS.matcher(Normalizer.normalize(normalized, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        List<String> words = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    // Distinct trigram keys of a padded word, namespace in the top bits
+    private static Set<Long> trigramKeys(long namespace, String padded) {
+        Set<Long> keys = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            keys.add(namespace << 48 | (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16
+                    | padded.charAt(i + 2));
+        }
+        return keys;
+    }
+
+    // Distinct trigram keys of every word of a key, each indexed as "  word "
+    private static long[] documentKeys(long namespace, String key) {
+        if (key.isEmpty()) {
+            return new long[0];
+        }
+        long[] keys = new long[2 * key.length() + 2];
+        int count = 0;
+        long c0 = ' ';
+        long c1 = ' ';
+        for (int i = 0; i <= key.length(); i++) {
+            long c2 = i < key.length() ? key.charAt(i) : ' ';
+            keys[count++] = namespace << 48 | c0 << 32 | c1 << 16 | c2;
+            if (c2 == ' ') {
+                // Word end: restart the padding for the next word
+                c0 = ' ';
+                c1 = ' ';
+            } else {
+                c0 = c1;
+                c1 = c2;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private static long arrayBytes(int elementBytes, int length) {
+        return align(16L + (long) elementBytes * length);
+    }
+
+    // Compact (Latin-1) strings assumed
+    private static long stringBytes(String value) {
+        return value != null ? 24L + arrayBytes(1, value.length()) : 0L;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Ascending employee positions containing one trigram; positions are only ever appended
+     */
+    private static final class PostingList {
+        private int[] slots = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length + (slots.length >> 1) + 1);
+            }
+            slots[size++] = slot;
+        }
+
+        private void trim() {
+            if (slots.length > size) {
+                slots = Arrays.copyOf(slots, size);
+            }
+        }
+
+        // First position at or after from holding a value >= slot (galloping, then binary search)
+        private int seek(int slot, int from) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && slots[high] < slot) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (slots[mid] < slot) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Indexed employees by position (ID order at load time, changed employees appended) and the
+     * trigram posting lists. A deleted or changed employee leaves a dead position (null keys) whose
+     * postings remain until the next compaction.
+     */
+    private static final class Data {
+        // Trigram key to its index in lists
+        private final LongIntHashMap listsByTrigram = new LongIntHashMap(64);
+        private PostingList[] lists = new PostingList[64];
+        private int listCount;
+        private final LongIntHashMap slotsById;
+        private long[] ids;
+        private String[] fullNames;
+        private String[] nameKeys;
+        private String[] emailKeys;
+        private int slotCount;
+        private int deadSlots;
+
+        private Data(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            slotsById = new LongIntHashMap(capacity);
+            ids = new long[capacity];
+            fullNames = new String[capacity];
+            nameKeys = new String[capacity];
+            emailKeys = new String[capacity];
+        }
+
+        private int liveSlots() {
+            return slotCount - deadSlots;
+        }
+
+        private void add(long id, String fullName, String nameKey, String emailKey) {
+            if (slotCount == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                fullNames = Arrays.copyOf(fullNames, capacity);
+                nameKeys = Arrays.copyOf(nameKeys, capacity);
+                emailKeys = Arrays.copyOf(emailKeys, capacity);
+            }
+            int slot = slotCount++;
+            ids[slot] = id;
+            fullNames[slot] = fullName;
+            nameKeys[slot] = nameKey;
+            emailKeys[slot] = emailKey;
+            slotsById.put(id, slot);
+            index(documentKeys(NAME, nameKey), slot);
+            index(documentKeys(EMAIL, emailKey), slot);
+        }
+
+        private void put(long id, String fullName, String nameKey, String emailKey) {
+            int slot = slotsById.get(id);
+            if (slot >= 0 && nameKey.equals(nameKeys[slot]) && emailKey.equals(emailKeys[slot])) {
+                // Same words (e.g. only the case changed)
+                fullNames[slot] = fullName;
+                return;
+            }
+            remove(id);
+            add(id, fullName, nameKey, emailKey);
+        }
+
+        private void remove(long id) {
+            int slot = slotsById.get(id);
+            if (slot < 0) {
+                return;
+            }
+            slotsById.remove(id);
+            fullNames[slot] = null;
+            nameKeys[slot] = null;
+            emailKeys[slot] = null;
+            deadSlots++;
+        }
+
+        private void index(long[] keys, int slot) {
+            for (long key : keys) {
+                int list = listsByTrigram.get(key);
+                if (list < 0) {
+                    if (listCount == lists.length) {
+                        lists = Arrays.copyOf(lists, lists.length * 2);
+                    }
+                    list = listCount++;
+                    lists[list] = new PostingList();
+                    listsByTrigram.put(key, list);
+                }
+                lists[list].add(slot);
+            }
+        }
+
+        private void trim() {
+            for (int list = 0; list < listCount; list++) {
+                lists[list].trim();
+            }
+        }
+
+        private PostingList postingList(long key) {
+            int list = listsByTrigram.get(key);
+            return list >= 0 ? lists[list] : null;
+        }
+
+        // Posting lists of the padded trigrams of all tokens, null if any trigram is unknown
+        private List<PostingList> postingLists(List<String> tokens, long namespace, boolean wholeWord) {
+            Set<Long> keys = new LinkedHashSet<>();
+            for (String token : tokens) {
+                keys.addAll(trigramKeys(namespace, "  " + token + (wholeWord ? " " : "")));
+            }
+            List<PostingList> result = new ArrayList<>(keys.size());
+            for (long key : keys) {
+                PostingList list = postingList(key);
+                if (list == null) {
+                    return null;
+                }
+                result.add(list);
+            }
+            return result;
+        }
+
+        private int trigramCount() {
+            return listCount;
+        }
+
+        // Includes the postings of dead positions not compacted yet
+        private long postingCount() {
+            long count = 0;
+            for (int list = 0; list < listCount; list++) {
+                count += lists[list].size;
+            }
+            return count;
+        }
+
+        /**
+         * Estimated heap use, assuming compressed references: posting lists and the trigram map,
+         * per-position arrays, stored strings and the ID map
+         */
+        private long estimatedBytes() {
+            long bytes = listsByTrigram.estimatedBytes() + arrayBytes(4, lists.length);
+            for (int list = 0; list < listCount; list++) {
+                bytes += 24 + arrayBytes(4, lists[list].slots.length);
+            }
+            bytes += arrayBytes(8, ids.length) + 3 * arrayBytes(4, ids.length);
+            for (int slot = 0; slot < slotCount; slot++) {
+                bytes += stringBytes(fullNames[slot]) + stringBytes(nameKeys[slot]) + stringBytes(emailKeys[slot]);
+            }
+            return bytes + slotsById.estimatedBytes();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.cruddemo.index;
+
+import com.example.cruddemo.event.EmployeeSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Changes delivered to an index while it reloads. The reload query runs without the index lock,
+ * so a change committed after the query started is missing from its result; the index records
+ * every change delivered meanwhile and replays them onto the reloaded content. Whether a change
+ * committed just before the query made it into the result is unknown, so indexes replay by
+ * employee ID, where applying a change twice is harmless.
+ * Not thread-safe; the owning index guards it with its own lock.
+ */
+final class ReloadReplay {
+
+    /**
+     * Before- and after-state of one delivered change
+     */
+    static final class Change {
+        final List<EmployeeSnapshot> removed;
+        final List<EmployeeSnapshot> added;
+
+        private Change(List<EmployeeSnapshot> removed, List<EmployeeSnapshot> added) {
+            this.removed = removed;
+            this.added = added;
+        }
+    }
+
+    // Null while no reload runs
+    private List<Change> changes;
+
+    /**
+     * Starts recording, before the reload query runs
+     */
+    void start() {
+        changes = new ArrayList<>();
+    }
+
+    /**
+     * Records a change if a reload is running
+     * @param removed Employees as they were before the change
+     * @param added Employees as they are after the change
+     */
+    void record(List<EmployeeSnapshot> removed, List<EmployeeSnapshot> added) {
+        if (changes != null) {
+            changes.add(new Change(removed, added));
+        }
+    }
+
+    /**
+     * Stops recording, once the reloaded content is installed
+     * @return The changes to replay, in delivery order
+     */
+    List<Change> finish() {
+        List<Change> recorded = changes != null ? changes : Collections.emptyList();
+        changes = null;
+        return recorded;
+    }
+}
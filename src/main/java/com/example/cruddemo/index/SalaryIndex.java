@@ -0,0 +1,290 @@
+package com.example.cruddemo.index;
+
+import com.example.cruddemo.datasource.PrimaryStickiness;
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.model.EmployeeSalary;
+import com.example.cruddemo.repository.EmployeeRepository;
+import com.example.cruddemo.util.AppLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of employee salaries.
+ * Entries live in a skip list ordered by (salary, id), so threshold, range and maximum queries
+ * are a logarithmic search followed by an ordered walk, and a write is a logarithmic removal and
+ * insertion. Readers walk the skip list without locking; an employee whose salary is being
+ * changed can be missing from a concurrent walk for that moment. Writers are serialized and find
+ * an employee's current entry by ID, so applying a change twice is harmless, and they skip a change
+ * older than the employee's applied version. Employees without a salary are not indexed.
+ */
+@Component
+public class SalaryIndex {
+
+    private final EmployeeRepository employeeRepository;
+
+    // Current content, null until the index is loaded
+    private volatile Content content;
+
+    // Changes delivered while a reload runs, guarded by this
+    private final ReloadReplay replay = new ReloadReplay();
+
+    // Serializes reloads, so each replays the changes since its own query started
+    private final Object reloadLock = new Object();
+
+    // Bumped by every invalidation, guarded by this; a reload overlapping one discards its result
+    private long invalidations;
+
+    // Version of each employee's last applied change, guarded by this
+    private final AppliedVersions versions = new AppliedVersions();
+
+    /**
+     * Constructor-based dependency injection
+     * @param employeeRepository The repository used to load the index
+     */
+    @Autowired
+    public SalaryIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Applies a committed employee change
+     * @param event The change published by the employee service
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (event.getType() == EmployeeChangeEvent.Type.BULK) {
+            // Dropped and reloaded in the background by IndexLoader
+            return;
+        }
+        if (event.getType() == EmployeeChangeEvent.Type.PATCHED) {
+            // In-place patches never change salaries or names
+            return;
+        }
+        apply(event.getBefore(), event.getAfter());
+    }
+
+    /**
+     * Rebuilds the index from the primary database. The query runs without the index lock;
+     * changes delivered meanwhile are replayed onto the result.
+     */
+    public void reload() {
+        synchronized (reloadLock) {
+            long invalidationsSeen;
+            synchronized (this) {
+                replay.start();
+                invalidationsSeen = invalidations;
+            }
+            List<EmployeeSnapshot> rows = new ArrayList<>();
+            for (Object[] row : PrimaryStickiness.onPrimary(employeeRepository::findSalaryIndexRows)) {
+                rows.add(new EmployeeSnapshot((Long) row[0], (String) row[2], (String) row[3],
+                        null, null, (Double) row[1], null, (Long) row[4]));
+            }
+            synchronized (this) {
+                List<ReloadReplay.Change> changes = replay.finish();
+                if (invalidations != invalidationsSeen) {
+                    // A bulk change committed while the query ran; the reload queued behind it installs
+                    return;
+                }
+                load(rows);
+                for (ReloadReplay.Change change : changes) {
+                    apply(change.removed, change.added);
+                }
+            }
+            AppLogger.log1Info("Salary index loaded with {} entries", rows.size());
+        }
+    }
+
+    /**
+     * Replaces the index content
+     * @param employees The employees to index, in any order
+     */
+    public synchronized void load(Collection<EmployeeSnapshot> employees) {
+        // Inserting in key order keeps the skip list walk short
+        List<EmployeeSnapshot> sorted = new ArrayList<>(employees);
+        sorted.sort(SalaryIndex::compareEntries);
+        Content next = new Content();
+        versions.clear(sorted.size());
+        for (EmployeeSnapshot employee : sorted) {
+            next.put(employee);
+            versions.load(employee.getId(), employee.getVersion());
+        }
+        content = next;
+    }
+
+    /**
+     * Drops the content after a bulk change, so readers fall back to the database until the
+     * next reload
+     */
+    public synchronized void invalidate() {
+        content = null;
+        invalidations++;
+    }
+
+    /**
+     * @return true once the index has been loaded
+     */
+    public boolean isReady() {
+        return content != null;
+    }
+
+    /**
+     * @return Number of indexed employees
+     */
+    public int size() {
+        Content current = content;
+        return current != null ? current.size : 0;
+    }
+
+    /**
+     * Finds the employee with the highest salary (the highest ID wins ties)
+     * @return The employee ID, empty if no employee has a salary
+     */
+    public OptionalLong findHighestPaidId() {
+        Content current = requireLoaded();
+        Map.Entry<Key, String> highest = current.entries.lastEntry();
+        return highest != null ? OptionalLong.of(highest.getKey().id) : OptionalLong.empty();
+    }
+
+    /**
+     * Finds the names of employees earning strictly more than the threshold
+     * @param threshold The salary threshold
+     * @return Full names, highest salary first
+     */
+    public List<String> findNamesAbove(double threshold) {
+        Content current = requireLoaded();
+        // Walked upwards and reversed: each step of a descending skip list walk is a search
+        List<String> names = new ArrayList<>(current.entries.tailMap(new Key(threshold, Long.MAX_VALUE), false).values());
+        Collections.reverse(names);
+        return names;
+    }
+
+    /**
+     * Finds employees whose salary lies within [min, max]
+     * @param min Lower bound, inclusive
+     * @param max Upper bound, inclusive
+     * @param limit Maximum number of results
+     * @return Matching employees, lowest salary first
+     */
+    public List<EmployeeSalary> findInRange(double min, double max, int limit) {
+        Content current = requireLoaded();
+        if (min > max) {
+            return Collections.emptyList();
+        }
+        List<EmployeeSalary> result = new ArrayList<>(Math.min(limit, 1024));
+        for (Map.Entry<Key, String> entry : current.entries
+                .subMap(new Key(min, Long.MIN_VALUE), true, new Key(max, Long.MAX_VALUE), true).entrySet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(new EmployeeSalary(entry.getKey().id, entry.getValue(), entry.getKey().salary));
+        }
+        return result;
+    }
+
+    /**
+     * Removes the before-state and indexes the after-state of changed employees, by ID,
+     * skipping employees already indexed at a newer version
+     * @param removed Previous state of updated or deleted employees
+     * @param added New state of created or updated employees
+     */
+    synchronized void apply(List<EmployeeSnapshot> removed, List<EmployeeSnapshot> added) {
+        // Recorded first: the first load also replays what its query may have missed
+        replay.record(removed, added);
+        Content current = content;
+        if (current == null) {
+            return;
+        }
+        Set<Long> stale = versions.advance(removed, added);
+        for (EmployeeSnapshot employee : removed) {
+            if (!stale.contains(employee.getId())) {
+                current.remove(employee.getId());
+            }
+        }
+        for (EmployeeSnapshot employee : added) {
+            if (!stale.contains(employee.getId())) {
+                current.put(employee);
+            }
+        }
+    }
+
+    private Content requireLoaded() {
+        Content current = content;
+        if (current == null) {
+            throw new IllegalStateException("Salary index is not loaded yet");
+        }
+        return current;
+    }
+
+    // Employees without a salary sort first; they are not indexed
+    private static int compareEntries(EmployeeSnapshot a, EmployeeSnapshot b) {
+        if (a.getSalary() == null || b.getSalary() == null) {
+            return a.getSalary() == null ? (b.getSalary() == null ? 0 : -1) : 1;
+        }
+        return compare(a.getSalary(), a.getId(), b.getSalary(), b.getId());
+    }
+
+    private static int compare(double salaryA, long idA, double salaryB, long idB) {
+        int bySalary = Double.compare(salaryA, salaryB);
+        return bySalary != 0 ? bySalary : Long.compare(idA, idB);
+    }
+
+    /**
+     * (salary, id) position of an entry
+     */
+    private static final class Key implements Comparable<Key> {
+        private final double salary;
+        private final long id;
+
+        private Key(double salary, long id) {
+            this.salary = salary;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return compare(salary, id, other.salary, other.id);
+        }
+    }
+
+    /**
+     * Entries ordered by (salary, id) with their full names, and each employee's current key
+     */
+    private static final class Content {
+        private final ConcurrentSkipListMap<Key, String> entries = new ConcurrentSkipListMap<>();
+        // Only touched by writers, which hold the index lock
+        private final Map<Long, Key> keysById = new HashMap<>();
+        private volatile int size;
+
+        // Replaces the employee's entry; an employee without a salary is only removed
+        private void put(EmployeeSnapshot employee) {
+            remove(employee.getId());
+            if (employee.getSalary() == null) {
+                return;
+            }
+            Key key = new Key(employee.getSalary(), employee.getId());
+            keysById.put(employee.getId(), key);
+            entries.put(key, employee.getFullName());
+            size = keysById.size();
+        }
+
+        private void remove(Long id) {
+            Key key = keysById.remove(id);
+            if (key != null) {
+                entries.remove(key);
+                size = keysById.size();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.cruddemo.mapping;
+
+import com.example.cruddemo.util.AppLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Precompiled copy of matching properties from one bean type to a new instance of another.
+ * Built once per (source, target) pair by the {@link MapperRegistry}; mapping then only
+ * calls the generated getter and setter lambdas. Null source values are not copied, so
+ * the target keeps its own defaults for them.
+ * @param <S> The source type
+ * @param <T> The target type
+ */
+public final class BeanMappingPlan<S, T> {
+
+    private final Supplier<T> factory;
+    private final Function<Object, Object>[] getters;
+    private final BiConsumer<Object, Object>[] setters;
+    // Declared setter type for properties that need conversion, null otherwise
+    private final Class<?>[] conversions;
+
+    @SuppressWarnings("unchecked")
+    BeanMappingPlan(Class<S> sourceType, Class<T> targetType) {
+        Map<String, PropertyAccessors.Getter> sourceGetters = PropertyAccessors.getters(sourceType);
+        List<Function<Object, Object>> getterList = new ArrayList<>();
+        List<BiConsumer<Object, Object>> setterList = new ArrayList<>();
+        List<Class<?>> conversionList = new ArrayList<>();
+        List<String> unmapped = new ArrayList<>();
+
+        for (Map.Entry<String, PropertyAccessors.Setter> entry : PropertyAccessors.setters(targetType).entrySet()) {
+            PropertyAccessors.Getter getter = sourceGetters.get(entry.getKey());
+            if (getter == null) {
+                unmapped.add(entry.getKey());
+                continue;
+            }
+            PropertyAccessors.Setter setter = entry.getValue();
+            getterList.add(getter.function);
+            setterList.add(setter.consumer);
+            conversionList.add(ValueConverter.isAssignable(getter.type, setter.type) ? null : setter.type);
+        }
+        if (!unmapped.isEmpty()) {
+            // Reported once when the plan is built instead of on every call
+            AppLogger.log2Warn("No source property for {} -> {} properties {}",
+                    sourceType.getSimpleName(), targetType.getSimpleName(), unmapped);
+        }
+
+        this.factory = PropertyAccessors.constructor(targetType);
+        this.getters = getterList.toArray(new Function[0]);
+        this.setters = setterList.toArray(new BiConsumer[0]);
+        this.conversions = conversionList.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * Creates a new target instance and copies the matching properties
+     * @param source The source object
+     * @return The mapped target
+     */
+    public T map(S source) {
+        T target = factory.get();
+        for (int i = 0; i < getters.length; i++) {
+            Object value = getters[i].apply(source);
+            if (value != null) {
+                setters[i].accept(target, conversions[i] == null ? value : ValueConverter.convert(value, conversions[i]));
+            }
+        }
+        return target;
+    }
+}
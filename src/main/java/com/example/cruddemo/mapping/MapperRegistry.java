@@ -0,0 +1,96 @@
+package com.example.cruddemo.mapping;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of precompiled mapping plans.
+ * A plan is built on first use for each (source, target) pair or column layout and
+ * cached for the lifetime of the application, so repeated mappings do no reflection.
+ */
+@Component
+public class MapperRegistry {
+
+    private final ConcurrentMap<List<Object>, BeanMappingPlan<?, ?>> beanPlans = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<Object>, TupleMappingPlan<?>> tuplePlans = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached plan copying properties from the source type to the target type
+     * @param sourceType The source class
+     * @param targetType The target class
+     * @return The mapping plan
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> BeanMappingPlan<S, T> plan(Class<S> sourceType, Class<T> targetType) {
+        return (BeanMappingPlan<S, T>) beanPlans.computeIfAbsent(Arrays.asList(sourceType, targetType),
+                key -> new BeanMappingPlan<>(sourceType, targetType));
+    }
+
+    /**
+     * Maps an object to a new instance of the target type
+     * @param source The source object
+     * @param targetType The target class
+     * @return The mapped target
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> T map(S source, Class<T> targetType) {
+        return plan((Class<S>) source.getClass(), targetType).map(source);
+    }
+
+    /**
+     * Returns the cached plan mapping Object[] tuples with the given column labels
+     * @param targetType The target class
+     * @param columns Column labels in tuple order (snake_case or property names)
+     * @return The mapping plan
+     */
+    public <T> TupleMappingPlan<T> tuplePlan(Class<T> targetType, String... columns) {
+        return tuplePlan(targetType, Arrays.asList(columns));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> TupleMappingPlan<T> tuplePlan(Class<T> targetType, List<String> columns) {
+        List<Object> key = new ArrayList<>(columns.size() + 1);
+        key.add(targetType);
+        key.addAll(columns);
+        return (TupleMappingPlan<T>) tuplePlans.computeIfAbsent(key,
+                k -> new TupleMappingPlan<>(targetType, List.copyOf(columns)));
+    }
+
+    /**
+     * Creates a JDBC row mapper backed by a cached tuple plan.
+     * The column layout is read from the result set metadata on the first row of each result set.
+     * @param targetType The target class
+     * @return Row mapper for JdbcTemplate queries
+     */
+    public <T> RowMapper<T> rowMapper(Class<T> targetType) {
+        return new RowMapper<T>() {
+            private TupleMappingPlan<T> plan;
+
+            @Override
+            public T mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+                if (plan == null || rowNum == 0) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    List<String> columns = new ArrayList<>(metaData.getColumnCount());
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        columns.add(metaData.getColumnLabel(i));
+                    }
+                    plan = tuplePlan(targetType, columns);
+                }
+                Object[] row = new Object[plan.width()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = resultSet.getObject(i + 1);
+                }
+                return plan.map(row);
+            }
+        };
+    }
+}
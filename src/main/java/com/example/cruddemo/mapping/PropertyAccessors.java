@@ -0,0 +1,182 @@
+package com.example.cruddemo.mapping;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Turns bean getters, setters and no-arg constructors into lambdas with LambdaMetafactory.
+ * The generated lambdas are plain interface calls, so the JIT can inline them like
+ * hand-written code instead of going through Method.invoke.
+ */
+final class PropertyAccessors {
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * @param type The bean class
+     * @return Property name to getter, for every public no-arg getX/isX method
+     */
+    static Map<String, Getter> getters(Class<?> type) {
+        Map<String, Getter> getters = new TreeMap<>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                    || method.getReturnType() == void.class || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String property = propertyName(method.getName(), method.getReturnType() == boolean.class);
+            if (property != null) {
+                getters.put(property, new Getter(method.getReturnType(), getter(method)));
+            }
+        }
+        return Collections.unmodifiableMap(getters);
+    }
+
+    /**
+     * @param type The bean class
+     * @return Property name to setter, for every public one-argument setX method, in name order
+     */
+    static Map<String, Setter> setters(Class<?> type) {
+        Map<String, Setter> setters = new TreeMap<>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1
+                    || !method.getName().startsWith("set") || method.getName().length() == 3) {
+                continue;
+            }
+            String property = decapitalize(method.getName().substring(3));
+            setters.put(property, new Setter(method.getParameterTypes()[0], setter(method)));
+        }
+        return Collections.unmodifiableMap(setters);
+    }
+
+    /**
+     * @param type The bean class
+     * @return Factory calling the public no-arg constructor
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> constructor(Class<T> type) {
+        try {
+            Constructor<T> constructor = type.getConstructor();
+            MethodHandles.Lookup lookup = lookupFor(type);
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    handle, MethodType.methodType(type));
+            return (Supplier<T>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("No accessible no-arg constructor on " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Converts a snake_case column label or a camelCase name to a bean property name
+     * @param column The column label, e.g. "first_name"
+     * @return The property name, e.g. "firstName"
+     */
+    static String toPropertyName(String column) {
+        if (column.indexOf('_') < 0) {
+            return decapitalize(column);
+        }
+        StringBuilder property = new StringBuilder(column.length());
+        boolean upperNext = false;
+        for (char c : column.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '_') {
+                upperNext = property.length() > 0;
+            } else {
+                property.append(upperNext ? Character.toUpperCase(c) : c);
+                upperNext = false;
+            }
+        }
+        return property.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class),
+                    handle, MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Cannot access getter " + method, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class), MethodType.methodType(void.class, Object.class, Object.class),
+                    handle, MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Cannot access setter " + method, e);
+        }
+    }
+
+    // The lambda class is defined next to the bean, so it sees the bean's class loader
+    private static MethodHandles.Lookup lookupFor(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+
+    private static String propertyName(String methodName, boolean isBoolean) {
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return decapitalize(methodName.substring(3));
+        }
+        if (isBoolean && methodName.startsWith("is") && methodName.length() > 2) {
+            return decapitalize(methodName.substring(2));
+        }
+        return null;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    /**
+     * Compiled getter with its declared type
+     */
+    static final class Getter {
+        final Class<?> type;
+        final Function<Object, Object> function;
+
+        Getter(Class<?> type, Function<Object, Object> function) {
+            this.type = type;
+            this.function = function;
+        }
+    }
+
+    /**
+     * Compiled setter with its declared parameter type
+     */
+    static final class Setter {
+        final Class<?> type;
+        final BiConsumer<Object, Object> consumer;
+
+        Setter(Class<?> type, BiConsumer<Object, Object> consumer) {
+            this.type = type;
+            this.consumer = consumer;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.cruddemo.mapping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Precompiled mapping of positional values (an Object[] tuple or a JDBC row) to a new bean.
+ * Column labels are resolved to setters once; snake_case labels such as "first_name"
+ * map to the camelCase property. Columns without a matching setter are ignored.
+ * @param <T> The target type
+ */
+public final class TupleMappingPlan<T> {
+
+    private final Supplier<T> factory;
+    // Setter per column position, null for ignored columns
+    private final BiConsumer<Object, Object>[] setters;
+    private final Class<?>[] types;
+
+    @SuppressWarnings("unchecked")
+    TupleMappingPlan(Class<T> targetType, List<String> columns) {
+        Map<String, PropertyAccessors.Setter> targetSetters = PropertyAccessors.setters(targetType);
+        this.factory = PropertyAccessors.constructor(targetType);
+        this.setters = new BiConsumer[columns.size()];
+        this.types = new Class<?>[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            PropertyAccessors.Setter setter = targetSetters.get(PropertyAccessors.toPropertyName(columns.get(i)));
+            if (setter != null) {
+                setters[i] = setter.consumer;
+                types[i] = setter.type;
+            }
+        }
+    }
+
+    /**
+     * @return Number of columns the plan was built for
+     */
+    public int width() {
+        return setters.length;
+    }
+
+    /**
+     * Creates a new target instance from one tuple
+     * @param row Values in column order
+     * @return The mapped target
+     * @throws IllegalArgumentException if the tuple width does not match the plan
+     */
+    public T map(Object[] row) {
+        if (row.length != setters.length) {
+            throw new IllegalArgumentException("Expected " + setters.length + " values but got " + row.length);
+        }
+        T target = factory.get();
+        for (int i = 0; i < setters.length; i++) {
+            if (setters[i] != null && row[i] != null) {
+                setters[i].accept(target, ValueConverter.convert(row[i], types[i]));
+            }
+        }
+        return target;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.cruddemo.mapping;
+
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Converts column and property values to the declared type of a setter.
+ * Covers the conversions JDBC and JPA results need (numeric widening and narrowing,
+ * e.g. DECIMAL to Double or INT to Long); anything else must already have the right type.
+ */
+final class ValueConverter {
+
+    private ValueConverter() {
+    }
+
+    /**
+     * @param value The value to convert, may be null
+     * @param targetType The declared setter parameter type
+     * @return The converted value
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    static Object convert(Object value, Class<?> targetType) {
+        if (value == null) {
+            return null;
+        }
+        Class<?> boxed = wrap(targetType);
+        if (boxed.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            if (boxed == Double.class) {
+                return number.doubleValue();
+            }
+            if (boxed == Long.class) {
+                return number.longValue();
+            }
+            if (boxed == Integer.class) {
+                return number.intValue();
+            }
+            if (boxed == Float.class) {
+                return number.floatValue();
+            }
+            if (boxed == Short.class) {
+                return number.shortValue();
+            }
+            if (boxed == BigDecimal.class) {
+                return number instanceof BigInteger ? new BigDecimal((BigInteger) number) : new BigDecimal(number.toString());
+            }
+            if (boxed == BigInteger.class) {
+                return BigInteger.valueOf(number.longValue());
+            }
+        }
+        if (boxed == String.class) {
+            return value.toString();
+        }
+        throw new IllegalArgumentException("Cannot convert " + value.getClass().getName() + " to " + targetType.getName());
+    }
+
+    /**
+     * @return true when values of the source type can be passed to the target type as they are
+     */
+    static boolean isAssignable(Class<?> sourceType, Class<?> targetType) {
+        return wrap(targetType).isAssignableFrom(wrap(sourceType));
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Summary and per-row results of a bulk employee creation request.
+ */
+@Getter
+@AllArgsConstructor
+public class BatchCreateResponse {
+
+    private final int createdCount;
+
+    private final int rejectedCount;
+
+    // One result per request row, in request order
+    private final List<BatchRowResult> results;
+}
@@ -0,0 +1,35 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Outcome of one row of a bulk employee creation request.
+ */
+@Getter
+@AllArgsConstructor
+public class BatchRowResult {
+
+    public enum Status { CREATED, REJECTED }
+
+    // Position of the row in the request
+    private final int index;
+
+    private final Status status;
+
+    // Generated ID for created rows
+    private final Long id;
+
+    // Field name to error message for rejected rows
+    private final Map<String, String> errors;
+
+    public static BatchRowResult created(int index, Long id) {
+        return new BatchRowResult(index, Status.CREATED, id, null);
+    }
+
+    public static BatchRowResult rejected(int index, Map<String, String> errors) {
+        return new BatchRowResult(index, Status.REJECTED, null, errors);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Usage statistics of one cache region, used to size the region
+ */
+@Getter
+@AllArgsConstructor
+public class CacheRegionStats {
+
+    private final String region;
+
+    // Approximate number of cached entries
+    private final long size;
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final double hitRate;
+
+    // Entries removed because of the size bound or the time-to-live
+    private final long evictionCount;
+
+    private final long loadCount;
+}
@@ -0,0 +1,27 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated listing.
+ * Pass {@code nextCursor} back as the {@code after} parameter to fetch the following page.
+ * @param <T> The type of the page items
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> items;
+
+    // Continuation token for the next page, null on the last page
+    private final String nextCursor;
+
+    private final boolean hasMore;
+
+    private final int limit;
+
+    private final String sort;
+}
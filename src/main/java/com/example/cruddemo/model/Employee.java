@@ -3,6 +3,7 @@ package com.example.cruddemo.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -14,13 +15,19 @@ import java.util.Optional;
 import java.util.function.Predicate;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    // Composite keyset indexes for cursor pagination, the trailing id keeps each key unique
+    @Index(name = "idx_employees_last_name_id", columnList = "last_name, id"),
+    @Index(name = "idx_employees_salary_id", columnList = "salary, id")
+})
 @NamedQueries({
     @NamedQuery(name = "Employee.findByPosition", 
                 query = "FROM Employee e WHERE e.position = :position"),
     @NamedQuery(name = "Employee.findHighPaidEmployees", 
                 query = "FROM Employee e WHERE e.salary > :salaryThreshold")
 })
+// UPDATE statements list only the changed columns, so partial updates stay narrow
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +39,12 @@ public class Employee implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock version, incremented on every update and exposed as the ETag.
+    // The column default covers rows inserted by the stored procedure and JDBC batches.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @NotBlank(message = "First name is required")
     @Size(max = 50, message = "First name cannot exceed 50 characters")
     @Column(name = "first_name", nullable = false)
@@ -73,6 +86,14 @@ public class Employee implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -0,0 +1,97 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position inside a sorted employee listing.
+ * The cursor remembers the sort key value and the ID of the last row that was returned,
+ * and is handed to clients as an opaque, URL-safe continuation token.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private final EmployeeSortKey sortKey;
+
+    // ID of the last row on the previous page
+    private final Long lastId;
+
+    // Sort column value of the last row (null for ID ordering and for NULL salaries)
+    private final String lastValue;
+
+    /**
+     * Builds the cursor pointing after the given employee
+     * @param sortKey The sort key of the listing
+     * @param employee The last employee of the current page
+     * @return Cursor positioned after the employee
+     */
+    public static EmployeeCursor after(EmployeeSortKey sortKey, Employee employee) {
+        String value;
+        switch (sortKey) {
+            case LAST_NAME:
+                value = employee.getLastName();
+                break;
+            case SALARY:
+                value = employee.getSalary() != null ? Double.toString(employee.getSalary()) : null;
+                break;
+            default:
+                value = null;
+        }
+        return new EmployeeCursor(sortKey, employee.getId(), value);
+    }
+
+    /**
+     * Salary of the last row, or null when the cursor is still inside the NULL salary block
+     */
+    public Double getLastSalary() {
+        return lastValue != null ? Double.valueOf(lastValue) : null;
+    }
+
+    /**
+     * Encodes the cursor as an opaque continuation token
+     * @return URL-safe token
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sortKey.name() + SEPARATOR + lastId
+                + (lastValue != null ? SEPARATOR + lastValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token produced by {@link #encode()}
+     * @param token The token received from the client
+     * @return The decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static EmployeeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value is always the last part, so it may itself contain the separator
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length < 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            EmployeeSortKey sortKey = EmployeeSortKey.valueOf(parts[1]);
+            Long lastId = Long.valueOf(parts[2]);
+            String lastValue = parts.length == 4 ? parts[3] : null;
+            if (sortKey == EmployeeSortKey.LAST_NAME && lastValue == null) {
+                throw new IllegalArgumentException("Cursor is missing its sort value");
+            }
+            EmployeeCursor cursor = new EmployeeCursor(sortKey, lastId, lastValue);
+            if (sortKey == EmployeeSortKey.SALARY) {
+                // Fail fast on tampered salary values
+                cursor.getLastSalary();
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.cruddemo.model;
+
+import java.util.Locale;
+
+/**
+ * Output formats supported by the streaming employee export.
+ */
+public enum EmployeeExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    EmployeeExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolves the format from a request parameter such as "csv"
+     * @param value The request parameter value, may be null
+     * @return The matching format, NDJSON when no value is given
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static EmployeeExportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Employee ID and full name as returned by name-only projection queries.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeName {
+
+    private final Long id;
+
+    private final String fullName;
+}
@@ -0,0 +1,194 @@
+package com.example.cruddemo.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch (RFC 7396) of an employee.
+ * Only the members present in the document change; a member set to null clears the column.
+ * Fields marked in-place feed none of the in-memory indexes or running totals, so a patch made
+ * of them only can be written with one UPDATE without reading the row first.
+ */
+public class EmployeePatch {
+
+    /**
+     * Patchable fields with their JSON member and column names
+     */
+    public enum Field {
+        FIRST_NAME("firstName", "first_name", false),
+        LAST_NAME("lastName", "last_name", false),
+        EMAIL("email", "email", false),
+        PHONE_NUMBER("phoneNumber", "phone_number", true),
+        POSITION("position", "position", true),
+        SALARY("salary", "salary", false),
+        MANAGER_ID("managerId", "manager_id", true);
+
+        private final String property;
+        private final String column;
+        private final boolean inPlace;
+
+        Field(String property, String column, boolean inPlace) {
+            this.property = property;
+            this.column = column;
+            this.inPlace = inPlace;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public boolean isInPlace() {
+            return inPlace;
+        }
+
+        private static Field fromProperty(String property) {
+            for (Field field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Present members in declaration order; a null value clears the column
+    private final Map<Field, Object> values;
+
+    private EmployeePatch(Map<Field, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Reads a merge patch document
+     * @param document The request body
+     * @return The patch
+     * @throws IllegalArgumentException if the document is not an object, names an unknown or
+     *         read-only member, or holds a value of the wrong type
+     */
+    public static EmployeePatch fromJson(JsonNode document) {
+        if (document == null || !document.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+        Map<Field, Object> values = new EnumMap<>(Field.class);
+        Iterator<Map.Entry<String, JsonNode>> members = document.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            String name = member.getKey();
+            if (name.equals("id") || name.equals("version")) {
+                throw new IllegalArgumentException("Field " + name + " cannot be patched"
+                        + (name.equals("version") ? ", send the expected version in If-Match" : ""));
+            }
+            Field field = Field.fromProperty(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            values.put(field, readValue(field, member.getValue()));
+        }
+        return new EmployeePatch(values);
+    }
+
+    private static Object readValue(Field field, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        switch (field) {
+            case SALARY:
+                if (!value.isNumber()) {
+                    throw new IllegalArgumentException("Field salary must be a number");
+                }
+                return value.doubleValue();
+            case MANAGER_ID:
+                if (!value.isIntegralNumber() || !value.canConvertToLong()) {
+                    throw new IllegalArgumentException("Field managerId must be an integer");
+                }
+                return value.longValue();
+            default:
+                if (!value.isTextual()) {
+                    throw new IllegalArgumentException("Field " + field.property + " must be a string");
+                }
+                return value.textValue();
+        }
+    }
+
+    public Set<Field> getFields() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public boolean contains(Field field) {
+        return values.containsKey(field);
+    }
+
+    /**
+     * @param field The field to read
+     * @return The new value, null when the field is cleared or absent
+     */
+    public Object get(Field field) {
+        return values.get(field);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @return true if every patched field can be written without reading the row
+     */
+    public boolean isInPlace() {
+        if (values.isEmpty()) {
+            return false;
+        }
+        for (Field field : values.keySet()) {
+            if (!field.isInPlace()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the patched values onto an employee. The manager is left alone,
+     * because it has to be set as an entity reference.
+     * @param employee The employee to change
+     */
+    public void applyTo(Employee employee) {
+        for (Map.Entry<Field, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            switch (entry.getKey()) {
+                case FIRST_NAME:
+                    employee.setFirstName((String) value);
+                    break;
+                case LAST_NAME:
+                    employee.setLastName((String) value);
+                    break;
+                case EMAIL:
+                    employee.setEmail((String) value);
+                    break;
+                case PHONE_NUMBER:
+                    employee.setPhoneNumber((String) value);
+                    break;
+                case POSITION:
+                    employee.setPosition((String) value);
+                    break;
+                case SALARY:
+                    employee.setSalary((Double) value);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeePatch" + values;
+    }
+}
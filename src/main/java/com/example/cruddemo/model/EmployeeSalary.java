@@ -0,0 +1,18 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Employee ID, name and salary as returned by salary range queries.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeSalary {
+
+    private final Long id;
+
+    private final String fullName;
+
+    private final Double salary;
+}
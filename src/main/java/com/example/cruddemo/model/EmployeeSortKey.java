@@ -0,0 +1,43 @@
+package com.example.cruddemo.model;
+
+import java.util.Locale;
+
+/**
+ * Sort keys supported by the cursor-paginated employee listing.
+ * Each key is backed by a composite index that ends with the primary key,
+ * so the (value, id) pair is unique and can be used as a keyset cursor.
+ */
+public enum EmployeeSortKey {
+    ID("id"),
+    LAST_NAME("last_name"),
+    SALARY("salary");
+
+    private final String parameterName;
+
+    EmployeeSortKey(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Resolves a sort key from its request parameter name (e.g. "last_name")
+     * @param value The request parameter value, may be null
+     * @return The matching sort key, or ID when no value is given
+     * @throws IllegalArgumentException if the value is not a supported sort key
+     */
+    public static EmployeeSortKey fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (EmployeeSortKey key : values()) {
+            if (key.parameterName.equals(normalized) || key.name().equalsIgnoreCase(normalized)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + value);
+    }
+}
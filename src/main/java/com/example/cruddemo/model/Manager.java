@@ -5,7 +5,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -47,8 +49,11 @@ public class Manager implements Serializable {
     @Column(name = "salary", precision = 10, scale = 2)
     private BigDecimal salary;
 
+    // Lazy team, left out of equals/hashCode/toString so comparing or logging a manager never loads it
     @OneToMany(mappedBy = "manager", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private List<Employee> employees = new ArrayList<>();
 
     // Optional: Constructor for easier creation
@@ -0,0 +1,32 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A manager with the payroll of their team, computed by the database in one grouped query.
+ * Managers without employees have a headcount of 0 and null salary aggregates; employees
+ * without a salary are counted in the headcount but ignored by the salary aggregates.
+ */
+@Getter
+@AllArgsConstructor
+public class ManagerSummary {
+
+    private final Long managerId;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String email;
+
+    private final Long headcount;
+
+    private final Double totalSalary;
+
+    private final Double averageSalary;
+
+    private final Double minSalary;
+
+    private final Double maxSalary;
+}
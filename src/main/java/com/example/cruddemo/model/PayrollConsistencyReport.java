@@ -0,0 +1,29 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Result of comparing the in-memory payroll totals with the database.
+ */
+@Getter
+@AllArgsConstructor
+public class PayrollConsistencyReport {
+
+    private final Date checkedAt;
+
+    private final long cachedHeadcount;
+
+    private final long databaseHeadcount;
+
+    private final double cachedTotalSalary;
+
+    private final double databaseTotalSalary;
+
+    private final boolean consistent;
+
+    // True when the cached totals were replaced with the database values
+    private final boolean repaired;
+}
@@ -0,0 +1,33 @@
+package com.example.cruddemo.model;
+
+import java.util.Locale;
+
+/**
+ * Grouping options for payroll aggregates.
+ */
+public enum PayrollGrouping {
+    NONE,
+    POSITION,
+    MANAGER;
+
+    /**
+     * Resolves the grouping from a request parameter such as "position"
+     * @param value The request parameter value, may be null
+     * @return The matching grouping, NONE when no value is given
+     * @throws IllegalArgumentException if the grouping is not supported
+     */
+    public static PayrollGrouping fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        if ("MANAGER_ID".equals(normalized)) {
+            return MANAGER;
+        }
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported grouping: " + value);
+        }
+    }
+}
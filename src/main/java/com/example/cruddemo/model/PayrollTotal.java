@@ -0,0 +1,17 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Total salary of all employees together with the version of the running totals it was read from.
+ */
+@Getter
+@AllArgsConstructor
+public class PayrollTotal {
+
+    private final double totalSalary;
+
+    // Null while the running totals are not seeded and the total was queried instead
+    private final Long version;
+}
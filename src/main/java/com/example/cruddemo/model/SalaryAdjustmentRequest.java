@@ -0,0 +1,49 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A salary adjustment: who is eligible and how their salary changes.
+ * Every eligibility criterion that is set must hold; employees without a salary are never adjusted.
+ * All criteria except namePattern are compiled into the WHERE clause of a set-based UPDATE;
+ * a name pattern is a Java regex and makes the adjustment run in chunks instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryAdjustmentRequest {
+
+    // Case-insensitive substring of the position
+    private String positionContains;
+
+    // Inclusive salary bounds
+    private Double minSalary;
+
+    private Double maxSalary;
+
+    private Long managerId;
+
+    // Regex searched in the full name, evaluated in Java
+    private String namePattern;
+
+    private SalaryAdjustmentType type;
+
+    private Double value;
+
+    /**
+     * @return true if every criterion can be evaluated by the database
+     */
+    public boolean isSetBased() {
+        return namePattern == null;
+    }
+
+    /**
+     * @return true if at least one eligibility criterion is set
+     */
+    public boolean hasCriteria() {
+        return positionContains != null || minSalary != null || maxSalary != null
+                || managerId != null || namePattern != null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a salary adjustment, or what it would do for a dry run.
+ */
+@Getter
+@AllArgsConstructor
+public class SalaryAdjustmentResult {
+
+    public enum Strategy { SET_BASED, CHUNKED }
+
+    private final boolean dryRun;
+
+    private final Strategy strategy;
+
+    // Employees matching the rule
+    private final long matchedCount;
+
+    // Employees whose salary was written, 0 for a dry run
+    private final long updatedCount;
+
+    // Salary totals of the matching employees before and after the adjustment
+    private final double totalSalaryBefore;
+
+    private final double totalSalaryAfter;
+
+    // Chunks processed, 0 for set-based adjustments
+    private final int chunks;
+}
@@ -0,0 +1,36 @@
+package com.example.cruddemo.model;
+
+/**
+ * How a salary adjustment changes each eligible salary.
+ * New salaries are rounded to cents and never drop below zero, in SQL and in Java alike.
+ */
+public enum SalaryAdjustmentType {
+    // Raise (or cut) by a percentage of the current salary
+    PERCENT,
+    // Add (or subtract) a fixed amount
+    AMOUNT,
+    // Replace with a fixed salary
+    SET;
+
+    /**
+     * Computes the adjusted salary the way the set-based UPDATE does
+     * @param salary The current salary
+     * @param value The adjustment value
+     * @return The new salary, rounded to cents
+     */
+    public double apply(double salary, double value) {
+        double adjusted;
+        switch (this) {
+            case PERCENT:
+                adjusted = salary * (1 + value / 100);
+                break;
+            case AMOUNT:
+                adjusted = salary + value;
+                break;
+            default:
+                adjusted = value;
+                break;
+        }
+        return Math.max(Math.round(adjusted * 100) / 100.0, 0);
+    }
+}
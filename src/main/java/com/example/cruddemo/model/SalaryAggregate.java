@@ -0,0 +1,38 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Payroll aggregates computed by the database, optionally for one group
+ * (a position or a manager ID). Employees without a salary are counted in
+ * the headcount but ignored by the salary aggregates.
+ */
+@Getter
+@AllArgsConstructor
+public class SalaryAggregate {
+
+    // Position or manager ID of the group, null for the whole table
+    private final Object groupKey;
+
+    private final Long headcount;
+
+    // Number of employees that have a salary
+    private final Long salariedCount;
+
+    private final Double totalSalary;
+
+    private final Double averageSalary;
+
+    private final Double minSalary;
+
+    private final Double maxSalary;
+
+    /**
+     * Constructor used by the ungrouped JPQL aggregate query
+     */
+    public SalaryAggregate(Long headcount, Long salariedCount, Double totalSalary,
+                           Double averageSalary, Double minSalary, Double maxSalary) {
+        this(null, headcount, salariedCount, totalSalary, averageSalary, minSalary, maxSalary);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Size and estimated memory use of the in-memory name search index
+ */
+@Getter
+@AllArgsConstructor
+public class SearchIndexStats {
+
+    private final boolean ready;
+
+    // Indexed employees
+    private final long employees;
+
+    // Distinct trigrams, each with one posting list
+    private final long trigrams;
+
+    // Entries over all posting lists
+    private final long postings;
+
+    // Estimated heap use of the index (compressed references assumed)
+    private final long estimatedBytes;
+
+    private final long bytesPerEmployee;
+
+    // estimatedBytes scaled to one million employees
+    private final long estimatedBytesPerMillion;
+}
@@ -0,0 +1,30 @@
+package com.example.cruddemo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Change version of one table, bumped inside every transaction that writes the table.
+ * Read and written with plain SQL by {@link com.example.cruddemo.event.TableVersions}; mapped so
+ * Hibernate creates and validates the table like the others.
+ */
+@Entity
+@Table(name = "table_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableVersion {
+
+    @Id
+    @Column(name = "table_name", length = 32)
+    private String tableName;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -0,0 +1,396 @@
+package com.example.cruddemo.repository;
+
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeePatch;
+import com.example.cruddemo.model.SalaryAdjustmentRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Plain JDBC access for bulk employee writes.
+ * JPA cannot batch inserts for IDENTITY keys, so bulk inserts go through JDBC batches instead.
+ * Partial updates that need no entity are written as one UPDATE of the changed columns,
+ * salary adjustment rules are compiled into set-based UPDATE ... WHERE statements, and a
+ * manager's team is deleted or moved to another manager with one statement.
+ * Runs on the connection of the surrounding Spring transaction.
+ */
+@Repository
+public class EmployeeJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO employees "
+            + "(first_name, last_name, email, phone_number, position, salary, manager_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor-based dependency injection
+     * @param jdbcTemplate The JDBC template bound to the application data source
+     */
+    @Autowired
+    public EmployeeJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts employees with JDBC batches and returns their generated IDs
+     * @param employees The employees to insert
+     * @param batchSize Number of rows sent per JDBC batch
+     * @return Generated IDs in the order of the given employees
+     */
+    public List<Long> batchInsert(List<Employee> employees, int batchSize) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(employees.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                int pending = 0;
+                for (Employee employee : employees) {
+                    bind(statement, employee);
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        executeBatch(statement, ids);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    executeBatch(statement, ids);
+                }
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Writes the patched columns of one employee with a single UPDATE and increments its version,
+     * without reading the row first
+     * @param id The ID of the employee
+     * @param patch The columns to write, not empty
+     * @param expectedVersion Only update the row at this version, or null to update any version
+     * @return 1 if the row was updated, 0 if it does not exist or is at another version
+     */
+    public int updateColumns(Long id, EmployeePatch patch, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE employees SET ");
+        List<Object> args = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        for (EmployeePatch.Field field : patch.getFields()) {
+            // Column names come from the enum, never from the request
+            sql.append(field.getColumn()).append(" = ?, ");
+            args.add(patch.get(field));
+            types.add(sqlType(field));
+        }
+        sql.append("version = version + 1 WHERE id = ?");
+        args.add(id);
+        types.add(Types.BIGINT);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+            types.add(Types.BIGINT);
+        }
+        int[] argTypes = new int[types.size()];
+        for (int i = 0; i < argTypes.length; i++) {
+            argTypes[i] = types.get(i);
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray(), argTypes);
+    }
+
+    /**
+     * Reads and locks every employee of a manager, before the team is deleted or moved
+     * @param managerId The manager whose team is read
+     * @return Detached employees with the columns change events carry, in ID order
+     */
+    public List<Employee> findTeamForUpdate(Long managerId) {
+        return jdbcTemplate.query("SELECT id, first_name, last_name, email, position, salary, manager_id, version "
+                        + "FROM employees WHERE manager_id = ? ORDER BY id FOR UPDATE",
+                (rs, rowNum) -> {
+                    Employee employee = new Employee();
+                    employee.setId(rs.getLong(1));
+                    employee.setFirstName(rs.getString(2));
+                    employee.setLastName(rs.getString(3));
+                    employee.setEmail(rs.getString(4));
+                    employee.setPosition(rs.getString(5));
+                    employee.setSalary(rs.getObject(6, Double.class));
+                    employee.setManagerId(rs.getObject(7, Long.class));
+                    employee.setVersion(rs.getLong(8));
+                    return employee;
+                },
+                managerId);
+    }
+
+    /**
+     * Deletes every employee of a manager with a single DELETE
+     * @param managerId The manager whose team is deleted
+     * @return Number of deleted employees
+     */
+    public int deleteTeam(Long managerId) {
+        return jdbcTemplate.update("DELETE FROM employees WHERE manager_id = ?", managerId);
+    }
+
+    /**
+     * Moves every employee of a manager to another manager with a single UPDATE
+     * and increments the version of every moved row
+     * @param managerId The current manager
+     * @param newManagerId The manager taking over the team
+     * @return Number of moved employees
+     */
+    public int reassignTeam(Long managerId, Long newManagerId) {
+        return jdbcTemplate.update("UPDATE employees SET manager_id = ?, version = version + 1 WHERE manager_id = ?",
+                newManagerId, managerId);
+    }
+
+    /**
+     * Counts and sums the salaries a salary adjustment would change, without changing them.
+     * The name pattern is ignored: it is not evaluated by the database.
+     * @param adjustment The eligibility rule and the adjustment
+     * @return Matching rows with their salary totals before and after the adjustment
+     */
+    public AdjustmentTotals previewSalaryAdjustment(SalaryAdjustmentRequest adjustment) {
+        SqlFilter filter = SqlFilter.of(adjustment);
+        List<Object> args = new ArrayList<>();
+        args.add(adjustmentArgument(adjustment));
+        args.addAll(filter.args);
+        return jdbcTemplate.queryForObject("SELECT COUNT(*), SUM(salary), SUM(" + adjustedSalarySql(adjustment)
+                        + ") FROM employees WHERE " + filter.where,
+                (rs, rowNum) -> new AdjustmentTotals(rs.getLong(1), rs.getDouble(2), rs.getDouble(3)),
+                args.toArray());
+    }
+
+    /**
+     * Applies a salary adjustment with a single UPDATE and increments the version of every changed row.
+     * The name pattern is ignored: it is not evaluated by the database.
+     * @param adjustment The eligibility rule and the adjustment
+     * @return Number of updated rows
+     */
+    public int adjustSalaries(SalaryAdjustmentRequest adjustment) {
+        SqlFilter filter = SqlFilter.of(adjustment);
+        List<Object> args = new ArrayList<>();
+        args.add(adjustmentArgument(adjustment));
+        args.addAll(filter.args);
+        return jdbcTemplate.update("UPDATE employees SET salary = " + adjustedSalarySql(adjustment)
+                + ", version = version + 1 WHERE " + filter.where, args.toArray());
+    }
+
+    /**
+     * Reads the next chunk of rows matching the database part of a salary adjustment rule, in ID
+     * order, without locking them
+     * @param adjustment The eligibility rule
+     * @param afterId Only rows with a greater ID are read
+     * @param limit Maximum number of rows
+     * @return Detached employees with ID, names and salary
+     */
+    public List<Employee> findAdjustmentCandidates(SalaryAdjustmentRequest adjustment, long afterId, int limit) {
+        SqlFilter filter = SqlFilter.of(adjustment);
+        List<Object> args = new ArrayList<>(filter.args);
+        args.add(afterId);
+        args.add(limit);
+        return jdbcTemplate.query("SELECT id, first_name, last_name, salary FROM employees WHERE " + filter.where
+                        + " AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> {
+                    Employee employee = new Employee();
+                    employee.setId(rs.getLong(1));
+                    employee.setFirstName(rs.getString(2));
+                    employee.setLastName(rs.getString(3));
+                    employee.setSalary(rs.getDouble(4));
+                    return employee;
+                },
+                args.toArray());
+    }
+
+    /**
+     * Reads and locks the given rows that still match the database part of a salary adjustment rule
+     * @param adjustment The eligibility rule
+     * @param ids The rows to lock
+     * @return Detached employees with the columns change events carry, in ID order
+     */
+    public List<Employee> lockAdjustmentRows(SalaryAdjustmentRequest adjustment, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        SqlFilter filter = SqlFilter.of(adjustment);
+        List<Object> args = new ArrayList<>(filter.args);
+        args.addAll(ids);
+        return jdbcTemplate.query("SELECT id, first_name, last_name, email, position, salary, manager_id, version FROM employees WHERE "
+                        + filter.where + " AND id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?"))
+                        + ") ORDER BY id FOR UPDATE",
+                (rs, rowNum) -> {
+                    Employee employee = new Employee();
+                    employee.setId(rs.getLong(1));
+                    employee.setFirstName(rs.getString(2));
+                    employee.setLastName(rs.getString(3));
+                    employee.setEmail(rs.getString(4));
+                    employee.setPosition(rs.getString(5));
+                    employee.setSalary(rs.getDouble(6));
+                    employee.setManagerId(rs.getObject(7, Long.class));
+                    employee.setVersion(rs.getLong(8));
+                    return employee;
+                },
+                args.toArray());
+    }
+
+    /**
+     * Writes new salaries with JDBC batches and increments the version of every changed row
+     * @param employees Employees carrying their ID and new salary
+     */
+    public void updateSalaries(List<Employee> employees) {
+        jdbcTemplate.batchUpdate("UPDATE employees SET salary = ?, version = version + 1 WHERE id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setDouble(1, employees.get(i).getSalary());
+                        statement.setLong(2, employees.get(i).getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return employees.size();
+                    }
+                });
+    }
+
+    // Same arithmetic as SalaryAdjustmentType.apply: rounded to cents, never below zero
+    private static String adjustedSalarySql(SalaryAdjustmentRequest adjustment) {
+        switch (adjustment.getType()) {
+            case PERCENT:
+                return "GREATEST(ROUND(salary * ?, 2), 0)";
+            case AMOUNT:
+                return "GREATEST(ROUND(salary + ?, 2), 0)";
+            default:
+                return "GREATEST(ROUND(?, 2), 0)";
+        }
+    }
+
+    private static double adjustmentArgument(SalaryAdjustmentRequest adjustment) {
+        switch (adjustment.getType()) {
+            case PERCENT:
+                return 1 + adjustment.getValue() / 100;
+            default:
+                return adjustment.getValue();
+        }
+    }
+
+    /**
+     * Row count and salary totals of a salary adjustment preview
+     */
+    public static final class AdjustmentTotals {
+        private final long count;
+        private final double totalBefore;
+        private final double totalAfter;
+
+        private AdjustmentTotals(long count, double totalBefore, double totalAfter) {
+            this.count = count;
+            this.totalBefore = totalBefore;
+            this.totalAfter = totalAfter;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getTotalBefore() {
+            return totalBefore;
+        }
+
+        public double getTotalAfter() {
+            return totalAfter;
+        }
+    }
+
+    /**
+     * WHERE clause and arguments compiled from the database part of a salary adjustment rule
+     */
+    private static final class SqlFilter {
+        // Escape character for LIKE patterns, the same in MySQL and H2
+        private static final char LIKE_ESCAPE = '!';
+
+        private final String where;
+        private final List<Object> args;
+
+        private SqlFilter(String where, List<Object> args) {
+            this.where = where;
+            this.args = args;
+        }
+
+        private static SqlFilter of(SalaryAdjustmentRequest rule) {
+            StringBuilder where = new StringBuilder("salary IS NOT NULL");
+            List<Object> args = new ArrayList<>();
+            if (rule.getPositionContains() != null) {
+                where.append(" AND LOWER(position) LIKE ? ESCAPE '").append(LIKE_ESCAPE).append('\'');
+                args.add("%" + escapeLike(rule.getPositionContains().toLowerCase(Locale.ROOT)) + "%");
+            }
+            if (rule.getMinSalary() != null) {
+                where.append(" AND salary >= ?");
+                args.add(rule.getMinSalary());
+            }
+            if (rule.getMaxSalary() != null) {
+                where.append(" AND salary <= ?");
+                args.add(rule.getMaxSalary());
+            }
+            if (rule.getManagerId() != null) {
+                where.append(" AND manager_id = ?");
+                args.add(rule.getManagerId());
+            }
+            return new SqlFilter(where.toString(), args);
+        }
+
+        private static String escapeLike(String value) {
+            StringBuilder escaped = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                    escaped.append(LIKE_ESCAPE);
+                }
+                escaped.append(c);
+            }
+            return escaped.toString();
+        }
+    }
+
+    private static int sqlType(EmployeePatch.Field field) {
+        switch (field) {
+            case SALARY:
+                return Types.DOUBLE;
+            case MANAGER_ID:
+                return Types.BIGINT;
+            default:
+                return Types.VARCHAR;
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Employee employee) throws SQLException {
+        statement.setString(1, employee.getFirstName());
+        statement.setString(2, employee.getLastName());
+        statement.setString(3, employee.getEmail());
+        statement.setString(4, employee.getPhoneNumber());
+        statement.setString(5, employee.getPosition());
+        if (employee.getSalary() != null) {
+            statement.setDouble(6, employee.getSalary());
+        } else {
+            statement.setNull(6, Types.DOUBLE);
+        }
+        if (employee.getManagerId() != null) {
+            statement.setLong(7, employee.getManagerId());
+        } else {
+            statement.setNull(7, Types.BIGINT);
+        }
+    }
+
+    private static void executeBatch(PreparedStatement statement, List<Long> ids) throws SQLException {
+        statement.executeBatch();
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getLong(1));
+            }
+        }
+    }
+}
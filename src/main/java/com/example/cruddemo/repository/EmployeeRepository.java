@@ -1,16 +1,29 @@
 package com.example.cruddemo.repository;
 
 import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeeName;
+import com.example.cruddemo.model.EmployeeSalary;
 import com.example.cruddemo.model.Manager;
+import com.example.cruddemo.model.SalaryAggregate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    // JDBC fetch size for the export cursor (MySQL needs useCursorFetch=true to honor it)
+    String EXPORT_FETCH_SIZE = "1000";
+
     // Existing methods
     List<Employee> findByPosition(String position);
     
@@ -28,4 +41,104 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByManager(Manager manager);
 
     List<Employee> findByLastName(String lastName);
+
+    // Keyset pagination queries. Each one seeks past the (value, id) of the last row
+    // of the previous page, so deep pages cost the same as the first one.
+    // Pageable is only used to apply the LIMIT.
+
+    @Query("FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<Employee> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("FROM Employee e WHERE e.lastName >= :lastName AND (e.lastName > :lastName OR e.id > :afterId) "
+            + "ORDER BY e.lastName, e.id")
+    List<Employee> findPageOrderByLastName(@Param("lastName") String lastName,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // Employees without a salary sort first, so they are paged before the salary range
+    @Query("FROM Employee e WHERE e.salary IS NULL AND e.id > :afterId ORDER BY e.id")
+    List<Employee> findPageWithoutSalary(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("FROM Employee e WHERE e.salary >= :salary AND (e.salary > :salary OR e.id > :afterId) "
+            + "ORDER BY e.salary, e.id")
+    List<Employee> findPageOrderBySalary(@Param("salary") Double salary,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    // Server-side cursor over the whole table for streaming exports.
+    // Must be consumed inside a transaction and closed after use.
+    @QueryHints({
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+        @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAllOrderById();
+
+    // Payroll aggregates computed by the database. NULL salaries are skipped by
+    // SUM/AVG/MIN/MAX but still counted in the headcount.
+
+    @Query("SELECT new com.example.cruddemo.model.SalaryAggregate("
+            + "COUNT(e), COUNT(e.salary), SUM(e.salary), AVG(e.salary), MIN(e.salary), MAX(e.salary)) "
+            + "FROM Employee e")
+    SalaryAggregate aggregateSalaries();
+
+    @Query("SELECT new com.example.cruddemo.model.SalaryAggregate(e.position, "
+            + "COUNT(e), COUNT(e.salary), SUM(e.salary), AVG(e.salary), MIN(e.salary), MAX(e.salary)) "
+            + "FROM Employee e GROUP BY e.position ORDER BY e.position")
+    List<SalaryAggregate> aggregateSalariesByPosition();
+
+    @Query("SELECT new com.example.cruddemo.model.SalaryAggregate(e.managerId, "
+            + "COUNT(e), COUNT(e.salary), SUM(e.salary), AVG(e.salary), MIN(e.salary), MAX(e.salary)) "
+            + "FROM Employee e GROUP BY e.managerId ORDER BY e.managerId")
+    List<SalaryAggregate> aggregateSalariesByManager();
+
+    // Rows for the in-memory salary index: id, salary, first name, last name, version.
+    // Employees without a salary are not indexed but their versions are
+    @Query("SELECT e.id, e.salary, e.firstName, e.lastName, e.version FROM Employee e")
+    List<Object[]> findSalaryIndexRows();
+
+    // Index-backed fallbacks used while the salary index is loading
+    Optional<Employee> findFirstBySalaryIsNotNullOrderBySalaryDescIdDesc();
+
+    @Query("SELECT new com.example.cruddemo.model.EmployeeSalary(e.id, CONCAT(e.firstName, ' ', e.lastName), e.salary) "
+            + "FROM Employee e WHERE e.salary BETWEEN :minSalary AND :maxSalary ORDER BY e.salary, e.id")
+    List<EmployeeSalary> findSalaryRange(@Param("minSalary") Double minSalary, @Param("maxSalary") Double maxSalary,
+                                         Pageable pageable);
+
+    // Name-only projections: no entity hydration, no manager proxies, no dirty-checking snapshots
+    @Query("SELECT CONCAT(e.firstName, ' ', e.lastName) FROM Employee e "
+            + "WHERE e.salary > :salaryThreshold ORDER BY e.salary DESC, e.id DESC")
+    List<String> findNamesBySalaryGreaterThan(@Param("salaryThreshold") Double salaryThreshold);
+
+    @Query("SELECT CONCAT(e.firstName, ' ', e.lastName) FROM Employee e WHERE e.manager.id = :managerId ORDER BY e.id")
+    List<String> findNamesByManagerId(@Param("managerId") Long managerId);
+
+    // Keyset page of a manager's team in ID order
+    @Query("SELECT new com.example.cruddemo.model.EmployeeName(e.id, CONCAT(e.firstName, ' ', e.lastName)) "
+            + "FROM Employee e WHERE e.manager.id = :managerId AND e.id > :afterId ORDER BY e.id")
+    List<EmployeeName> findNamePageByManagerId(@Param("managerId") Long managerId, @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    // Rows for the in-memory email index: email, id, version
+    @Query("SELECT e.email, e.id, e.version FROM Employee e WHERE e.email IS NOT NULL")
+    List<Object[]> findEmailIndexRows();
+
+    // Rows for the in-memory name search index: id, first name, last name, email, version
+    @Query("SELECT e.id, e.firstName, e.lastName, e.email, e.version FROM Employee e")
+    List<Object[]> findSearchIndexRows();
+
+    // Prefix search used while the name search index is loading; '%', '_' and '!' in the prefix
+    // pattern are escaped with '!'
+    @Query("SELECT new com.example.cruddemo.model.EmployeeName(e.id, CONCAT(e.firstName, ' ', e.lastName)) "
+            + "FROM Employee e WHERE LOWER(e.firstName) LIKE :prefix ESCAPE '!' OR LOWER(e.lastName) LIKE :prefix ESCAPE '!' "
+            + "OR LOWER(e.email) LIKE :prefix ESCAPE '!' ORDER BY e.id")
+    List<EmployeeName> findNamesByPrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    boolean existsByEmail(String email);
+
+    // Emails out of the given normalized ones that are already stored, in any case: the column
+    // compares case-insensitively (MySQL collation, IGNORECASE on H2), so the unique index is used
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -1,10 +1,28 @@
 package com.example.cruddemo.repository;
 
 import com.example.cruddemo.model.Manager;
+import com.example.cruddemo.model.ManagerSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ManagerRepository extends JpaRepository<Manager, Long> {
-    // No additional methods needed, using standard JpaRepository methods
+
+    // Team payroll per manager: one LEFT JOIN grouped by manager, seeking past the last manager ID
+    @Query("SELECT new com.example.cruddemo.model.ManagerSummary(m.id, m.firstName, m.lastName, m.email, "
+            + "COUNT(e.id), SUM(e.salary), AVG(e.salary), MIN(e.salary), MAX(e.salary)) "
+            + "FROM Manager m LEFT JOIN m.employees e WHERE m.id > :afterId "
+            + "GROUP BY m.id, m.firstName, m.lastName, m.email ORDER BY m.id")
+    List<ManagerSummary> findSummaryPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Bulk delete of the manager row only: the cascade to Manager.employees is not applied
+    @Modifying
+    @Query("DELETE FROM Manager m WHERE m.id = :id")
+    int deleteRowById(@Param("id") Long id);
 }
@@ -0,0 +1,49 @@
+package com.example.cruddemo.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to the table change versions.
+ * Runs on the connection of the surrounding Spring transaction.
+ */
+@Repository
+public class TableVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor-based dependency injection
+     * @param jdbcTemplate The JDBC template bound to the application data source
+     */
+    @Autowired
+    public TableVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Increments the version of a table, creating its row on the first change
+     * @param tableName The changed table
+     * @param initialVersion The version of a newly created row
+     */
+    public void increment(String tableName, long initialVersion) {
+        jdbcTemplate.update("INSERT INTO table_versions (table_name, version) VALUES (?, ?) "
+                + "ON DUPLICATE KEY UPDATE version = version + 1", tableName, initialVersion);
+    }
+
+    /**
+     * @return Version by table name, for the tables that have changed at least once
+     */
+    public Map<String, Long> findAll() {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT table_name, version FROM table_versions",
+                rs -> {
+                    versions.put(rs.getString(1), rs.getLong(2));
+                });
+        return versions;
+    }
+}
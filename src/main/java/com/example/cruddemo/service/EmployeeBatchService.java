@@ -0,0 +1,12 @@
+package com.example.cruddemo.service;
+
+import com.example.cruddemo.model.BatchCreateResponse;
+import com.example.cruddemo.model.Employee;
+
+import java.util.List;
+
+public interface EmployeeBatchService {
+
+    // Validate and insert many employees in one transaction
+    BatchCreateResponse createEmployees(List<Employee> employees);
+}
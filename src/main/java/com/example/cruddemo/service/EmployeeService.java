@@ -1,19 +1,36 @@
 package com.example.cruddemo.service;
 
+import com.example.cruddemo.model.CursorPage;
 import com.example.cruddemo.model.Employee;
-
+import com.example.cruddemo.model.EmployeeExportFormat;
+import com.example.cruddemo.model.EmployeeName;
+import com.example.cruddemo.model.EmployeePatch;
+import com.example.cruddemo.model.EmployeeSalary;
+import com.example.cruddemo.model.EmployeeSortKey;
+import com.example.cruddemo.model.SearchIndexStats;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeService {
     
     List<Employee> getAllEmployees();
+
+    CursorPage<Employee> getEmployeePage(String after, Integer limit, EmployeeSortKey sortKey);
+
+    long exportEmployees(EmployeeExportFormat format, OutputStream out) throws IOException;
     
     Optional<Employee> getEmployeeById(Long id);
     
     Employee createEmployee(Employee employee);
     
     Employee updateEmployee(Long id, Employee employeeDetails);
+
+    Employee updateEmployee(Long id, Employee employeeDetails, Long expectedVersion);
+
+    Long patchEmployee(Long id, EmployeePatch patch, Long expectedVersion);
     
     void deleteEmployee(Long id);
     
@@ -28,9 +45,17 @@ public interface EmployeeService {
 
     Optional<Employee> findHighestPaidEmployee();
 
+    List<EmployeeSalary> findEmployeesInSalaryRange(Double minSalary, Double maxSalary, Integer limit);
+
     Employee updateEmployeeSalaryAndPosition(Long employeeId, Double newSalary, String newPosition);
 
     List<String> findEmployeesUnderManager(Long managerId);
 
+    CursorPage<EmployeeName> findEmployeesUnderManager(Long managerId, String after, Integer limit);
+
+    List<EmployeeName> searchEmployees(String query, Integer limit);
+
+    SearchIndexStats getSearchIndexStats();
+
     Double calculateTotalSalary();
 }
@@ -1,6 +1,8 @@
 package com.example.cruddemo.service;
 
+import com.example.cruddemo.model.CursorPage;
 import com.example.cruddemo.model.Manager;
+import com.example.cruddemo.model.ManagerSummary;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,9 +17,15 @@ public interface ManagerService {
     // Update manager
     Manager updateManager(Long id, Manager managerDetails);
 
-    // Delete manager
+    // Delete manager together with their team
     void deleteManager(Long id);
 
+    // Delete manager; the team moves to reassignToId, or is deleted when it is null
+    int deleteManager(Long id, Long reassignToId);
+
     // Get all managers
     List<Manager> getAllManagers();
+
+    // Get one page of managers with their team headcount and salary aggregates, ordered by ID
+    CursorPage<ManagerSummary> getManagerSummaries(String after, Integer limit);
 }
@@ -0,0 +1,23 @@
+package com.example.cruddemo.service;
+
+import com.example.cruddemo.model.PayrollConsistencyReport;
+import com.example.cruddemo.model.PayrollGrouping;
+import com.example.cruddemo.model.PayrollTotal;
+import com.example.cruddemo.model.SalaryAggregate;
+
+import java.util.List;
+
+public interface PayrollAggregateService {
+
+    // Total salary from the running totals, O(1)
+    Double getTotalSalary();
+
+    // Total salary with the running totals version it was read from, for conditional GETs
+    PayrollTotal getTotalSalarySnapshot();
+
+    // SUM/COUNT/AVG/MIN/MAX computed by the database
+    List<SalaryAggregate> getSalaryAggregates(PayrollGrouping grouping);
+
+    // Compare the running totals with the database, optionally resetting them
+    PayrollConsistencyReport checkConsistency(boolean repair);
+}
@@ -0,0 +1,10 @@
+package com.example.cruddemo.service;
+
+import com.example.cruddemo.model.SalaryAdjustmentRequest;
+import com.example.cruddemo.model.SalaryAdjustmentResult;
+
+public interface SalaryAdjustmentService {
+
+    // Apply a salary adjustment with set-based SQL where possible, or report what it would change
+    SalaryAdjustmentResult adjustSalaries(SalaryAdjustmentRequest adjustment, boolean dryRun);
+}
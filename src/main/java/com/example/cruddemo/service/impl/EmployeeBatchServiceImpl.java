@@ -0,0 +1,185 @@
+package com.example.cruddemo.service.impl;
+
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.exception.BadRequestException;
+import com.example.cruddemo.index.EmailIndex;
+import com.example.cruddemo.model.BatchCreateResponse;
+import com.example.cruddemo.model.BatchRowResult;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.repository.EmployeeJdbcRepository;
+import com.example.cruddemo.repository.EmployeeRepository;
+import com.example.cruddemo.service.EmployeeBatchService;
+import com.example.cruddemo.util.AppLogger;
+import com.example.cruddemo.validation.EmployeeValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation of the EmployeeBatchService interface.
+ * Rows are validated in parallel, checked against the database with a few set-based
+ * queries and inserted with JDBC batches inside one transaction. Invalid rows are
+ * reported per row and do not stop the valid ones.
+ */
+@Service
+public class EmployeeBatchServiceImpl implements EmployeeBatchService {
+
+    // Number of emails per IN (...) lookup
+    private static final int EMAIL_LOOKUP_CHUNK = 1000;
+
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeValidator employeeValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmailIndex emailIndex;
+
+    // Rows sent per JDBC batch
+    @Value("${app.batch.insert-size:500}")
+    private int insertBatchSize;
+
+    // Maximum rows accepted per request
+    @Value("${app.batch.max-rows:10000}")
+    private int maxRows;
+
+    /**
+     * Constructor-based dependency injection
+     * @param employeeJdbcRepository The JDBC repository for batched inserts
+     * @param employeeRepository The repository for employee lookups
+     * @param employeeValidator The validation rules for employee writes
+     * @param eventPublisher The publisher for employee change events
+     * @param emailIndex The in-memory email index
+     */
+    @Autowired
+    public EmployeeBatchServiceImpl(EmployeeJdbcRepository employeeJdbcRepository, EmployeeRepository employeeRepository,
+                                    EmployeeValidator employeeValidator,
+                                    ApplicationEventPublisher eventPublisher, EmailIndex emailIndex) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.employeeRepository = employeeRepository;
+        this.employeeValidator = employeeValidator;
+        this.eventPublisher = eventPublisher;
+        this.emailIndex = emailIndex;
+    }
+
+    /**
+     * Creates many employees in one transaction
+     * @param employees The employees to create
+     * @return Per-row results with the generated IDs
+     * @throws BadRequestException if the request is empty or too large
+     */
+    @Override
+    @Transactional
+    public BatchCreateResponse createEmployees(List<Employee> employees) {
+        if (employees == null || employees.isEmpty()) {
+            throw new BadRequestException("At least one employee is required");
+        }
+        if (employees.size() > maxRows) {
+            throw new BadRequestException("A batch can contain at most " + maxRows + " employees");
+        }
+        AppLogger.log1Info("Service: Creating batch of {} employees", employees.size());
+
+        // Row validation has no shared state, so it can run in parallel
+        List<Map<String, String>> errors = IntStream.range(0, employees.size())
+                .parallel()
+                .mapToObj(i -> validateRow(employees.get(i)))
+                .collect(Collectors.toList());
+        rejectDuplicateEmails(employees, errors);
+        employeeValidator.checkManagers(employees, errors);
+
+        List<Employee> accepted = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            if (errors.get(i).isEmpty()) {
+                accepted.add(employees.get(i));
+            }
+        }
+
+        List<Long> ids = accepted.isEmpty()
+                ? new ArrayList<>()
+                : employeeJdbcRepository.batchInsert(accepted, insertBatchSize);
+
+        List<BatchRowResult> results = new ArrayList<>(employees.size());
+        List<EmployeeSnapshot> created = new ArrayList<>(accepted.size());
+        int next = 0;
+        for (int i = 0; i < employees.size(); i++) {
+            if (!errors.get(i).isEmpty()) {
+                results.add(BatchRowResult.rejected(i, errors.get(i)));
+                continue;
+            }
+            Employee employee = employees.get(i);
+            employee.setId(ids.get(next++));
+            // Inserted with the column default
+            employee.setVersion(0L);
+            created.add(EmployeeSnapshot.of(employee));
+            results.add(BatchRowResult.created(i, employee.getId()));
+        }
+        eventPublisher.publishEvent(EmployeeChangeEvent.createdAll(created));
+
+        AppLogger.log2Info("Service: Batch created {} employees, rejected {}",
+                created.size(), employees.size() - created.size());
+        return new BatchCreateResponse(created.size(), employees.size() - created.size(), results);
+    }
+
+    /**
+     * Checks the fields of one row
+     * @param employee The row to validate
+     * @return Field name to error message, empty when valid
+     */
+    private Map<String, String> validateRow(Employee employee) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        employeeValidator.checkFields(employee, EmployeeValidator.Mode.FULL, errors);
+        return errors;
+    }
+
+    /**
+     * Rejects emails repeated within the batch or already stored
+     */
+    private void rejectDuplicateEmails(List<Employee> employees, List<Map<String, String>> errors) {
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            if (!errors.get(i).isEmpty()) {
+                continue;
+            }
+            String email = EmailIndex.normalize(employees.get(i).getEmail());
+            Integer firstRow = firstRowByEmail.putIfAbsent(email, i);
+            if (firstRow != null) {
+                errors.get(i).put("email", "Email is duplicated in row " + firstRow);
+            }
+        }
+
+        // The email index settles most emails; only uncertain ones are looked up
+        Set<String> existing = new HashSet<>();
+        List<String> emails = new ArrayList<>();
+        for (String email : firstRowByEmail.keySet()) {
+            EmailIndex.Presence presence = emailIndex.lookup(email);
+            if (presence == EmailIndex.Presence.PRESENT) {
+                existing.add(email);
+            } else if (presence == EmailIndex.Presence.MAYBE) {
+                emails.add(email);
+            }
+        }
+        for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK) {
+            List<String> chunk = emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK, emails.size()));
+            for (String email : employeeRepository.findExistingEmails(chunk)) {
+                existing.add(EmailIndex.normalize(email));
+            }
+        }
+        for (String email : existing) {
+            Integer row = firstRowByEmail.get(email);
+            if (row != null) {
+                errors.get(row).put("email", "Email already exists");
+            }
+        }
+    }
+}
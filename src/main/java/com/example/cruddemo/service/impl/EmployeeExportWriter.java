@@ -0,0 +1,169 @@
+package com.example.cruddemo.service.impl;
+
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeeExportFormat;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes employees one row at a time to an output stream.
+ * Only the flat columns of the employees table are written (the manager is exported as its ID),
+ * so no lazy association is ever initialized and no object tree is built per row.
+ */
+abstract class EmployeeExportWriter implements Closeable {
+
+    /**
+     * Creates a writer for the requested format
+     * @param format The export format
+     * @param out The response output stream
+     * @param jsonFactory Factory for the NDJSON generator
+     * @return The row writer
+     * @throws IOException if the writer cannot be created
+     */
+    static EmployeeExportWriter create(EmployeeExportFormat format, OutputStream out, JsonFactory jsonFactory)
+            throws IOException {
+        if (format == EmployeeExportFormat.CSV) {
+            return new CsvWriter(out);
+        }
+        return new NdjsonWriter(out, jsonFactory);
+    }
+
+    abstract void writeHeader() throws IOException;
+
+    abstract void writeRow(Employee employee) throws IOException;
+
+    abstract void flush() throws IOException;
+
+    /**
+     * One JSON object per line
+     */
+    private static final class NdjsonWriter extends EmployeeExportWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out, JsonFactory jsonFactory) throws IOException {
+            this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+            // Keep the response open between rows and let the caller close it
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newline written after each object
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeHeader() {
+            // NDJSON has no header
+        }
+
+        @Override
+        void writeRow(Employee employee) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", employee.getId());
+            generator.writeStringField("firstName", employee.getFirstName());
+            generator.writeStringField("lastName", employee.getLastName());
+            generator.writeStringField("email", employee.getEmail());
+            generator.writeStringField("phoneNumber", employee.getPhoneNumber());
+            generator.writeStringField("position", employee.getPosition());
+            if (employee.getSalary() != null) {
+                generator.writeNumberField("salary", employee.getSalary());
+            } else {
+                generator.writeNullField("salary");
+            }
+            Long managerId = employee.getManagerId();
+            if (managerId != null) {
+                generator.writeNumberField("managerId", managerId);
+            } else {
+                generator.writeNullField("managerId");
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header line
+     */
+    private static final class CsvWriter extends EmployeeExportWriter {
+
+        private final BufferedWriter writer;
+
+        CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            writer.write("id,first_name,last_name,email,phone_number,position,salary,manager_id\r\n");
+        }
+
+        @Override
+        void writeRow(Employee employee) throws IOException {
+            writer.write(String.valueOf(employee.getId()));
+            writer.write(',');
+            writeField(employee.getFirstName());
+            writer.write(',');
+            writeField(employee.getLastName());
+            writer.write(',');
+            writeField(employee.getEmail());
+            writer.write(',');
+            writeField(employee.getPhoneNumber());
+            writer.write(',');
+            writeField(employee.getPosition());
+            writer.write(',');
+            if (employee.getSalary() != null) {
+                writer.write(employee.getSalary().toString());
+            }
+            writer.write(',');
+            Long managerId = employee.getManagerId();
+            if (managerId != null) {
+                writer.write(managerId.toString());
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean needsQuotes = false;
+            for (int i = 0; i < value.length() && !needsQuotes; i++) {
+                char c = value.charAt(i);
+                needsQuotes = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!needsQuotes) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
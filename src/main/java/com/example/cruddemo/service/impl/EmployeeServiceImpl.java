@@ -1,43 +1,72 @@
 package com.example.cruddemo.service.impl;
 
+import com.example.cruddemo.concurrent.OptimisticRetryTemplate;
+import com.example.cruddemo.config.CacheConfig;
+import com.example.cruddemo.datasource.PrimaryStickiness;
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.exception.BadRequestException;
+import com.example.cruddemo.exception.DuplicateResourceException;
+import com.example.cruddemo.exception.PreconditionFailedException;
 import com.example.cruddemo.exception.ResourceNotFoundException;
+import com.example.cruddemo.exception.UpdateConflictException;
+import com.example.cruddemo.exception.ValidationFailedException;
+import com.example.cruddemo.index.EmailIndex;
+import com.example.cruddemo.index.NameSearchIndex;
+import com.example.cruddemo.index.SalaryIndex;
+import com.example.cruddemo.mapping.MapperRegistry;
+import com.example.cruddemo.model.CursorPage;
 import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeeCursor;
+import com.example.cruddemo.model.EmployeeExportFormat;
+import com.example.cruddemo.model.EmployeeName;
+import com.example.cruddemo.model.EmployeePatch;
+import com.example.cruddemo.model.EmployeeSalary;
+import com.example.cruddemo.model.EmployeeSortKey;
 import com.example.cruddemo.model.Manager;
+import com.example.cruddemo.model.SearchIndexStats;
+import com.example.cruddemo.repository.EmployeeJdbcRepository;
 import com.example.cruddemo.repository.EmployeeRepository;
 import com.example.cruddemo.repository.ManagerRepository;
 import com.example.cruddemo.service.EmployeeService;
+import com.example.cruddemo.service.PayrollAggregateService;
 import com.example.cruddemo.util.AppLogger;
+import com.example.cruddemo.validation.EmployeeValidator;
+import com.fasterxml.jackson.core.JsonFactory;
 import lombok.extern.slf4j.Slf4j;
 
+import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.TransactionException;
 import org.hibernate.exception.LockAcquisitionException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.QueryHints;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
-import javax.persistence.LockModeType;
 import javax.persistence.ParameterMode;
 import javax.persistence.StoredProcedureQuery;
 import javax.validation.ValidationException;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.sql.SQLException;
-import java.util.Comparator;
-import java.util.ConcurrentModificationException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the EmployeeService interface.
@@ -55,22 +84,94 @@ public class EmployeeServiceImpl implements EmployeeService {
     
     // Manager repository for manager updates
     private final ManagerRepository managerRepository;
-    
+
+    // Running payroll totals
+    private final PayrollAggregateService payrollAggregateService;
+
+    // Publishes employee change events for in-memory aggregates and indexes
+    private final ApplicationEventPublisher eventPublisher;
+
+    // In-memory salary index for salary queries
+    private final SalaryIndex salaryIndex;
+
+    // Cached mapping plans for query results
+    private final MapperRegistry mapperRegistry;
+
+    // In-memory email index for lookups and uniqueness checks
+    private final EmailIndex emailIndex;
+
+    // Validation rules for creates and updates
+    private final EmployeeValidator employeeValidator;
+
+    // Retry policy for updates that collide with a concurrent update
+    private final OptimisticRetryTemplate optimisticRetryTemplate;
+
+    // Plain JDBC access for single-statement partial updates
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+
+    // In-memory trigram index for type-ahead name and email search
+    private final NameSearchIndex nameSearchIndex;
+
     // Hibernate session for stored procedure calls
     @Autowired
     private Session session;
 
+    // Page size used when the client does not ask for one
+    @Value("${app.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    // Server-side upper bound for a single page
+    @Value("${app.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    // Type-ahead results returned when the client does not ask for a number
+    @Value("${app.search.default-limit:10}")
+    private int defaultSearchLimit;
+
+    // Server-side upper bound for type-ahead results
+    @Value("${app.search.max-results:50}")
+    private int maxSearchResults;
+
+    // Rows written between persistence context clears during exports
+    @Value("${app.export.clear-interval:500}")
+    private int exportClearInterval;
+
+    // Shared, thread-safe factory for the NDJSON export generator
+    private static final JsonFactory EXPORT_JSON_FACTORY = new JsonFactory();
+
     /**
      * Constructor-based dependency injection
      * @param employeeRepository The repository for employee data access
      * @param entityManager The entity manager for stored procedure execution
      * @param managerRepository The repository for manager data access
+     * @param payrollAggregateService The service maintaining payroll totals
+     * @param eventPublisher The publisher for employee change events
+     * @param salaryIndex The in-memory salary index
+     * @param mapperRegistry The registry of cached mapping plans
+     * @param emailIndex The in-memory email index
+     * @param employeeValidator The validation rules for employee writes
+     * @param optimisticRetryTemplate The retry policy for conflicting updates
+     * @param employeeJdbcRepository The JDBC repository for in-place partial updates
+     * @param nameSearchIndex The in-memory name search index
      */
     @Autowired
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager, ManagerRepository managerRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager, ManagerRepository managerRepository,
+                               PayrollAggregateService payrollAggregateService, ApplicationEventPublisher eventPublisher,
+                               SalaryIndex salaryIndex, MapperRegistry mapperRegistry, EmailIndex emailIndex,
+                               EmployeeValidator employeeValidator, OptimisticRetryTemplate optimisticRetryTemplate,
+                               EmployeeJdbcRepository employeeJdbcRepository, NameSearchIndex nameSearchIndex) {
         this.employeeRepository = employeeRepository;
         this.entityManager = entityManager;
         this.managerRepository = managerRepository;
+        this.payrollAggregateService = payrollAggregateService;
+        this.eventPublisher = eventPublisher;
+        this.salaryIndex = salaryIndex;
+        this.mapperRegistry = mapperRegistry;
+        this.emailIndex = emailIndex;
+        this.employeeValidator = employeeValidator;
+        this.optimisticRetryTemplate = optimisticRetryTemplate;
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.nameSearchIndex = nameSearchIndex;
                 
         AppLogger.log1Info("EmployeeServiceImpl initialized with repository, entity manager, and manager repository");
     }
@@ -80,6 +181,7 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @return List of all employees
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         AppLogger.log1Info("Service: Getting all employees");
         List<Employee> employees = employeeRepository.findAll();
@@ -87,16 +189,162 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employees;
     }
 
+    /**
+     * Retrieves one page of employees using keyset (cursor) pagination
+     * @param after Continuation token from the previous page, or a raw employee ID for ID ordering
+     * @param limit Requested page size, capped at the configured maximum
+     * @param sortKey The index-backed sort key
+     * @return The page with the token for the next one
+     * @throws BadRequestException if the cursor or limit is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> getEmployeePage(String after, Integer limit, EmployeeSortKey sortKey) {
+        int pageSize = resolvePageSize(limit);
+        EmployeeCursor cursor = resolveCursor(after, sortKey);
+        AppLogger.log1Info("Service: Getting employee page sorted by {} with limit {}", sortKey, pageSize);
+
+        // Fetch one extra row to find out whether another page exists
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<Employee> rows;
+        switch (sortKey) {
+            case LAST_NAME:
+                rows = employeeRepository.findPageOrderByLastName(
+                        cursor != null ? cursor.getLastValue() : "",
+                        cursor != null ? cursor.getLastId() : 0L,
+                        window);
+                break;
+            case SALARY:
+                rows = findSalaryPage(cursor, window);
+                break;
+            default:
+                rows = employeeRepository.findPageOrderById(cursor != null ? cursor.getLastId() : 0L, window);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Employee> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore
+                ? EmployeeCursor.after(sortKey, items.get(items.size() - 1)).encode()
+                : null;
+
+        AppLogger.log2Info("Service: Returning {} employees, hasMore: {}", items.size(), hasMore);
+        return new CursorPage<>(new ArrayList<>(items), nextCursor, hasMore, pageSize, sortKey.getParameterName());
+    }
+
+    /**
+     * Reads a salary-ordered page: employees without a salary come first, then the salary range
+     * @param cursor The decoded cursor, null for the first page
+     * @param window Page window including the look-ahead row
+     * @return Up to window size rows in (salary, id) order
+     */
+    private List<Employee> findSalaryPage(EmployeeCursor cursor, Pageable window) {
+        if (cursor != null && cursor.getLastSalary() != null) {
+            return employeeRepository.findPageOrderBySalary(cursor.getLastSalary(), cursor.getLastId(), window);
+        }
+
+        List<Employee> rows = new ArrayList<>(
+                employeeRepository.findPageWithoutSalary(cursor != null ? cursor.getLastId() : 0L, window));
+        if (rows.size() < window.getPageSize()) {
+            // Top up the page from the start of the salary range
+            rows.addAll(employeeRepository.findPageOrderBySalary(
+                    -Double.MAX_VALUE, 0L, PageRequest.of(0, window.getPageSize() - rows.size())));
+        }
+        return rows;
+    }
+
+    /**
+     * Applies the default and maximum page size
+     * @param limit Requested page size, may be null
+     * @return Effective page size
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Page limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Decodes the continuation token, accepting a plain employee ID for ID ordering
+     * @param after The token or ID sent by the client, may be null
+     * @param sortKey The requested sort key
+     * @return The cursor, or null for the first page
+     */
+    private EmployeeCursor resolveCursor(String after, EmployeeSortKey sortKey) {
+        if (after == null || after.isBlank()) {
+            return null;
+        }
+        if (sortKey == EmployeeSortKey.ID && after.chars().allMatch(Character::isDigit)) {
+            try {
+                return new EmployeeCursor(EmployeeSortKey.ID, Long.valueOf(after), null);
+            } catch (NumberFormatException e) {
+                // Digits only, but beyond the range of an ID
+                throw new BadRequestException("Invalid cursor: " + after, e);
+            }
+        }
+        EmployeeCursor cursor;
+        try {
+            cursor = EmployeeCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + after, e);
+        }
+        if (cursor.getSortKey() != sortKey) {
+            throw new BadRequestException("Cursor was issued for sort key " + cursor.getSortKey().getParameterName()
+                    + " and cannot be used with " + sortKey.getParameterName());
+        }
+        return cursor;
+    }
+
+    /**
+     * Streams every employee to the output stream from a server-side cursor.
+     * The persistence context is cleared every few hundred rows, so memory use does not
+     * depend on the table size.
+     * @param format The output format
+     * @param out The stream to write to
+     * @return Number of exported rows
+     * @throws IOException if writing to the stream fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEmployees(EmployeeExportFormat format, OutputStream out) throws IOException {
+        AppLogger.log1Info("Service: Exporting employees as {}", format);
+        long rows = 0;
+
+        try (Stream<Employee> employees = employeeRepository.streamAllOrderById();
+             EmployeeExportWriter writer = EmployeeExportWriter.create(format, out, EXPORT_JSON_FACTORY)) {
+            writer.writeHeader();
+            for (Employee employee : (Iterable<Employee>) employees::iterator) {
+                writer.writeRow(employee);
+                rows++;
+                if (rows % exportClearInterval == 0) {
+                    // Push the chunk to the client and drop the exported entities from the session
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+            writer.flush();
+        }
+
+        AppLogger.log2Info("Service: Exported {} employees as {}", rows, format);
+        return rows;
+    }
+
     /**
      * Retrieves an employee by their ID
      * @param id The ID of the employee to retrieve
      * @return Optional containing the employee if found
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, unless = "#result == null")
     public Optional<Employee> getEmployeeById(Long id) {
-        AppLogger.log1Info("Service: Getting employee with ID: " + id);
-        Optional<Employee> employee = employeeRepository.findById(id);
+        AppLogger.log1Info("Service: Getting employee with ID: {}", id);
+        Optional<Employee> employee = PrimaryStickiness.onPrimary(() -> employeeRepository.findById(id));
         if (employee.isPresent()) {
+            initializeForCache(employee.get());
             AppLogger.log2Info("Service: Found employee: {}", employee.get().getEmail());
         } else {
             AppLogger.log2Info("Service: No employee found with id: {}", id);
@@ -117,7 +365,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         
         try {
             // Validate input
-            validateEmployeeInput(employee);
+            employeeValidator.validate(employee, EmployeeValidator.Mode.FULL);
+            rejectDuplicateEmail(employee.getEmail());
             //session.beginTransaction(); // This create error as shared entity manager
             
             StoredProcedureQuery query = session.createStoredProcedureQuery("sp_insert_employee", Employee.class)
@@ -145,9 +394,11 @@ public class EmployeeServiceImpl implements EmployeeService {
             Employee insertedEmployee = mapQueryResultToEntity(queryObject, Employee.class);
             //Employee insertedEmployee = (Employee) query.getSingleResult();
             
+            eventPublisher.publishEvent(EmployeeChangeEvent.created(EmployeeSnapshot.of(insertedEmployee)));
             return insertedEmployee;
+        } catch (DuplicateResourceException | ValidationFailedException e) {
+            throw e;
         } catch (RuntimeException e) {
-            session.getTransaction().rollback();
             AppLogger.log1Error("Error creating employee: {}", e.getMessage());
             
             // Detailed error logging
@@ -172,78 +423,75 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
     
     /**
-     * Validates employee input before creating
-     * @param employee The employee to validate
-     * @throws IllegalArgumentException if validation fails
+     * Rejects an email that is already stored before the stored procedure runs.
+     * The email index answers most checks in memory; uncertain ones are confirmed with a query.
+     * @param email The email of the new employee
+     * @throws DuplicateResourceException if the email is already in use
      */
-    private void validateEmployeeInput(Employee employee) {
-        if (employee == null) {
-            throw new IllegalArgumentException("Employee cannot be null");
-        }
-        
-        // First Name validation
-        if (employee.getFirstName() == null || employee.getFirstName().trim().isEmpty()) {
-            throw new IllegalArgumentException("First name is required");
-        }
-        
-        // Last Name validation
-        if (employee.getLastName() == null || employee.getLastName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Last name is required");
-        }
-        
-        // Email validation
-        if (employee.getEmail() == null || !isValidEmail(employee.getEmail())) {
-            throw new IllegalArgumentException("Invalid email address");
-        }
-        
-        // Salary validation
-        if (employee.getSalary() != null && employee.getSalary() < 0) {
-            throw new IllegalArgumentException("Salary cannot be negative");
+    private void rejectDuplicateEmail(String email) {
+        EmailIndex.Presence presence = emailIndex.lookup(email);
+        if (presence == EmailIndex.Presence.PRESENT
+                || (presence == EmailIndex.Presence.MAYBE && employeeRepository.existsByEmail(email))) {
+            throw new DuplicateResourceException("Employee already exists with email: " + email);
         }
     }
-    
+
     /**
-     * Basic email validation
-     * @param email Email to validate
-     * @return true if email is valid, false otherwise
+     * Updates an existing employee's information, whatever its current version
+     * @param id The ID of the employee to update
+     * @param employeeDetails The updated employee details
+     * @return The updated employee entity
+     * @throws ResourceNotFoundException if employee not found
      */
-    private boolean isValidEmail(String email) {
-        String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
-        return email != null && email.matches(emailRegex);
+    @Override
+    public Employee updateEmployee(Long id, Employee employeeDetails) {
+        return updateEmployee(id, employeeDetails, null);
     }
 
     /**
-     * Updates an existing employee's information
+     * Updates an existing employee's information with optimistic concurrency control.
+     * Each attempt re-reads the row and writes it with a version check, so concurrent updates are
+     * never lost and no row lock is held; a collision is retried with backoff.
      * @param id The ID of the employee to update
      * @param employeeDetails The updated employee details
-     * @return The updated employee entity
+     * @param expectedVersion The version the client last saw (If-Match), or null to update any version
+     * @return The updated employee entity with its new version
      * @throws ResourceNotFoundException if employee not found
+     * @throws PreconditionFailedException if the employee is no longer at the expected version
+     * @throws UpdateConflictException if every attempt collided with a concurrent update
      */
     @Override
-    @Transactional(rollbackFor = {Exception.class})
-    @Lock(LockModeType.PESSIMISTIC_READ) 
-    @Query("SELECT * FROM employees WHERE id = :id")
-    public Employee updateEmployee(@Param("id") Long id, Employee employeeDetails) {
+    public Employee updateEmployee(Long id, Employee employeeDetails, Long expectedVersion) {
         AppLogger.log1Info("Service: Attempting to update employee with ID: {}", id);
         
         try {
-            // Validate input
-            validateEmployeeUpdateInput(employeeDetails);
-            
-            // Find the employee by ID or throw exception if not found
-            Employee employee = employeeRepository.findById(id)
-                    .orElseThrow(() -> {
-                        AppLogger.log1Error("Employee not found with id: {}", id);
-                        return new ResourceNotFoundException("Employee not found with id: " + id);
-                    });
-            
-            // Perform update with null-safe checks
-            updateEmployeeFields(employee, employeeDetails);
-            
-            // Save the updated employee
-            Employee updatedEmployee = employeeRepository.save(employee);
+            // Validate input and resolve the referenced manager once, outside the retried transaction
+            Manager manager = employeeValidator.validate(employeeDetails, EmployeeValidator.Mode.FULL);
+
+            Employee updatedEmployee = optimisticRetryTemplate.execute("Update of employee " + id, () -> {
+                // Find the employee by ID or throw exception if not found
+                Employee employee = employeeRepository.findById(id)
+                        .orElseThrow(() -> {
+                            AppLogger.log1Error("Employee not found with id: {}", id);
+                            return new ResourceNotFoundException("Employee not found with id: " + id);
+                        });
+                // A retry after a collision sees the new version and fails the precondition here
+                if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+                    throw new PreconditionFailedException("Employee " + id + " is at version " + employee.getVersion()
+                            + ", not the expected version " + expectedVersion);
+                }
+                EmployeeSnapshot before = EmployeeSnapshot.of(employee);
+
+                // Perform update with null-safe checks
+                updateEmployeeFields(employee, employeeDetails, manager);
+
+                // Flush now, so the version check runs inside the attempt and the new version is known
+                Employee saved = employeeRepository.saveAndFlush(employee);
+                eventPublisher.publishEvent(EmployeeChangeEvent.updated(before, EmployeeSnapshot.of(saved)));
+                return saved;
+            });
             
-            AppLogger.log2Info("Successfully updated employee with ID: {}", id);
+            AppLogger.log2Info("Successfully updated employee with ID: {} to version {}", id, updatedEmployee.getVersion());
             return updatedEmployee;
         
         } catch (ResourceNotFoundException e) {
@@ -251,10 +499,8 @@ public class EmployeeServiceImpl implements EmployeeService {
             AppLogger.log1Error("Update failed - Employee not found: {}", e.getMessage());
             throw e;
         
-        } catch (org.springframework.orm.ObjectOptimisticLockingFailureException e) {
-            // Handle concurrent modification attempts
-            AppLogger.log1Error("Concurrent modification detected for employee ID: {}", id);
-            throw new ConcurrentModificationException("Another user is updating this employee. Please try again.", e);
+        } catch (ValidationFailedException | PreconditionFailedException | UpdateConflictException e) {
+            throw e;
         
         } catch (org.springframework.transaction.TransactionSystemException e) {
             // Handle transaction-related exceptions
@@ -273,43 +519,13 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
     
-    /**
-     * Validates input for employee update
-     * @param employeeDetails Employee details to validate
-     * @throws ValidationException if validation fails
-     */
-    private void validateEmployeeUpdateInput(Employee employeeDetails) {
-        if (employeeDetails == null) {
-            throw new IllegalArgumentException("Employee update details cannot be null");
-        }
-        
-        // Validate specific fields
-        if (employeeDetails.getEmail() != null && !isValidEmail(employeeDetails.getEmail())) {
-            throw new ValidationException("Invalid email format");
-        }
-        
-        if (employeeDetails.getSalary() != null && employeeDetails.getSalary() < 0) {
-            throw new ValidationException("Salary cannot be negative");
-        }
-        
-        // Validate manager if provided
-        if (employeeDetails.getManager() != null) {
-            // Verify manager exists in the database
-            managerRepository.findById(employeeDetails.getManager().getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                    "Manager not found with id: " + employeeDetails.getManager().getId()));
-            
-            AppLogger.log2Info("Updating employee with manager ID: {}", 
-                employeeDetails.getManager().getId());
-        }
-    }
-    
     /**
      * Performs null-safe update of employee fields
      * @param existingEmployee Current employee entity
      * @param updateDetails Employee details to update
+     * @param manager The manager resolved during validation, or null to keep the current one
      */
-    private void updateEmployeeFields(Employee existingEmployee, Employee updateDetails) {
+    private void updateEmployeeFields(Employee existingEmployee, Employee updateDetails, Manager manager) {
         if (updateDetails.getFirstName() != null) {
             existingEmployee.setFirstName(updateDetails.getFirstName());
         }
@@ -329,14 +545,98 @@ public class EmployeeServiceImpl implements EmployeeService {
             existingEmployee.setSalary(updateDetails.getSalary());
         }
         // Update manager if provided
-        if (updateDetails.getManager() != null) {
-            // Validate manager existence in the database
-            Manager existingManager = managerRepository.findById(updateDetails.getManager().getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                    "Manager not found with id: " + updateDetails.getManager().getId()));
-            
-            existingEmployee.setManager(existingManager);
+        if (manager != null) {
+            existingEmployee.setManager(manager);
+        }
+    }
+
+    /**
+     * Applies a JSON Merge Patch to an employee, writing only the patched columns.
+     * A patch of in-place fields only (phone number, position, manager) is one UPDATE guarded by
+     * the version, with no prior SELECT; other patches load the row once and flush a dynamic UPDATE.
+     * The manager is set as a reference, so an unknown manager is rejected by the foreign key.
+     * @param id The ID of the employee to patch
+     * @param patch The fields to change
+     * @param expectedVersion The version the client last saw (If-Match), or null to patch any version
+     * @return The new version, or null when an in-place patch without an expected version left it unknown
+     * @throws ResourceNotFoundException if employee not found
+     * @throws PreconditionFailedException if the employee is no longer at the expected version
+     * @throws UpdateConflictException if every attempt collided with a concurrent update
+     */
+    @Override
+    public Long patchEmployee(Long id, EmployeePatch patch, Long expectedVersion) {
+        AppLogger.log1Info("Service: Attempting to patch employee with ID: {}", id);
+        AppLogger.log2Info("Service: Patch details: {}", patch);
+        employeeValidator.validate(patch);
+
+        try {
+            Long version;
+            if (patch.isInPlace()) {
+                version = optimisticRetryTemplate.execute("Patch of employee " + id,
+                        () -> patchInPlace(id, patch, expectedVersion));
+            } else {
+                version = optimisticRetryTemplate.execute("Patch of employee " + id,
+                        () -> patchLoaded(id, patch, expectedVersion));
+            }
+            AppLogger.log2Info("Successfully patched employee with ID: {} to version {}", id, version);
+            return version;
+
+        } catch (DataIntegrityViolationException e) {
+            throw patchViolation(id, patch, e);
+        }
+    }
+
+    // One conditional UPDATE; the row is only read again to explain why nothing was updated
+    private Long patchInPlace(Long id, EmployeePatch patch, Long expectedVersion) {
+        if (employeeJdbcRepository.updateColumns(id, patch, expectedVersion) == 0) {
+            if (expectedVersion == null || !employeeRepository.existsById(id)) {
+                AppLogger.log1Error("Employee not found with id: {}", id);
+                throw new ResourceNotFoundException("Employee not found with id: " + id);
+            }
+            throw new PreconditionFailedException("Employee " + id + " is no longer at the expected version "
+                    + expectedVersion);
+        }
+        String position = patch.contains(EmployeePatch.Field.POSITION)
+                ? (String) patch.get(EmployeePatch.Field.POSITION) : null;
+        eventPublisher.publishEvent(EmployeeChangeEvent.patched(id, position));
+        return expectedVersion != null ? expectedVersion + 1 : null;
+    }
+
+    private Long patchLoaded(Long id, EmployeePatch patch, Long expectedVersion) {
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> {
+                    AppLogger.log1Error("Employee not found with id: {}", id);
+                    return new ResourceNotFoundException("Employee not found with id: " + id);
+                });
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw new PreconditionFailedException("Employee " + id + " is at version " + employee.getVersion()
+                    + ", not the expected version " + expectedVersion);
         }
+        EmployeeSnapshot before = EmployeeSnapshot.of(employee);
+
+        patch.applyTo(employee);
+        if (patch.contains(EmployeePatch.Field.MANAGER_ID)) {
+            Long managerId = (Long) patch.get(EmployeePatch.Field.MANAGER_ID);
+            employee.setManager(managerId != null ? entityManager.getReference(Manager.class, managerId) : null);
+        }
+
+        Employee saved = employeeRepository.saveAndFlush(employee);
+        eventPublisher.publishEvent(EmployeeChangeEvent.updated(before, EmployeeSnapshot.of(saved)));
+        return saved.getVersion();
+    }
+
+    // Names the constraint a rejected patch violated; only runs after the write failed
+    private RuntimeException patchViolation(Long id, EmployeePatch patch, DataIntegrityViolationException e) {
+        Long managerId = (Long) patch.get(EmployeePatch.Field.MANAGER_ID);
+        if (managerId != null && !managerRepository.existsById(managerId)) {
+            return new ValidationFailedException(Map.of("managerId", "Manager not found with id: " + managerId));
+        }
+        if (patch.get(EmployeePatch.Field.EMAIL) != null) {
+            return new DuplicateResourceException("Employee already exists with email: "
+                    + patch.get(EmployeePatch.Field.EMAIL));
+        }
+        AppLogger.log1Error("Data integrity violation during patch of employee {}: {}", id, e.getMessage());
+        return e;
     }
 
     /**
@@ -345,19 +645,21 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @throws ResourceNotFoundException if employee not found
      */
     @Override
+    @Transactional
     public void deleteEmployee(Long id) {
-        AppLogger.log1Info("Service: Deleting employee with ID: " + id);
+        AppLogger.log1Info("Service: Deleting employee with ID: {}", id);
         
         // Find the employee by ID or throw exception if not found
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> {
-                    AppLogger.log1Error("Employee not found with id: " + id);
+                    AppLogger.log1Error("Employee not found with id: {}", id);
                     return new ResourceNotFoundException("Employee not found with id: " + id);
                 });
         
         // Delete the employee
         employeeRepository.delete(employee);
-        AppLogger.log2Info("Service: Employee deleted: " + employee.getId());
+        eventPublisher.publishEvent(EmployeeChangeEvent.deleted(EmployeeSnapshot.of(employee)));
+        AppLogger.log2Info("Service: Employee deleted: {}", employee.getId());
     }
 
     /**
@@ -366,6 +668,7 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @return List of employees with matching last name
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> findByLastName(String lastName) {
         AppLogger.log1Info("Service: Finding employees with last name: {}", lastName);
         List<Employee> employees = employeeRepository.findByLastName(lastName);
@@ -379,9 +682,12 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @return List of employees with matching position
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_POSITION, unless = "#result == null")
     public List<Employee> findByPosition(String position) {
         AppLogger.log1Info("Service: Finding employees with position: {}", position);
-        List<Employee> employees = employeeRepository.findByPosition(position);
+        List<Employee> employees = PrimaryStickiness.onPrimary(() -> employeeRepository.findByPosition(position));
+        employees.forEach(this::initializeForCache);
         AppLogger.log2Info("Service: Found {} employees with position: {}", employees.size(), position);
         return employees;
     }
@@ -392,10 +698,17 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @return The employee with matching email or null if not found
      */
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, unless = "#result == null")
     public Employee findByEmail(String email) {
         AppLogger.log1Info("Service: Finding employee with email: {}", email);
-        Employee employee = employeeRepository.findByEmail(email);
+        if (emailIndex.lookup(email) == EmailIndex.Presence.ABSENT) {
+            AppLogger.log2Info("Service: No employee found with email: {} (email index)", email);
+            return null;
+        }
+        Employee employee = PrimaryStickiness.onPrimary(() -> employeeRepository.findByEmail(email));
         if (employee != null) {
+            initializeForCache(employee);
             AppLogger.log2Info("Service: Found employee with id: {}", employee.getId());
         } else {
             AppLogger.log2Info("Service: No employee found with email: {}", email);
@@ -404,7 +717,20 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     /**
-     * Maps a database query result to an entity model object
+     * Loads the lazy manager association of an employee that is about to be cached,
+     * so the cached (detached) instance can still be serialized after the session closes.
+     * Cached employees are read on the primary (the cached methods only run on a miss): a lagging
+     * replica could otherwise cache a row that was just evicted, for the whole time-to-live.
+     * The manager is loaded through the same primary connection.
+     * @param employee The employee to prepare
+     */
+    private void initializeForCache(Employee employee) {
+        Hibernate.initialize(employee.getManager());
+    }
+
+    /**
+     * Maps a database query result to an entity model object.
+     * The property mapping is compiled once per (result type, entity type) pair and cached.
      * 
      * @param queryResult The object returned from a database query
      * @param entityClass The class of the model entity to map to
@@ -413,65 +739,61 @@ public class EmployeeServiceImpl implements EmployeeService {
      * @throws IllegalArgumentException if mapping fails
      */
     public <T> T mapQueryResultToEntity(Object queryResult, Class<T> entityClass) {
-        AppLogger.log1Info("Service: Mapping query result to entity of type: {}", entityClass.getSimpleName());
-        
         try {
-            // Create a new instance of the target entity class
-            T entityInstance = entityClass.getDeclaredConstructor().newInstance();
-            
-            // Use reflection to copy properties from queryResult to entityInstance
-            for (java.lang.reflect.Method method : entityClass.getDeclaredMethods()) {
-                if (method.getName().startsWith("set")) {
-                    String propertyName = method.getName().substring(3);
-                    propertyName = Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
-                    
-                    try {
-                        java.lang.reflect.Method getterMethod = queryResult.getClass().getMethod("get" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1));
-                        Object value = getterMethod.invoke(queryResult);
-                        
-                        method.invoke(entityInstance, value); 
-                    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                        // Log warning if property cannot be mapped, but continue processing
-                        AppLogger.log2Warn("Could not map property {} for {}", propertyName, entityClass.getSimpleName());
-                    }
-                }
-            }
-            
-            AppLogger.log2Info("Successfully mapped query result to {}", entityClass.getSimpleName());
-            return entityInstance;
-        } catch (Exception e) {
+            return mapperRegistry.map(queryResult, entityClass);
+        } catch (RuntimeException e) {
             AppLogger.log1Error("Error mapping query result to entity: {}", e.getMessage());
             throw new IllegalArgumentException("Failed to map query result to entity: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Calculate total salary of all employees using reduce
-     * @return Total salary of all employees
+     * Calculate total salary of all employees from the running payroll totals
+     * @return Total salary of all employees, ignoring employees without a salary
      */
-    //@Override
-   // @Transactional(readOnly = true)
+    @Override
     public Double calculateTotalSalary() {
-        return employeeRepository.findAll().stream()
-            .map(Employee::getSalary)
-            .reduce(0.0, Double::sum);
+        return payrollAggregateService.getTotalSalary();
     }
 
-    // Advanced method using Java 8 Streams and Optional
+    // Served from the in-memory salary index, highest salary first
     @Override
     @Transactional(readOnly = true)
     public List<String> findHighPaidEmployeeNames(Double salaryThreshold) {
-        return employeeRepository.findHighPaidEmployees(salaryThreshold).stream()
-            .map(Employee::getFullName)
-            .collect(Collectors.toList());
+        if (salaryIndex.isReady()) {
+            return salaryIndex.findNamesAbove(salaryThreshold);
+        }
+        return employeeRepository.findNamesBySalaryGreaterThan(salaryThreshold);
     }
 
-    // Method to find highest paid employee with Optional
+    // The salary index yields the ID, only the returned entity is read by primary key
     @Override
     @Transactional(readOnly = true)
     public Optional<Employee> findHighestPaidEmployee() {
-        return employeeRepository.findAll().stream()
-            .max(Comparator.comparing(Employee::getSalary));
+        if (salaryIndex.isReady()) {
+            OptionalLong highestPaidId = salaryIndex.findHighestPaidId();
+            return highestPaidId.isPresent() ? employeeRepository.findById(highestPaidId.getAsLong()) : Optional.empty();
+        }
+        return employeeRepository.findFirstBySalaryIsNotNullOrderBySalaryDescIdDesc();
+    }
+
+    /**
+     * Finds employees whose salary lies within the range, using the in-memory salary index
+     * @param minSalary Lower bound, inclusive (no bound when null)
+     * @param maxSalary Upper bound, inclusive (no bound when null)
+     * @param limit Maximum number of results, capped at the maximum page size
+     * @return Matching employees, lowest salary first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSalary> findEmployeesInSalaryRange(Double minSalary, Double maxSalary, Integer limit) {
+        double min = minSalary != null ? minSalary : -Double.MAX_VALUE;
+        double max = maxSalary != null ? maxSalary : Double.MAX_VALUE;
+        int pageSize = resolvePageSize(limit);
+        if (salaryIndex.isReady()) {
+            return salaryIndex.findInRange(min, max, pageSize);
+        }
+        return employeeRepository.findSalaryRange(min, max, PageRequest.of(0, pageSize));
     }
 
     // Session management enhanced method
@@ -480,20 +802,95 @@ public class EmployeeServiceImpl implements EmployeeService {
     public Employee updateEmployeeSalaryAndPosition(Long employeeId, Double newSalary, String newPosition) {
         Employee employee = employeeRepository.findById(employeeId)
             .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+        EmployeeSnapshot before = EmployeeSnapshot.of(employee);
         
         // Demonstrate functional update
         Optional.ofNullable(newSalary).ifPresent(employee::setSalary);
         Optional.ofNullable(newPosition).ifPresent(employee::setPosition);
         
-        return employeeRepository.save(employee);
+        // Flushed, so the snapshot carries the incremented version
+        Employee updatedEmployee = employeeRepository.saveAndFlush(employee);
+        eventPublisher.publishEvent(EmployeeChangeEvent.updated(before, EmployeeSnapshot.of(updatedEmployee)));
+        return updatedEmployee;
     }
 
     // Complex query with functional processing
     @Override
     @Transactional(readOnly = true)
     public List<String> findEmployeesUnderManager(Long managerId) {
-        return employeeRepository.findByManagerId(managerId).stream()
-            .map(Employee::getFullName)
-            .collect(Collectors.toList());
+        return employeeRepository.findNamesByManagerId(managerId);
+    }
+
+    /**
+     * Finds one page of the names of a manager's team, in ID order
+     * @param managerId The ID of the manager
+     * @param after Continuation token from the previous page (or a plain employee ID), null for the first page
+     * @param limit Requested page size, capped at the maximum page size
+     * @return The page of employee names
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeName> findEmployeesUnderManager(Long managerId, String after, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        EmployeeCursor cursor = resolveCursor(after, EmployeeSortKey.ID);
+        List<EmployeeName> rows = employeeRepository.findNamePageByManagerId(managerId,
+                cursor != null ? cursor.getLastId() : 0L, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<EmployeeName> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore
+                ? new EmployeeCursor(EmployeeSortKey.ID, items.get(items.size() - 1).getId(), null).encode()
+                : null;
+        return new CursorPage<>(new ArrayList<>(items), nextCursor, hasMore, pageSize,
+                EmployeeSortKey.ID.getParameterName());
+    }
+
+    /**
+     * Finds employees by name or email as the user types, using the in-memory name search index
+     * @param query Words typed so far
+     * @param limit Maximum number of results, capped at the maximum search result count
+     * @return Matching employees, best matches first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeName> searchEmployees(String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (limit != null && limit < 1) {
+            throw new BadRequestException("Search limit must be at least 1");
+        }
+        int resultLimit = Math.min(limit != null ? limit : defaultSearchLimit, maxSearchResults);
+        if (nameSearchIndex.isReady()) {
+            return nameSearchIndex.search(query, resultLimit);
+        }
+        // Still loading: prefix match of the first word in the database
+        List<String> words = NameSearchIndex.words(query);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return employeeRepository.findNamesByPrefix(escapeLike(words.get(0)) + "%", PageRequest.of(0, resultLimit));
+    }
+
+    /**
+     * Reports the size and estimated memory use of the name search index
+     * @return The index statistics
+     */
+    @Override
+    public SearchIndexStats getSearchIndexStats() {
+        return nameSearchIndex.stats();
+    }
+
+    // Escapes LIKE wildcards with the escape character declared by the prefix query
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == '!') {
+                escaped.append('!');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
     }
 }
@@ -1,13 +1,30 @@
 package com.example.cruddemo.service.impl;
 
+import com.example.cruddemo.config.CacheConfig;
+import com.example.cruddemo.datasource.PrimaryStickiness;
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.event.ManagerChangeEvent;
+import com.example.cruddemo.exception.BadRequestException;
 import com.example.cruddemo.exception.ResourceNotFoundException;
+import com.example.cruddemo.model.CursorPage;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeeCursor;
+import com.example.cruddemo.model.EmployeeSortKey;
 import com.example.cruddemo.model.Manager;
+import com.example.cruddemo.model.ManagerSummary;
+import com.example.cruddemo.repository.EmployeeJdbcRepository;
 import com.example.cruddemo.repository.ManagerRepository;
 import com.example.cruddemo.service.ManagerService;
 import com.example.cruddemo.util.AppLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,16 +32,31 @@ import java.util.Optional;
 public class ManagerServiceImpl implements ManagerService {
 
     private final ManagerRepository managerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeJdbcRepository employeeJdbcRepository;
 
-    public ManagerServiceImpl(ManagerRepository managerRepository) {
+    // Page size when the client does not send a limit
+    @Value("${app.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    // Upper bound on the page size a client may request
+    @Value("${app.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    public ManagerServiceImpl(ManagerRepository managerRepository, ApplicationEventPublisher eventPublisher,
+                              EmployeeJdbcRepository employeeJdbcRepository) {
         this.managerRepository = managerRepository;
+        this.eventPublisher = eventPublisher;
+        this.employeeJdbcRepository = employeeJdbcRepository;
     }
 
     @Override
     @Transactional
     public Manager createManager(Manager manager) {
-        AppLogger.log1Info("Creating new manager: " + manager.getFirstName() + " " + manager.getLastName());
-        return managerRepository.save(manager);
+        AppLogger.log1Info("Creating new manager: {} {}", manager.getFirstName(), manager.getLastName());
+        Manager savedManager = managerRepository.save(manager);
+        eventPublisher.publishEvent(ManagerChangeEvent.created(savedManager.getId()));
+        return savedManager;
     }
 
     @Override
@@ -36,9 +68,11 @@ public class ManagerServiceImpl implements ManagerService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MANAGERS, unless = "#result == null")
     public Optional<Manager> getManagerById(Long id) {
-        AppLogger.log1Info("Fetching manager with ID: " + id);
-        return managerRepository.findById(id);
+        AppLogger.log1Info("Fetching manager with ID: {}", id);
+        // Runs on a cache miss only; cached state is read from the primary, not a lagging replica
+        return PrimaryStickiness.onPrimary(() -> managerRepository.findById(id));
     }
 
     @Override
@@ -54,17 +88,135 @@ public class ManagerServiceImpl implements ManagerService {
         existingManager.setPhoneNumber(managerDetails.getPhoneNumber());
         existingManager.setSalary(managerDetails.getSalary());
 
-        AppLogger.log1Info("Updating manager with ID: " + id);
-        return managerRepository.save(existingManager);
+        AppLogger.log1Info("Updating manager with ID: {}", id);
+        Manager updatedManager = managerRepository.save(existingManager);
+        eventPublisher.publishEvent(ManagerChangeEvent.updated(id));
+        return updatedManager;
     }
 
     @Override
     @Transactional
     public void deleteManager(Long id) {
-        Manager manager = managerRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Manager not found with id: " + id));
+        deleteManager(id, null);
+    }
+
+    /**
+     * Deletes a manager with set-based statements instead of the entity cascade, which would load
+     * the whole team and delete it one row at a time: one locking SELECT of the team, one DELETE (or
+     * UPDATE when reassigning) of the team by manager_id, then one DELETE of the manager row, in one
+     * transaction. The team read becomes DELETED or UPDATED change events; an empty team publishes none.
+     * @param id The manager to delete
+     * @param reassignToId The manager taking over the team, or null to delete the team
+     * @return Number of employees deleted or reassigned
+     * @throws ResourceNotFoundException if the manager does not exist
+     * @throws BadRequestException if the new manager does not exist or is the deleted manager
+     */
+    @Override
+    @Transactional
+    public int deleteManager(Long id, Long reassignToId) {
+        if (!managerRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Manager not found with id: " + id);
+        }
+        if (reassignToId != null) {
+            if (reassignToId.equals(id)) {
+                throw new BadRequestException("Cannot reassign a team to the manager being deleted");
+            }
+            if (!managerRepository.existsById(reassignToId)) {
+                throw new BadRequestException("Manager to reassign the team to not found with id: " + reassignToId);
+            }
+        }
+        // Read (and lock) the team first, so listeners can apply the rows instead of reloading everything
+        List<EmployeeSnapshot> team = new ArrayList<>();
+        for (Employee member : employeeJdbcRepository.findTeamForUpdate(id)) {
+            team.add(EmployeeSnapshot.of(member));
+        }
+        int teamSize;
+        if (reassignToId != null) {
+            teamSize = employeeJdbcRepository.reassignTeam(id, reassignToId);
+            AppLogger.log1Info("Deleting manager with ID: {}, {} employees reassigned to manager {}",
+                    id, teamSize, reassignToId);
+        } else {
+            teamSize = employeeJdbcRepository.deleteTeam(id);
+            AppLogger.log1Info("Deleting manager with ID: {} and {} employees", id, teamSize);
+        }
+        managerRepository.deleteRowById(id);
+        if (teamSize != team.size()) {
+            // A member joined between the read and the statement (no gap locks): listeners reload
+            eventPublisher.publishEvent(EmployeeChangeEvent.bulk());
+        } else if (teamSize > 0 && reassignToId != null) {
+            List<EmployeeSnapshot> moved = new ArrayList<>(team.size());
+            for (EmployeeSnapshot member : team) {
+                moved.add(member.withManagerId(reassignToId));
+            }
+            eventPublisher.publishEvent(EmployeeChangeEvent.updatedAll(team, moved));
+        } else if (teamSize > 0) {
+            eventPublisher.publishEvent(EmployeeChangeEvent.deletedAll(team));
+        }
+        eventPublisher.publishEvent(ManagerChangeEvent.deleted(id));
+        return teamSize;
+    }
+
+    // Cleared by CacheInvalidationListener after every committed employee or manager change
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MANAGER_SUMMARIES, key = "#root.target.summaryCacheKey(#after, #limit)")
+    public CursorPage<ManagerSummary> getManagerSummaries(String after, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        long afterId = resolveAfterId(after);
+        AppLogger.log1Info("Summarizing managers after ID {} with limit {}", afterId, pageSize);
+
+        // Fetch one extra row to find out whether another page exists
+        // Cached, so read from the primary like the other cached loads
+        List<ManagerSummary> rows = PrimaryStickiness.onPrimary(
+                () -> managerRepository.findSummaryPage(afterId, PageRequest.of(0, pageSize + 1)));
+        boolean hasMore = rows.size() > pageSize;
+        List<ManagerSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore
+                ? new EmployeeCursor(EmployeeSortKey.ID, items.get(items.size() - 1).getManagerId(), null).encode()
+                : null;
+        return new CursorPage<>(new ArrayList<>(items), nextCursor, hasMore, pageSize,
+                EmployeeSortKey.ID.getParameterName());
+    }
+
+    /**
+     * Cache key of a summary page, built from the decoded position and the capped page size, so
+     * equivalent requests (a token or a plain ID, any limit above the cap) share one entry
+     * @param after Continuation token or plain manager ID, may be null
+     * @param limit Requested page size, may be null
+     * @return The key
+     * @throws BadRequestException if the cursor or the limit is invalid
+     */
+    public String summaryCacheKey(String after, Integer limit) {
+        return resolveAfterId(after) + ":" + resolvePageSize(limit);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Page limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
 
-        AppLogger.log1Info("Deleting manager with ID: " + id);
-        managerRepository.delete(manager);
+    // Same opaque tokens as the employee pages in ID order; a plain manager ID is still accepted
+    private static long resolveAfterId(String after) {
+        if (after == null || after.isBlank()) {
+            return 0L;
+        }
+        try {
+            if (after.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(after);
+            }
+            EmployeeCursor cursor = EmployeeCursor.decode(after);
+            if (cursor.getSortKey() != EmployeeSortKey.ID) {
+                throw new IllegalArgumentException("Cursor was not issued for ID order");
+            }
+            return cursor.getLastId();
+        } catch (IllegalArgumentException e) {
+            // Also covers digits beyond the range of an ID
+            throw new BadRequestException("Invalid cursor: " + after, e);
+        }
     }
 }
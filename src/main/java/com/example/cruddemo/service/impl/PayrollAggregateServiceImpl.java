@@ -0,0 +1,236 @@
+package com.example.cruddemo.service.impl;
+
+import com.example.cruddemo.datasource.PrimaryStickiness;
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.event.EmployeeWriteEpoch;
+import com.example.cruddemo.model.PayrollConsistencyReport;
+import com.example.cruddemo.model.PayrollGrouping;
+import com.example.cruddemo.model.PayrollTotal;
+import com.example.cruddemo.model.SalaryAggregate;
+import com.example.cruddemo.repository.EmployeeRepository;
+import com.example.cruddemo.service.PayrollAggregateService;
+import com.example.cruddemo.util.AppLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementation of the PayrollAggregateService interface.
+ * Aggregates are pushed down to SQL. The total salary is additionally kept as a running
+ * total that is seeded from the database once and then adjusted by every committed
+ * employee change, so the total-salary endpoint never scans the table.
+ * Seeding and repairs read the primary within the employee write epoch: a change committed
+ * meanwhile is then either in the aggregate or applied on top of it, never both or neither.
+ * Every seed and every applied change gives the totals a new version, which tags the total-salary
+ * response: the tag then always describes the total it is sent with, even while a committed change
+ * has not been applied yet. Versions start at a random value per instance, like the table versions.
+ */
+@Service
+public class PayrollAggregateServiceImpl implements PayrollAggregateService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeWriteEpoch writeEpoch;
+
+    // Current running totals, replaced atomically on every change
+    private volatile RunningTotals totals;
+
+    // Last version handed to running totals, only advanced while holding the monitor
+    private long lastVersion = ThreadLocalRandom.current().nextLong(1L << 40);
+
+    /**
+     * Constructor-based dependency injection
+     * @param employeeRepository The repository for employee data access
+     * @param writeEpoch The epoch the running totals are re-read in
+     */
+    @Autowired
+    public PayrollAggregateServiceImpl(EmployeeRepository employeeRepository, EmployeeWriteEpoch writeEpoch) {
+        this.employeeRepository = employeeRepository;
+        this.writeEpoch = writeEpoch;
+    }
+
+    /**
+     * Seeds the running totals; run by {@link com.example.cruddemo.config.IndexLoader} once the
+     * application (and its sample data) is ready and after bulk changes
+     */
+    public void seedRunningTotals() {
+        RunningTotals seeded = reload();
+        AppLogger.log1Info("Payroll running totals seeded: headcount {}, total salary {}",
+                seeded.headcount, seeded.totalCents / 100.0);
+    }
+
+    /**
+     * Drops the running totals after a bulk change, so totals are queried until they are re-seeded.
+     * Runs while the bulk change holds the write epoch, so no re-seed overlaps it.
+     */
+    public synchronized void invalidate() {
+        totals = null;
+    }
+
+    /**
+     * Returns the total salary of all employees.
+     * Employees without a salary are ignored.
+     * @return Total salary, 0 for an empty table
+     */
+    @Override
+    public Double getTotalSalary() {
+        RunningTotals current = totals;
+        if (current == null) {
+            // Not seeded yet, ask the database directly
+            Double total = employeeRepository.aggregateSalaries().getTotalSalary();
+            return total != null ? total : 0.0;
+        }
+        return current.totalCents / 100.0;
+    }
+
+    /**
+     * Returns the total salary together with the version of the running totals it was read from
+     * @return Total salary, 0 for an empty table; without version while the totals are not seeded
+     */
+    @Override
+    public PayrollTotal getTotalSalarySnapshot() {
+        RunningTotals current = totals;
+        if (current == null) {
+            return new PayrollTotal(getTotalSalary(), null);
+        }
+        return new PayrollTotal(current.totalCents / 100.0, current.version);
+    }
+
+    /**
+     * Computes payroll aggregates in the database
+     * @param grouping Optional grouping by position or manager
+     * @return One aggregate per group, or a single aggregate for NONE
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalaryAggregate> getSalaryAggregates(PayrollGrouping grouping) {
+        AppLogger.log1Info("Service: Computing salary aggregates grouped by {}", grouping);
+        switch (grouping) {
+            case POSITION:
+                return employeeRepository.aggregateSalariesByPosition();
+            case MANAGER:
+                return employeeRepository.aggregateSalariesByManager();
+            default:
+                return Collections.singletonList(employeeRepository.aggregateSalaries());
+        }
+    }
+
+    /**
+     * Compares the running totals with a fresh SQL aggregate.
+     * Reads the primary, because replica lag would look like drift. A change committing between
+     * the two reads can show up as a transient mismatch; a repair re-reads within the write epoch.
+     * @param repair Whether to re-seed the running totals from the database on mismatch
+     * @return The comparison result
+     */
+    @Override
+    public PayrollConsistencyReport checkConsistency(boolean repair) {
+        RunningTotals cached = totals;
+        RunningTotals database = RunningTotals.of(PrimaryStickiness.onPrimary(employeeRepository::aggregateSalaries), 0L);
+
+        boolean consistent = cached != null
+                && cached.headcount == database.headcount
+                && Math.abs(cached.totalCents - database.totalCents) <= toleranceCents(database);
+        boolean repaired = false;
+        if (!consistent) {
+            AppLogger.log1Warn("Payroll running totals drifted: cached {} / database {}",
+                    cached != null ? cached.totalCents / 100.0 : null, database.totalCents / 100.0);
+            if (repair) {
+                reload();
+                repaired = true;
+            }
+        }
+
+        return new PayrollConsistencyReport(
+                new Date(),
+                cached != null ? cached.headcount : 0,
+                database.headcount,
+                cached != null ? cached.totalCents / 100.0 : 0.0,
+                database.totalCents / 100.0,
+                consistent,
+                repaired);
+    }
+
+    /**
+     * Applies a committed employee change to the running totals
+     * @param event The change published by the employee service
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (event.getType() == EmployeeChangeEvent.Type.BULK) {
+            // Dropped and re-seeded in the background by IndexLoader
+            return;
+        }
+        if (event.getType() == EmployeeChangeEvent.Type.PATCHED) {
+            // In-place patches never change salaries
+            return;
+        }
+        applyDelta(event);
+    }
+
+    private synchronized void applyDelta(EmployeeChangeEvent event) {
+        RunningTotals current = totals;
+        if (current == null) {
+            // Seeding has not happened yet and will read the committed state anyway
+            return;
+        }
+        long headcount = current.headcount;
+        long totalCents = current.totalCents;
+        for (EmployeeSnapshot removed : event.getBefore()) {
+            headcount--;
+            totalCents -= toCents(removed.getSalary());
+        }
+        for (EmployeeSnapshot added : event.getAfter()) {
+            headcount++;
+            totalCents += toCents(added.getSalary());
+        }
+        totals = new RunningTotals(headcount, totalCents, ++lastVersion);
+    }
+
+    // Installs inside the epoch too, so no change lands on the old totals after the read
+    private RunningTotals reload() {
+        return writeEpoch.runExclusive(() -> {
+            return replace(PrimaryStickiness.onPrimary(employeeRepository::aggregateSalaries));
+        });
+    }
+
+    private synchronized RunningTotals replace(SalaryAggregate aggregate) {
+        totals = RunningTotals.of(aggregate, ++lastVersion);
+        return totals;
+    }
+
+    private static long toCents(Double salary) {
+        return salary != null ? Math.round(salary * 100) : 0L;
+    }
+
+    // Each row is rounded to whole cents, so allow half a cent of drift per salaried row
+    private static long toleranceCents(RunningTotals database) {
+        return Math.max(1, database.headcount / 2);
+    }
+
+    /**
+     * Immutable headcount and total salary (in cents, to avoid floating point drift) with its version
+     */
+    private static final class RunningTotals {
+        private final long headcount;
+        private final long totalCents;
+        private final long version;
+
+        private RunningTotals(long headcount, long totalCents, long version) {
+            this.headcount = headcount;
+            this.totalCents = totalCents;
+            this.version = version;
+        }
+
+        private static RunningTotals of(SalaryAggregate aggregate, long version) {
+            long headcount = aggregate.getHeadcount() != null ? aggregate.getHeadcount() : 0L;
+            Double total = aggregate.getTotalSalary();
+            return new RunningTotals(headcount, total != null ? Math.round(total * 100) : 0L, version);
+        }
+    }
+}
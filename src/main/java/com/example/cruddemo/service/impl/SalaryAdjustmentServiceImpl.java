@@ -0,0 +1,327 @@
+package com.example.cruddemo.service.impl;
+
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.exception.ValidationFailedException;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.SalaryAdjustmentRequest;
+import com.example.cruddemo.model.SalaryAdjustmentResult;
+import com.example.cruddemo.model.SalaryAdjustmentType;
+import com.example.cruddemo.repository.EmployeeJdbcRepository;
+import com.example.cruddemo.service.SalaryAdjustmentService;
+import com.example.cruddemo.util.AppLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Implementation of the SalaryAdjustmentService interface.
+ * Rules the database can evaluate run as one UPDATE ... WHERE in one transaction, so no employee
+ * is loaded; the indexes and running totals derived from salaries are then reloaded in the
+ * background (BULK change). Rules with a name pattern walk the candidate rows in ID order, one
+ * chunk per transaction: each chunk is read with the database part of the rule without locks and
+ * its names are matched in Java, then only the matched rows are locked, adjusted with a JDBC batch
+ * and published as updated rows. Progress is logged as chunks complete.
+ * The name pattern is caller-supplied, so its length is capped and every name match has a deadline.
+ */
+@Service
+public class SalaryAdjustmentServiceImpl implements SalaryAdjustmentService {
+
+    // Progress is logged each time another tenth of the candidates has been processed
+    private static final int PROGRESS_STEPS = 10;
+
+    // Longest name pattern accepted
+    private static final int MAX_NAME_PATTERN_LENGTH = 200;
+
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Rows read, filtered and written per chunk transaction
+    @Value("${app.salary-adjustment.chunk-size:1000}")
+    private int chunkSize;
+
+    // Longest time the name pattern may take to match one name
+    @Value("${app.salary-adjustment.name-match-timeout:100ms}")
+    private Duration nameMatchTimeout;
+
+    /**
+     * Constructor-based dependency injection
+     * @param employeeJdbcRepository The JDBC repository running the adjustment statements
+     * @param eventPublisher The publisher for employee change events
+     * @param transactionManager The transaction manager for the adjustment and chunk transactions
+     */
+    @Autowired
+    public SalaryAdjustmentServiceImpl(EmployeeJdbcRepository employeeJdbcRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Applies a salary adjustment, or reports what it would change
+     * @param adjustment The eligibility rule and the adjustment
+     * @param dryRun Whether to only count and sum the affected salaries
+     * @return Matched and updated rows with the salary totals before and after
+     * @throws ValidationFailedException if the rule or the adjustment is invalid
+     */
+    @Override
+    public SalaryAdjustmentResult adjustSalaries(SalaryAdjustmentRequest adjustment, boolean dryRun) {
+        Pattern namePattern = validate(adjustment);
+        AppLogger.log1Info("Service: {} salary adjustment {}", dryRun ? "Previewing" : "Applying", adjustment);
+
+        SalaryAdjustmentResult result = namePattern == null
+                ? adjustSetBased(adjustment, dryRun)
+                : adjustInChunks(adjustment, namePattern, dryRun);
+
+        AppLogger.log1Info("Service: Salary adjustment {} {} of {} matching employees, total {} -> {}",
+                dryRun ? "would update" : "updated", dryRun ? result.getMatchedCount() : result.getUpdatedCount(),
+                result.getMatchedCount(), result.getTotalSalaryBefore(), result.getTotalSalaryAfter());
+        return result;
+    }
+
+    private SalaryAdjustmentResult adjustSetBased(SalaryAdjustmentRequest adjustment, boolean dryRun) {
+        return transactionTemplate.execute(status -> {
+            EmployeeJdbcRepository.AdjustmentTotals totals = employeeJdbcRepository.previewSalaryAdjustment(adjustment);
+            if (dryRun) {
+                return new SalaryAdjustmentResult(true, SalaryAdjustmentResult.Strategy.SET_BASED,
+                        totals.getCount(), 0, totals.getTotalBefore(), totals.getTotalAfter(), 0);
+            }
+            // The UPDATE decides what changed; rows committed after the preview only skew the totals
+            long updated = employeeJdbcRepository.adjustSalaries(adjustment);
+            if (updated > 0) {
+                // Reloaded in the background after the commit (IndexLoader)
+                eventPublisher.publishEvent(EmployeeChangeEvent.bulk());
+            }
+            return new SalaryAdjustmentResult(false, SalaryAdjustmentResult.Strategy.SET_BASED,
+                    updated, updated, totals.getTotalBefore(), totals.getTotalAfter(), 0);
+        });
+    }
+
+    private SalaryAdjustmentResult adjustInChunks(SalaryAdjustmentRequest adjustment, Pattern namePattern,
+                                                  boolean dryRun) {
+        // Candidates matching the database part of the rule, only used to report progress
+        long candidates = employeeJdbcRepository.previewSalaryAdjustment(adjustment).getCount();
+        ChunkProgress progress = new ChunkProgress(candidates);
+
+        // Each chunk publishes its updated rows, delivered once that chunk has committed
+        while (true) {
+            Boolean more = transactionTemplate.execute(status -> adjustChunk(adjustment, namePattern, dryRun, progress));
+            if (!Boolean.TRUE.equals(more)) {
+                break;
+            }
+        }
+        return new SalaryAdjustmentResult(dryRun, SalaryAdjustmentResult.Strategy.CHUNKED, progress.matched,
+                progress.updated, progress.totalBefore, progress.totalAfter, progress.chunks);
+    }
+
+    // Processes the chunk after the last seen ID and returns whether another chunk may follow
+    private boolean adjustChunk(SalaryAdjustmentRequest adjustment, Pattern namePattern, boolean dryRun,
+                                ChunkProgress progress) {
+        // Names are matched on an unlocked read, so a slow pattern never holds row locks
+        List<Employee> rows = employeeJdbcRepository.findAdjustmentCandidates(adjustment, progress.lastId, chunkSize);
+        if (rows.isEmpty()) {
+            return false;
+        }
+        Map<Long, String> matchedNames = new LinkedHashMap<>();
+        List<Employee> matched = new ArrayList<>();
+        for (Employee employee : rows) {
+            if (matches(namePattern, employee.getFullName())) {
+                matchedNames.put(employee.getId(), employee.getFullName());
+                matched.add(employee);
+            }
+        }
+        List<Employee> eligible = new ArrayList<>();
+        if (dryRun) {
+            eligible.addAll(matched);
+        } else {
+            // Rows changed since the read are re-checked: the database part by the locking query,
+            // the name only if it changed
+            for (Employee employee : employeeJdbcRepository.lockAdjustmentRows(adjustment,
+                    new ArrayList<>(matchedNames.keySet()))) {
+                String fullName = employee.getFullName();
+                if (fullName.equals(matchedNames.get(employee.getId())) || matches(namePattern, fullName)) {
+                    eligible.add(employee);
+                }
+            }
+        }
+
+        SalaryAdjustmentType type = adjustment.getType();
+        double value = adjustment.getValue();
+        List<EmployeeSnapshot> before = new ArrayList<>(eligible.size());
+        List<EmployeeSnapshot> after = new ArrayList<>(eligible.size());
+        for (Employee employee : eligible) {
+            EmployeeSnapshot snapshot = EmployeeSnapshot.of(employee);
+            progress.totalBefore += employee.getSalary();
+            employee.setSalary(type.apply(employee.getSalary(), value));
+            progress.totalAfter += employee.getSalary();
+            before.add(snapshot);
+            after.add(snapshot.withSalary(employee.getSalary()));
+        }
+        if (!dryRun && !eligible.isEmpty()) {
+            employeeJdbcRepository.updateSalaries(eligible);
+            eventPublisher.publishEvent(EmployeeChangeEvent.updatedAll(before, after));
+            progress.updated += eligible.size();
+        }
+        progress.matched += eligible.size();
+        progress.scanned += rows.size();
+        progress.chunks++;
+        progress.lastId = rows.get(rows.size() - 1).getId();
+        progress.report();
+        return rows.size() == chunkSize;
+    }
+
+    // Matches a name against the caller's pattern within the name match timeout
+    private boolean matches(Pattern namePattern, String name) {
+        try {
+            return namePattern.matcher(new DeadlineCharSequence(name, System.nanoTime() + nameMatchTimeout.toNanos()))
+                    .find();
+        } catch (DeadlineCharSequence.DeadlineExceededException e) {
+            Map<String, String> violations = new LinkedHashMap<>();
+            violations.put("namePattern", "Name pattern took longer than " + nameMatchTimeout.toMillis()
+                    + " ms to match a name; simplify it");
+            throw new ValidationFailedException(violations);
+        }
+    }
+
+    /**
+     * Checks the rule and the adjustment
+     * @return The compiled name pattern, or null for a set-based rule
+     */
+    private Pattern validate(SalaryAdjustmentRequest adjustment) {
+        Map<String, String> violations = new LinkedHashMap<>();
+        Pattern namePattern = null;
+        if (adjustment == null) {
+            violations.put("adjustment", "Salary adjustment cannot be null");
+            throw new ValidationFailedException(violations);
+        }
+        if (!adjustment.hasCriteria()) {
+            violations.put("rule", "At least one eligibility criterion is required");
+        }
+        if (adjustment.getPositionContains() != null && adjustment.getPositionContains().isBlank()) {
+            violations.put("positionContains", "Position filter cannot be blank");
+        }
+        if (adjustment.getMinSalary() != null && adjustment.getMaxSalary() != null
+                && adjustment.getMinSalary() > adjustment.getMaxSalary()) {
+            violations.put("minSalary", "Minimum salary cannot exceed maximum salary");
+        }
+        if (adjustment.getNamePattern() != null && adjustment.getNamePattern().length() > MAX_NAME_PATTERN_LENGTH) {
+            violations.put("namePattern", "Name pattern cannot be longer than " + MAX_NAME_PATTERN_LENGTH + " characters");
+        } else if (adjustment.getNamePattern() != null) {
+            try {
+                namePattern = Pattern.compile(adjustment.getNamePattern());
+            } catch (PatternSyntaxException e) {
+                violations.put("namePattern", "Invalid name pattern: " + e.getDescription());
+            }
+        }
+        Double value = adjustment.getValue();
+        if (adjustment.getType() == null) {
+            violations.put("type", "Adjustment type is required (PERCENT, AMOUNT or SET)");
+        }
+        if (value == null || value.isNaN() || value.isInfinite()) {
+            violations.put("value", "Adjustment value is required");
+        } else if (adjustment.getType() == SalaryAdjustmentType.PERCENT && value <= -100) {
+            violations.put("value", "A percentage cut must be smaller than 100");
+        } else if (adjustment.getType() == SalaryAdjustmentType.SET && value < 0) {
+            violations.put("value", "Salary cannot be negative");
+        }
+        if (!violations.isEmpty()) {
+            throw new ValidationFailedException(violations);
+        }
+        return namePattern;
+    }
+
+    /**
+     * Characters of a name that stop a regex match once its deadline has passed. Matching reads the
+     * input through charAt, so even a catastrophically backtracking pattern keeps checking the clock.
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        // The clock is read once per this many characters
+        private static final int CHECK_INTERVAL = 1024;
+
+        private final String text;
+        private final long deadlineNanos;
+        private int reads;
+
+        private DeadlineCharSequence(String text, long deadlineNanos) {
+            this.text = text;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % CHECK_INTERVAL == 0 && System.nanoTime() - deadlineNanos > 0) {
+                throw new DeadlineExceededException();
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.substring(start, end), deadlineNanos);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+
+        private static final class DeadlineExceededException extends RuntimeException {
+            private static final long serialVersionUID = 1L;
+
+            private DeadlineExceededException() {
+                super("Name match deadline exceeded", null, false, false);
+            }
+        }
+    }
+
+    /**
+     * Running counts of a chunked adjustment
+     */
+    private static final class ChunkProgress {
+        private final long candidates;
+        private long lastId;
+        private long scanned;
+        private long matched;
+        private long updated;
+        private double totalBefore;
+        private double totalAfter;
+        private int chunks;
+        private int reportedStep;
+
+        private ChunkProgress(long candidates) {
+            this.candidates = candidates;
+        }
+
+        private void report() {
+            int step = candidates > 0 ? (int) Math.min(PROGRESS_STEPS, scanned * PROGRESS_STEPS / candidates) : PROGRESS_STEPS;
+            if (step > reportedStep) {
+                reportedStep = step;
+                AppLogger.log1Info("Salary adjustment progress: {} of {} candidates scanned in {} chunks, {} matched",
+                        scanned, candidates, chunks, matched);
+            } else {
+                AppLogger.log2Info("Salary adjustment chunk {} done, {} of {} candidates scanned",
+                        chunks, scanned, candidates);
+            }
+        }
+    }
+}
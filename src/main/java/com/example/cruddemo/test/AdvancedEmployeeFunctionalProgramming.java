@@ -53,6 +53,8 @@ public class AdvancedEmployeeFunctionalProgramming {
     }
 
     // 4. Functional Salary Adjustment Strategy
+    // In-memory demonstration only: it loads every employee and persists nothing.
+    // Real adjustments go through SalaryAdjustmentService, which updates with set-based SQL.
     public List<Employee> applyConditionalSalaryAdjustment(
             Predicate<Employee> eligibilityCriteria,
             Function<Employee, Double> salaryAdjustmentStrategy) {
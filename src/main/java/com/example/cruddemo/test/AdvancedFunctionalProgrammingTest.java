@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -25,7 +26,9 @@ public class AdvancedFunctionalProgrammingTest {
     @Autowired
     private AdvancedEmployeeFunctionalProgramming advancedFunctionalProgramming;
 
+    // Demo only: four full table scans at startup, so never in production (profiles prod and fast-start)
     @Bean
+    @Profile("!prod & !fast-start")
     public CommandLineRunner testAdvancedFunctionalProgramming() {
         return args -> {
             // Prepare test data if needed
@@ -77,8 +80,8 @@ public class AdvancedFunctionalProgrammingTest {
 
         AppLogger.log1Info("Grouped Employees:");
         groupedEmployees.forEach((key, employees) -> {
-            AppLogger.log1Info("Group: " + key);
-            employees.forEach(emp -> AppLogger.log1Info(" - " + emp.getFullName()));
+            AppLogger.log1Info("Group: {}", key);
+            employees.forEach(emp -> AppLogger.log1Info(" - {}", emp.getFullName()));
         });
     }
 
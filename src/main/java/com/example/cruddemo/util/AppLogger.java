@@ -1,10 +1,16 @@
 package com.example.cruddemo.util;
 
+import ch.qos.logback.classic.Level;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Minimal dual logging utility that provides access to two separate log files.
  * This class uses only Lombok's @Slf4j annotation and is accessible throughout the project.
+ * <p>
+ * When an {@link AsyncLogDispatcher} is installed, enabled records are handed to its writer
+ * thread instead of running the appenders on the calling thread. Pass values as arguments
+ * ({@code log1Info("Employee {}", id)}) rather than concatenating them into the message, so
+ * disabled records cost nothing and enabled ones are formatted off the request thread.
  */
 @Slf4j(topic = "log1")
 public class AppLogger {
@@ -20,116 +26,171 @@ public class AppLogger {
     // Static reference to the second logger
     private static final org.slf4j.Logger log2 = Log2Holder.log;
 
+    // Installed async dispatcher, null for synchronous logging
+    private static volatile AsyncLogDispatcher dispatcher;
+
+    /**
+     * Switches to asynchronous logging through the given dispatcher
+     * @param asyncDispatcher The dispatcher to use, or null to log synchronously again
+     * @throws IllegalStateException if SLF4J is not bound to Logback
+     */
+    public static void setDispatcher(AsyncLogDispatcher asyncDispatcher) {
+        if (asyncDispatcher != null
+                && !(log instanceof ch.qos.logback.classic.Logger && log2 instanceof ch.qos.logback.classic.Logger)) {
+            throw new IllegalStateException("Async logging requires Logback as the SLF4J binding");
+        }
+        dispatcher = asyncDispatcher;
+    }
+
+    /**
+     * @return The installed async dispatcher, or null when logging synchronously
+     */
+    public static AsyncLogDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * Log to the primary log file (application.log)
      */
     public static void log1Info(String message) {
-        log.info(message);
+        if (log.isInfoEnabled()) {
+            emit(log, Level.INFO, message, null);
+        }
     }
     
     /**
      * Log to the primary log file with formatted message
      */
     public static void log1Info(String format, Object... args) {
-        log.info(format, args);
+        if (log.isInfoEnabled()) {
+            emit(log, Level.INFO, format, args);
+        }
     }
 
     /**
      * Log to the primary log file with debug level
      */
     public static void log1Debug(String message) {
-        log.debug(message);
+        if (log.isDebugEnabled()) {
+            emit(log, Level.DEBUG, message, null);
+        }
     }
     
     /**
      * Log to the primary log file with debug level and formatted message
      */
     public static void log1Debug(String format, Object... args) {
-        log.debug(format, args);
+        if (log.isDebugEnabled()) {
+            emit(log, Level.DEBUG, format, args);
+        }
     }
 
     /**
      * Log to the primary log file with warn level
      */
     public static void log1Warn(String message) {
-        log.warn(message);
+        if (log.isWarnEnabled()) {
+            emit(log, Level.WARN, message, null);
+        }
     }
     
     /**
      * Log to the primary log file with warn level and formatted message
      */
     public static void log1Warn(String format, Object... args) {
-        log.warn(format, args);
+        if (log.isWarnEnabled()) {
+            emit(log, Level.WARN, format, args);
+        }
     }
 
     /**
      * Log to the primary log file with error level
      */
     public static void log1Error(String message) {
-        log.error(message);
+        if (log.isErrorEnabled()) {
+            emit(log, Level.ERROR, message, null);
+        }
     }
     
     /**
      * Log to the primary log file with error level and formatted message
      */
     public static void log1Error(String format, Object... args) {
-        log.error(format, args);
+        if (log.isErrorEnabled()) {
+            emit(log, Level.ERROR, format, args);
+        }
     }
 
     /**
      * Log to the secondary log file (secondary.log)
      */
     public static void log2Info(String message) {
-        log2.info(message);
+        if (log2.isInfoEnabled()) {
+            emit(log2, Level.INFO, message, null);
+        }
     }
     
     /**
      * Log to the secondary log file with formatted message
      */
     public static void log2Info(String format, Object... args) {
-        log2.info(format, args);
+        if (log2.isInfoEnabled()) {
+            emit(log2, Level.INFO, format, args);
+        }
     }
 
     /**
      * Log to the secondary log file with debug level
      */
     public static void log2Debug(String message) {
-        log2.debug(message);
+        if (log2.isDebugEnabled()) {
+            emit(log2, Level.DEBUG, message, null);
+        }
     }
     
     /**
      * Log to the secondary log file with debug level and formatted message
      */
     public static void log2Debug(String format, Object... args) {
-        log2.debug(format, args);
+        if (log2.isDebugEnabled()) {
+            emit(log2, Level.DEBUG, format, args);
+        }
     }
 
     /**
      * Log to the secondary log file with warn level
      */
     public static void log2Warn(String message) {
-        log2.warn(message);
+        if (log2.isWarnEnabled()) {
+            emit(log2, Level.WARN, message, null);
+        }
     }
     
     /**
      * Log to the secondary log file with warn level and formatted message
      */
     public static void log2Warn(String format, Object... args) {
-        log2.warn(format, args);
+        if (log2.isWarnEnabled()) {
+            emit(log2, Level.WARN, format, args);
+        }
     }
 
     /**
      * Log to the secondary log file with error level
      */
     public static void log2Error(String message) {
-        log2.error(message);
+        if (log2.isErrorEnabled()) {
+            emit(log2, Level.ERROR, message, null);
+        }
     }
     
     /**
      * Log to the secondary log file with error level and formatted message
      */
     public static void log2Error(String format, Object... args) {
-        log2.error(format, args);
+        if (log2.isErrorEnabled()) {
+            emit(log2, Level.ERROR, format, args);
+        }
     }
 
     /**
@@ -219,4 +280,26 @@ public class AppLogger {
             log1Error(format, args);
         }
     }
+
+    // Hands an enabled record to the async dispatcher, or logs it on the calling thread
+    private static void emit(org.slf4j.Logger logger, Level level, String format, Object[] args) {
+        AsyncLogDispatcher current = dispatcher;
+        if (current != null) {
+            current.dispatch((ch.qos.logback.classic.Logger) logger, level, format, args);
+            return;
+        }
+        switch (level.toInt()) {
+            case Level.DEBUG_INT:
+                logger.debug(format, args);
+                break;
+            case Level.WARN_INT:
+                logger.warn(format, args);
+                break;
+            case Level.ERROR_INT:
+                logger.error(format, args);
+                break;
+            default:
+                logger.info(format, args);
+        }
+    }
 }
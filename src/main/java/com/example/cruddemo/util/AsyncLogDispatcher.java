@@ -0,0 +1,246 @@
+package com.example.cruddemo.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.status.ErrorStatus;
+import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands log records from request threads to a single background writer thread.
+ * Producers only copy the format, the arguments, the thread name and the timestamp into a
+ * preallocated ring buffer slot; message formatting and the (file) appenders run on the writer
+ * thread. The events keep the producer's thread name and timestamp, so log lines look the same
+ * as with synchronous logging.
+ * <p>
+ * Arguments of mutable types are rendered with {@code toString()} on the producer thread,
+ * because the entity may change (or its session close) before the writer formats it.
+ */
+public class AsyncLogDispatcher {
+
+    private static final String FQCN = AppLogger.class.getName();
+
+    // Writer idle back-off bounds
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // How long close() waits for the queued records
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * What a producer does when the buffer is full
+     */
+    public enum OverflowPolicy {
+        // Discard DEBUG/INFO records; WARN and ERROR records still wait for space
+        DROP,
+        // Wait for space for every record
+        BLOCK
+    }
+
+    private final LogRingBuffer buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Drop count already reported by the writer thread
+    private long reportedDrops;
+
+    /**
+     * Creates the dispatcher and starts its writer thread
+     * @param capacity Ring buffer size, rounded up to a power of two
+     * @param overflowPolicy What to do when the buffer is full
+     */
+    public AsyncLogDispatcher(int capacity, OverflowPolicy overflowPolicy) {
+        this.buffer = new LogRingBuffer(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.writer = new Thread(this::drainLoop, "async-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a parameterized log record
+     * @param logger The logback logger that will write the record
+     * @param level The record level
+     * @param format The SLF4J message pattern
+     * @param args The message arguments (a trailing Throwable is logged as the exception)
+     */
+    public void dispatch(Logger logger, Level level, String format, Object[] args) {
+        long sequence = buffer.tryClaim();
+        if (sequence < 0) {
+            if (overflowPolicy == OverflowPolicy.DROP && level.toInt() < Level.WARN_INT) {
+                dropped.increment();
+                return;
+            }
+            sequence = awaitSlot();
+            if (sequence < 0) {
+                dropped.increment();
+                return;
+            }
+        }
+        LogRingBuffer.Slot slot = buffer.slot(sequence);
+        slot.logger = logger;
+        slot.level = level;
+        slot.format = format;
+        slot.args = snapshotArguments(args);
+        slot.threadName = Thread.currentThread().getName();
+        slot.timestamp = System.currentTimeMillis();
+        slot.mdc = currentMdc();
+        buffer.publish(sequence);
+    }
+
+    /**
+     * @return Number of records discarded because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Uninstalls the dispatcher from AppLogger and writes the queued records
+     */
+    public void close() {
+        if (AppLogger.getDispatcher() == this) {
+            AppLogger.setDispatcher(null);
+        }
+        shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Stops accepting work, writes the queued records and stops the writer thread
+     * @param timeoutMillis How long to wait for the queued records to be written
+     */
+    public void shutdown(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Returns -1 if the dispatcher is shut down (or its writer has died) while waiting
+    private long awaitSlot() {
+        long sequence;
+        int spins = 0;
+        while ((sequence = buffer.tryClaim()) < 0 && running && writer.isAlive()) {
+            if (++spins < 10) {
+                Thread.onSpinWait();
+            } else if (spins < 100) {
+                // Lets the writer run when it shares the core with the producers
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(MIN_PARK_NANOS);
+            }
+        }
+        return sequence;
+    }
+
+    private void drainLoop() {
+        long parkNanos = MIN_PARK_NANOS;
+        while (true) {
+            LogRingBuffer.Slot slot = buffer.peek();
+            if (slot != null) {
+                write(slot);
+                buffer.release();
+                parkNanos = MIN_PARK_NANOS;
+                continue;
+            }
+            reportDrops();
+            if (!running) {
+                // Everything published before the stop has been written
+                return;
+            }
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    private void write(LogRingBuffer.Slot slot) {
+        try {
+            LoggingEvent event = new LoggingEvent(FQCN, slot.logger, slot.level, slot.format, null, slot.args);
+            event.setThreadName(slot.threadName);
+            event.setTimeStamp(slot.timestamp);
+            if (slot.mdc != null) {
+                event.setMDCPropertyMap(slot.mdc);
+            }
+            slot.logger.callAppenders(event);
+        } catch (Throwable t) {
+            // A failing appender must not stop the writer thread, or producers would wait for space forever
+            reportError(slot.logger, "Async log writer failed to write a record", t);
+        }
+    }
+
+    // Reports through logback's status manager, like appender errors
+    private void reportError(Logger logger, String message, Throwable t) {
+        try {
+            logger.getLoggerContext().getStatusManager().add(new ErrorStatus(message, this, t));
+        } catch (Throwable ignored) {
+            // Nothing left to report to
+        }
+    }
+
+    private void reportDrops() {
+        long total = dropped.sum();
+        if (total > reportedDrops) {
+            Logger logger = (Logger) org.slf4j.LoggerFactory.getLogger("log1");
+            long newlyDropped = total - reportedDrops;
+            reportedDrops = total;
+            try {
+                logger.warn("Async logging dropped {} records because the buffer was full", newlyDropped);
+            } catch (Throwable t) {
+                reportError(logger, "Async log writer failed to report dropped records", t);
+            }
+        }
+    }
+
+    private static Object[] snapshotArguments(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] copy = null;
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null || isImmutable(arg)) {
+                continue;
+            }
+            if (copy == null) {
+                copy = args.clone();
+            }
+            copy[i] = String.valueOf(arg);
+        }
+        return copy != null ? copy : args;
+    }
+
+    private static boolean isImmutable(Object arg) {
+        return arg instanceof String || arg instanceof Number || arg instanceof Boolean
+                || arg instanceof Character || arg instanceof Enum || arg instanceof Throwable;
+    }
+
+    // Logback's MDC maps are copy-on-write, so the current map can be handed over without copying
+    private static Map<String, String> currentMdc() {
+        MDCAdapter adapter = MDC.getMDCAdapter();
+        if (adapter instanceof LogbackMDCAdapter) {
+            Map<String, String> map = ((LogbackMDCAdapter) adapter).getPropertyMap();
+            return map != null && !map.isEmpty() ? map : null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.cruddemo.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring buffer of log records.
+ * Each slot carries a sequence number (Vyukov's bounded queue): producers claim a position
+ * with one CAS on the tail and publish the slot by advancing its sequence, the consumer
+ * frees it the same way. Slots are preallocated and reused, so a hand-off allocates nothing.
+ */
+final class LogRingBuffer {
+
+    /**
+     * Reusable holder of one log record
+     */
+    static final class Slot {
+        Logger logger;
+        Level level;
+        String format;
+        Object[] args;
+        String threadName;
+        long timestamp;
+        Map<String, String> mdc;
+
+        void clear() {
+            logger = null;
+            format = null;
+            args = null;
+            threadName = null;
+            mdc = null;
+        }
+    }
+
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Next position to consume, only touched by the consumer thread
+    private long head;
+
+    /**
+     * Creates an empty buffer
+     * @param capacity Number of slots, rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Slot[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Claims a free slot for writing
+     * @return The sequence of the claimed slot, or -1 when the buffer is full
+     */
+    long tryClaim() {
+        long position = tail.get();
+        while (true) {
+            long difference = sequences.get((int) (position & mask)) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    Slot slot(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    /**
+     * Makes a claimed slot visible to the consumer
+     * @param sequence The sequence returned by {@link #tryClaim()}
+     */
+    void publish(long sequence) {
+        sequences.lazySet((int) (sequence & mask), sequence + 1);
+    }
+
+    /**
+     * Returns the next published slot without removing it (consumer thread only)
+     * @return The slot, or null when nothing is published yet
+     */
+    Slot peek() {
+        return sequences.get((int) (head & mask)) == head + 1 ? slots[(int) (head & mask)] : null;
+    }
+
+    /**
+     * Releases the slot returned by {@link #peek()} for reuse (consumer thread only)
+     */
+    void release() {
+        int index = (int) (head & mask);
+        slots[index].clear();
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+    }
+}
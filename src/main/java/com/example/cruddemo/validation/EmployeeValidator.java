@@ -0,0 +1,254 @@
+package com.example.cruddemo.validation;
+
+import com.example.cruddemo.exception.ValidationFailedException;
+import com.example.cruddemo.model.Employee;
+import com.example.cruddemo.model.EmployeePatch;
+import com.example.cruddemo.model.Manager;
+import com.example.cruddemo.repository.ManagerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validation rules for employee writes, shared by the create, update and batch paths.
+ * It enforces the constraints declared on the Employee entity plus the service rules in one
+ * pass and reports every violation, so request bodies are not run through Bean Validation as well.
+ * Field checks run in a fixed order and allocate nothing: the email rule is compiled once into
+ * character tables instead of a regex. Referenced managers are resolved once per request or batch.
+ */
+@Component
+public class EmployeeValidator {
+
+    /**
+     * Which fields have to be present
+     */
+    public enum Mode {
+        // Every required field must be present (create and full update)
+        FULL,
+        // Absent fields are left unchanged, present ones are still checked (partial update)
+        PARTIAL
+    }
+
+    // Column lengths declared on the Employee entity
+    private static final int NAME_MAX_LENGTH = 50;
+    private static final int EMAIL_MAX_LENGTH = 100;
+
+    // Email syntax limits (RFC 5321 local part, RFC 1035 label)
+    private static final int EMAIL_LOCAL_MAX_LENGTH = 64;
+    private static final int DOMAIN_LABEL_MAX_LENGTH = 63;
+
+    // Characters allowed in the email local part and in domain labels, indexed by ASCII code
+    private static final boolean[] LOCAL_PART_CHARS = characterTable("+_-");
+    private static final boolean[] DOMAIN_LABEL_CHARS = characterTable("-");
+
+    private final ManagerRepository managerRepository;
+
+    /**
+     * Constructor-based dependency injection
+     * @param managerRepository The repository used to resolve referenced managers
+     */
+    @Autowired
+    public EmployeeValidator(ManagerRepository managerRepository) {
+        this.managerRepository = managerRepository;
+    }
+
+    /**
+     * Validates one employee and resolves its manager with a single lookup
+     * @param employee The employee to validate
+     * @param mode Whether absent fields are violations
+     * @return The referenced manager, or null when the employee references none
+     * @throws ValidationFailedException with every violation if the employee is invalid
+     */
+    public Manager validate(Employee employee, Mode mode) {
+        Map<String, String> violations = new LinkedHashMap<>();
+        checkFields(employee, mode, violations);
+        Manager manager = null;
+        Long managerId = employee != null ? employee.getManagerId() : null;
+        if (managerId != null) {
+            manager = managerRepository.findById(managerId).orElse(null);
+            if (manager == null) {
+                violations.put("managerId", "Manager not found with id: " + managerId);
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new ValidationFailedException(violations);
+        }
+        return manager;
+    }
+
+    /**
+     * Validates the values of a merge patch without touching the database.
+     * Present values follow the partial update rules, and required fields cannot be cleared.
+     * The referenced manager is not looked up: the foreign key rejects unknown managers on write.
+     * @param patch The patch to validate
+     * @throws ValidationFailedException with every violation if the patch is invalid
+     */
+    public void validate(EmployeePatch patch) {
+        Employee values = new Employee();
+        patch.applyTo(values);
+        Map<String, String> violations = new LinkedHashMap<>();
+        checkFields(values, Mode.PARTIAL, violations);
+        rejectCleared(patch, EmployeePatch.Field.FIRST_NAME, "First name is required", violations);
+        rejectCleared(patch, EmployeePatch.Field.LAST_NAME, "Last name is required", violations);
+        rejectCleared(patch, EmployeePatch.Field.EMAIL, "Email is required", violations);
+        if (!violations.isEmpty()) {
+            throw new ValidationFailedException(violations);
+        }
+    }
+
+    private static void rejectCleared(EmployeePatch patch, EmployeePatch.Field field, String message,
+                                      Map<String, String> violations) {
+        if (patch.contains(field) && patch.get(field) == null) {
+            violations.put(field.getProperty(), message);
+        }
+    }
+
+    /**
+     * Checks the fields of one employee without touching the database
+     * @param employee The employee to check
+     * @param mode Whether absent fields are violations
+     * @param violations Receives field name to error message for every violation
+     * @return true if no violation was found
+     */
+    public boolean checkFields(Employee employee, Mode mode, Map<String, String> violations) {
+        if (employee == null) {
+            violations.put("employee", "Employee cannot be null");
+            return false;
+        }
+        int found = violations.size();
+        checkText(employee.getFirstName(), "firstName", mode, NAME_MAX_LENGTH,
+                "First name is required", "First name cannot exceed 50 characters", violations);
+        checkText(employee.getLastName(), "lastName", mode, NAME_MAX_LENGTH,
+                "Last name is required", "Last name cannot exceed 50 characters", violations);
+        String email = employee.getEmail();
+        if (checkText(email, "email", mode, EMAIL_MAX_LENGTH,
+                "Email is required", "Email cannot exceed 100 characters", violations)
+                && email != null && !isValidEmail(email)) {
+            violations.put("email", "Email should be valid");
+        }
+        if (employee.getSalary() != null && employee.getSalary() < 0) {
+            violations.put("salary", "Salary cannot be negative");
+        }
+        return violations.size() == found;
+    }
+
+    /**
+     * Resolves the managers referenced by a batch with one query and rejects unknown ones.
+     * Rows that already have violations are skipped.
+     * @param employees The batch rows
+     * @param violations Violations per row, in the same order as the rows
+     * @return Manager ID to manager, for the managers that exist
+     */
+    public Map<Long, Manager> checkManagers(List<Employee> employees, List<Map<String, String>> violations) {
+        Set<Long> managerIds = new HashSet<>();
+        for (int i = 0; i < employees.size(); i++) {
+            if (violations.get(i).isEmpty() && employees.get(i).getManagerId() != null) {
+                managerIds.add(employees.get(i).getManagerId());
+            }
+        }
+        Map<Long, Manager> managers = new HashMap<>();
+        if (managerIds.isEmpty()) {
+            return managers;
+        }
+        for (Manager manager : managerRepository.findAllById(managerIds)) {
+            managers.put(manager.getId(), manager);
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            Long managerId = employees.get(i).getManagerId();
+            if (violations.get(i).isEmpty() && managerId != null && !managers.containsKey(managerId)) {
+                violations.get(i).put("managerId", "Manager not found with id: " + managerId);
+            }
+        }
+        return managers;
+    }
+
+    // Returns true if the value is acceptable so far (absent in partial mode, or present, not blank and short enough)
+    private static boolean checkText(String value, String field, Mode mode, int maxLength,
+                                     String requiredMessage, String lengthMessage, Map<String, String> violations) {
+        if (value == null) {
+            if (mode == Mode.FULL) {
+                violations.put(field, requiredMessage);
+                return false;
+            }
+            return true;
+        }
+        if (isBlank(value)) {
+            violations.put(field, requiredMessage);
+            return false;
+        }
+        if (value.length() > maxLength) {
+            violations.put(field, lengthMessage);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Accepts addresses that satisfy both the historical service pattern
+     * ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$ and the Bean Validation @Email rules:
+     * no empty, leading or trailing dot-separated parts, and domain labels that
+     * neither start nor end with a hyphen.
+     */
+    private static boolean isValidEmail(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0 || at > EMAIL_LOCAL_MAX_LENGTH) {
+            return false;
+        }
+        return isDotSeparated(email, 0, at, LOCAL_PART_CHARS, false)
+                && isDotSeparated(email, at + 1, email.length(), DOMAIN_LABEL_CHARS, true);
+    }
+
+    // Checks that [from, to) is one or more non-empty runs of allowed characters separated by single dots
+    private static boolean isDotSeparated(String value, int from, int to, boolean[] allowed, boolean domain) {
+        int partStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || value.charAt(i) == '.') {
+                int length = i - partStart;
+                if (length == 0) {
+                    return false;
+                }
+                if (domain && (length > DOMAIN_LABEL_MAX_LENGTH
+                        || value.charAt(partStart) == '-' || value.charAt(i - 1) == '-')) {
+                    return false;
+                }
+                partStart = i + 1;
+                continue;
+            }
+            char c = value.charAt(i);
+            if (c >= allowed.length || !allowed[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean[] characterTable(String extra) {
+        boolean[] table = new boolean[128];
+        for (char c = '0'; c <= '9'; c++) {
+            table[c] = true;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            table[c] = true;
+            table[Character.toUpperCase(c)] = true;
+        }
+        for (int i = 0; i < extra.length(); i++) {
+            table[extra.charAt(i)] = true;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,4 @@
+-- H2 equivalents of the procedures in sql/stored_procedures.sql (profiles perf and h2-replica).
+-- The bodies live in com.example.cruddemo.datasource.H2StoredProcedures.
+
+CREATE ALIAS IF NOT EXISTS sp_insert_employee FOR 'com.example.cruddemo.datasource.H2StoredProcedures.insertEmployee';
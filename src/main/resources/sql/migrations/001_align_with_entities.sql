@@ -0,0 +1,78 @@
+-- Brings an existing MySQL employee database up to sql/schema.sql, so that the prod profile
+-- (ddl-auto=validate, through fast-start) starts against it. Run it once before deploying:
+--   mysql -u <user> -p employee_db < src/main/resources/sql/migrations/001_align_with_entities.sql
+-- Every step checks information_schema first, so the script can be run again, and applies to
+-- databases created from the old sql/schema.sql as well as to ones created by ddl-auto=update.
+
+-- Managers (missing if the database was created from the old sql/schema.sql)
+CREATE TABLE IF NOT EXISTS managers (
+    manager_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    phone_number VARCHAR(255),
+    salary DECIMAL(10,2) NOT NULL
+);
+
+-- Optimistic lock version; existing rows start at 0
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'employees' AND column_name = 'version') = 0,
+    'ALTER TABLE employees ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER id',
+    'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Manager of an employee
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'employees' AND column_name = 'manager_id') = 0,
+    'ALTER TABLE employees ADD COLUMN manager_id BIGINT',
+    'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Foreign key of the manager, unless one exists already under a Hibernate-generated name
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.key_column_usage
+               WHERE table_schema = DATABASE() AND table_name = 'employees' AND column_name = 'manager_id'
+                 AND referenced_table_name = 'managers') = 0,
+    'ALTER TABLE employees ADD CONSTRAINT fk_employees_manager FOREIGN KEY (manager_id) REFERENCES managers (manager_id)',
+    'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Salaries are mapped as Double; the old sql/schema.sql declared DECIMAL(10,2)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'employees' AND column_name = 'salary'
+                 AND data_type <> 'double') > 0,
+    'ALTER TABLE employees MODIFY COLUMN salary DOUBLE',
+    'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Keyset pagination indexes (sort column + primary key)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'employees'
+                 AND index_name = 'idx_employees_last_name_id') = 0,
+    'CREATE INDEX idx_employees_last_name_id ON employees (last_name, id)',
+    'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'employees'
+                 AND index_name = 'idx_employees_salary_id') = 0,
+    'CREATE INDEX idx_employees_salary_id ON employees (salary, id)',
+    'DO 0');
+PREPARE migration FROM @ddl;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- Change versions of the tables above, for the entity tags of list responses
+CREATE TABLE IF NOT EXISTS table_versions (
+    table_name VARCHAR(32) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
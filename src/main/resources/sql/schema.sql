@@ -1,28 +1,35 @@
--- Create employee table
+-- Schema of the employee database. It mirrors the tables Hibernate generates from the entities,
+-- so ddl-auto=validate passes against it. The same file creates the MySQL database and the local
+-- H2 databases (MODE=MySQL) of the profiles perf and h2-replica, so indexes are declared inside
+-- CREATE TABLE, which both understand.
+
+CREATE TABLE IF NOT EXISTS managers (
+    manager_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    phone_number VARCHAR(255),
+    salary DECIMAL(10,2) NOT NULL
+);
+
 CREATE TABLE IF NOT EXISTS employees (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    version BIGINT DEFAULT 0 NOT NULL,
     first_name VARCHAR(255) NOT NULL,
     last_name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) UNIQUE NOT NULL,
-    phone_number VARCHAR(20),
+    email VARCHAR(255) NOT NULL UNIQUE,
+    phone_number VARCHAR(255),
     position VARCHAR(255),
-    salary DECIMAL(10,2)
+    salary DOUBLE,
+    manager_id BIGINT,
+    -- Keyset pagination indexes (sort column + primary key)
+    INDEX idx_employees_last_name_id (last_name, id),
+    INDEX idx_employees_salary_id (salary, id),
+    CONSTRAINT fk_employees_manager FOREIGN KEY (manager_id) REFERENCES managers (manager_id)
 );
 
-DELIMITER //
-CREATE PROCEDURE CreateEmployee(
-    IN firstName VARCHAR(255), 
-    IN lastName VARCHAR(255), 
-    IN email VARCHAR(255), 
-    IN phoneNumber VARCHAR(20), 
-    IN position VARCHAR(255), 
-    IN salary DECIMAL(10,2),
-    OUT newId INT  -- Added OUT parameter
-)
-BEGIN
-    INSERT INTO employees (first_name, last_name, email, phone_number, position, salary) 
-    VALUES (firstName, lastName, email, phoneNumber, position, salary);
-
-    SET newId = LAST_INSERT_ID();  -- Assign last inserted ID to OUT parameter
-END //
-DELIMITER ;
+-- Change versions of the tables above, for the entity tags of list responses
+CREATE TABLE IF NOT EXISTS table_versions (
+    table_name VARCHAR(32) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
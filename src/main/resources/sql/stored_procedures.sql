@@ -21,3 +21,22 @@ END //
 DELIMITER ;
 
 
+-- Procedure to insert a new employee and return its ID (formerly in sql/schema.sql)
+DELIMITER //
+DROP PROCEDURE IF EXISTS CreateEmployee;
+CREATE PROCEDURE CreateEmployee(
+    IN firstName VARCHAR(255), 
+    IN lastName VARCHAR(255), 
+    IN email VARCHAR(255), 
+    IN phoneNumber VARCHAR(20), 
+    IN position VARCHAR(255), 
+    IN salary DECIMAL(10,2),
+    OUT newId INT  -- Added OUT parameter
+)
+BEGIN
+    INSERT INTO employees (first_name, last_name, email, phone_number, position, salary) 
+    VALUES (firstName, lastName, email, phoneNumber, position, salary);
+
+    SET newId = LAST_INSERT_ID();  -- Assign last inserted ID to OUT parameter
+END //
+DELIMITER ;
@@ -0,0 +1,215 @@
+package com.example.cruddemo.index;
+
+import com.example.cruddemo.event.EmployeeChangeEvent;
+import com.example.cruddemo.event.EmployeeSnapshot;
+import com.example.cruddemo.model.EmployeeName;
+import com.example.cruddemo.model.SearchIndexStats;
+import com.example.cruddemo.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NameSearchIndexTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final NameSearchIndex index = new NameSearchIndex(employeeRepository, 4000);
+
+    @Test
+    void ranksWholeWordsBeforePrefixesBeforeEmailWords() {
+        // Each tier is filled in ID order, so the tiers are given descending IDs
+        index.load(List.of(
+                employee(1, "Bob", "Jones", "annette.b@example.com", 0),
+                employee(2, "Anna", "Smith", "a.smith@example.com", 0),
+                employee(3, "Ann", "Other", "a.other@example.com", 0),
+                employee(4, "Carl", "Berg", "c.berg@example.com", 0)));
+
+        assertThat(ids(index.search("ann", 10))).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void requiresEveryQueryWord() {
+        index.load(List.of(
+                employee(1, "Ann", "Smith", "a1@example.com", 0),
+                employee(2, "Ann", "Jones", "a2@example.com", 0)));
+
+        assertThat(ids(index.search("ann jo", 10))).containsExactly(2L);
+        assertThat(ids(index.search("Ann   SMITH", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void matchesAccentsAndCaseInsensitively() {
+        index.load(List.of(employee(1, "José", "Muñoz", "jm@example.com", 0)));
+
+        assertThat(ids(index.search("jose munoz", 10))).containsExactly(1L);
+        assertThat(index.search("JOSÉ", 10)).extracting(EmployeeName::getFullName).containsExactly("José Muñoz");
+    }
+
+    @Test
+    void findsTyposWithOneEditBeforeTwo() {
+        index.load(List.of(
+                employee(1, "Jonothan", "Green", "j.green@example.com", 0),
+                employee(2, "Jonathan", "Brown", "j.brown@example.com", 0),
+                employee(3, "Carl", "Berg", "c.berg@example.com", 0)));
+
+        // One edit from Jonathan, two from Jonothan
+        assertThat(ids(index.search("jonathen", 10))).containsExactly(2L, 1L);
+        // A transposition is one edit
+        assertThat(ids(index.search("borwn", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void allowsNoTyposInShortWords() {
+        index.load(List.of(employee(1, "Ann", "Smith", "a1@example.com", 0)));
+
+        assertThat(index.search("anm", 10)).isEmpty();
+        // Five letters allow one edit, not two
+        assertThat(ids(index.search("smoth", 10))).containsExactly(1L);
+        assertThat(index.search("smxtx", 10)).isEmpty();
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        List<EmployeeSnapshot> employees = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            employees.add(employee(id, "Ann", "Smith" + id, "a" + id + "@example.com", 0));
+        }
+        index.load(employees);
+
+        assertThat(ids(index.search("ann", 5))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void appliesUpdatesAndRemovals() {
+        EmployeeSnapshot ann = employee(1, "Ann", "Smith", "a1@example.com", 0);
+        EmployeeSnapshot bob = employee(2, "Bob", "Jones", "b2@example.com", 0);
+        index.load(List.of(ann, bob));
+
+        EmployeeSnapshot renamed = employee(1, "Hannah", "Smith", "a1@example.com", 1);
+        index.onEmployeeChange(EmployeeChangeEvent.updated(ann, renamed));
+        index.onEmployeeChange(EmployeeChangeEvent.deleted(bob));
+
+        assertThat(index.search("ann", 10)).isEmpty();
+        assertThat(ids(index.search("hannah", 10))).containsExactly(1L);
+        assertThat(index.search("bob", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresSnapshotsOlderThanTheAppliedVersion() {
+        EmployeeSnapshot v0 = employee(1, "Ann", "Smith", "a1@example.com", 0);
+        EmployeeSnapshot v1 = employee(1, "Beth", "Smith", "a1@example.com", 1);
+        EmployeeSnapshot v2 = employee(1, "Cleo", "Smith", "a1@example.com", 2);
+        index.load(List.of(v0));
+
+        // The listener of the second update runs first
+        index.onEmployeeChange(EmployeeChangeEvent.updated(v1, v2));
+        index.onEmployeeChange(EmployeeChangeEvent.updated(v0, v1));
+
+        assertThat(ids(index.search("cleo", 10))).containsExactly(1L);
+        assertThat(index.search("beth", 10)).isEmpty();
+
+        // A late update of a deleted employee does not bring it back
+        index.onEmployeeChange(EmployeeChangeEvent.deleted(v2));
+        index.onEmployeeChange(EmployeeChangeEvent.updated(v0, v1));
+        assertThat(index.search("smith", 10)).isEmpty();
+    }
+
+    @Test
+    void compactsDeadPositions() {
+        List<EmployeeSnapshot> employees = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            employees.add(employee(id, "Ann", "Smith" + id, "a" + id + "@example.com", 0));
+        }
+        index.load(employees);
+
+        // Every rename leaves a dead position; the 1025th triggers a compaction
+        EmployeeSnapshot current = employees.get(0);
+        for (int version = 1; version <= 1025; version++) {
+            EmployeeSnapshot next = employee(1, version % 2 == 0 ? "Ann" : "Xavier", "Smith1", "a1@example.com", version);
+            index.onEmployeeChange(EmployeeChangeEvent.updated(current, next));
+            current = next;
+        }
+        List<EmployeeSnapshot> expected = new ArrayList<>(employees);
+        expected.set(0, current);
+        NameSearchIndex fresh = new NameSearchIndex(employeeRepository, 4000);
+        fresh.load(expected);
+
+        SearchIndexStats stats = index.stats();
+        assertThat(stats.getEmployees()).isEqualTo(10);
+        assertThat(stats.getPostings()).isEqualTo(fresh.stats().getPostings());
+        assertThat(stats.getTrigrams()).isEqualTo(fresh.stats().getTrigrams());
+        assertThat(ids(index.search("xavier", 10))).containsExactly(1L);
+        assertThat(ids(index.search("smith10", 1))).containsExactly(10L);
+    }
+
+    @Test
+    void replaysChangesDeliveredDuringReload() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch queryReleased = new CountDownLatch(1);
+        // The query result predates the changes below
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Ann", "Smith", "a1@example.com", 0L});
+        rows.add(new Object[]{2L, "Bob", "Jones", "b2@example.com", 0L});
+        when(employeeRepository.findSearchIndexRows()).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            queryReleased.await(5, TimeUnit.SECONDS);
+            return rows;
+        });
+
+        Thread reload = new Thread(index::reload);
+        reload.start();
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        index.onEmployeeChange(EmployeeChangeEvent.created(employee(3, "Cleo", "Park", "c3@example.com", 0)));
+        index.onEmployeeChange(EmployeeChangeEvent.updated(
+                employee(1, "Ann", "Smith", "a1@example.com", 0), employee(1, "Ann", "Baker", "a1@example.com", 1)));
+        index.onEmployeeChange(EmployeeChangeEvent.deleted(employee(2, "Bob", "Jones", "b2@example.com", 0)));
+        assertThat(index.isReady()).isFalse();
+        queryReleased.countDown();
+        reload.join(5000);
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(index.search("cleo", 10))).containsExactly(3L);
+        assertThat(ids(index.search("baker", 10))).containsExactly(1L);
+        assertThat(index.search("smith", 10)).isEmpty();
+        assertThat(index.search("bob", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void discardsAReloadOverlappingAnInvalidation() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch queryReleased = new CountDownLatch(1);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Ann", "Smith", "a1@example.com", 0L});
+        when(employeeRepository.findSearchIndexRows()).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            queryReleased.await(5, TimeUnit.SECONDS);
+            return rows;
+        });
+
+        Thread reload = new Thread(index::reload);
+        reload.start();
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        index.invalidate();
+        queryReleased.countDown();
+        reload.join(5000);
+
+        assertThat(index.isReady()).isFalse();
+    }
+
+    private static EmployeeSnapshot employee(long id, String firstName, String lastName, String email, long version) {
+        return new EmployeeSnapshot(id, firstName, lastName, email, null, null, null, version);
+    }
+
+    private static List<Long> ids(List<EmployeeName> names) {
+        return names.stream().map(EmployeeName::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.cruddemo.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncLogDispatcherTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final GatedAppender appender = new GatedAppender();
+    private Logger logger;
+    private AsyncLogDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        logger = context.getLogger("async-test");
+        logger.setAdditive(false);
+        appender.setContext(context);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appender.open();
+        if (dispatcher != null) {
+            dispatcher.shutdown(5000);
+        }
+        context.stop();
+    }
+
+    @Test
+    void writesRecordsWithTheProducerThreadAndArguments() throws Exception {
+        appender.open();
+        dispatcher = new AsyncLogDispatcher(16, AsyncLogDispatcher.OverflowPolicy.DROP);
+        StringBuilder mutable = new StringBuilder("before");
+
+        dispatcher.dispatch(logger, Level.INFO, "Saved {} with {}", new Object[]{42, mutable});
+        // Mutable arguments are rendered when the record is queued
+        mutable.append(" and after");
+        dispatcher.shutdown(5000);
+
+        assertThat(appender.messages()).containsExactly("Saved 42 with before");
+        assertThat(appender.events.get(0).getThreadName()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void dropsInfoRecordsWhenFullUnderDrop() throws Exception {
+        dispatcher = new AsyncLogDispatcher(4, AsyncLogDispatcher.OverflowPolicy.DROP);
+        fillBuffer();
+
+        dispatcher.dispatch(logger, Level.INFO, "dropped", null);
+        dispatcher.dispatch(logger, Level.DEBUG, "dropped too", null);
+
+        assertThat(dispatcher.getDroppedCount()).isEqualTo(2);
+        appender.open();
+        dispatcher.shutdown(5000);
+        assertThat(appender.messages()).containsExactly("record 0", "record 1", "record 2", "record 3");
+    }
+
+    @Test
+    void keepsWarningsWhenFullUnderDrop() throws Exception {
+        dispatcher = new AsyncLogDispatcher(4, AsyncLogDispatcher.OverflowPolicy.DROP);
+        fillBuffer();
+
+        Thread producer = new Thread(() -> dispatcher.dispatch(logger, Level.WARN, "warning", null));
+        producer.start();
+        producer.join(200);
+        // Waits for space instead of being dropped
+        assertThat(producer.isAlive()).isTrue();
+
+        appender.open();
+        producer.join(5000);
+        dispatcher.shutdown(5000);
+        assertThat(dispatcher.getDroppedCount()).isZero();
+        assertThat(appender.messages()).containsExactly("record 0", "record 1", "record 2", "record 3", "warning");
+    }
+
+    @Test
+    void waitsForSpaceWhenFullUnderBlock() throws Exception {
+        dispatcher = new AsyncLogDispatcher(4, AsyncLogDispatcher.OverflowPolicy.BLOCK);
+        fillBuffer();
+
+        Thread producer = new Thread(() -> dispatcher.dispatch(logger, Level.DEBUG, "debug", null));
+        producer.start();
+        producer.join(200);
+        assertThat(producer.isAlive()).isTrue();
+
+        appender.open();
+        producer.join(5000);
+        dispatcher.shutdown(5000);
+        assertThat(dispatcher.getDroppedCount()).isZero();
+        assertThat(appender.messages()).containsExactly("record 0", "record 1", "record 2", "record 3", "debug");
+    }
+
+    @Test
+    void dropsARecordStillWaitingAtShutdown() throws Exception {
+        dispatcher = new AsyncLogDispatcher(4, AsyncLogDispatcher.OverflowPolicy.BLOCK);
+        fillBuffer();
+
+        Thread producer = new Thread(() -> dispatcher.dispatch(logger, Level.ERROR, "late", null));
+        producer.start();
+        producer.join(200);
+        dispatcher.shutdown(10);
+        producer.join(5000);
+
+        // The producer gives up instead of waiting for a writer that has stopped
+        assertThat(producer.isAlive()).isFalse();
+        assertThat(dispatcher.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writesQueuedRecordsOnShutdown() {
+        appender.open();
+        dispatcher = new AsyncLogDispatcher(1024, AsyncLogDispatcher.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 1000; i++) {
+            dispatcher.dispatch(logger, Level.INFO, "record {}", new Object[]{i});
+        }
+        dispatcher.shutdown(5000);
+
+        assertThat(appender.messages()).hasSize(1000).startsWith("record 0").endsWith("record 999");
+    }
+
+    /**
+     * Leaves the writer blocked in the appender on record 0, which holds its slot until written, and records 1 to 3 in the other slots
+     */
+    private void fillBuffer() throws InterruptedException {
+        dispatcher.dispatch(logger, Level.INFO, "record 0", null);
+        assertThat(appender.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < dispatcher.getCapacity(); i++) {
+            dispatcher.dispatch(logger, Level.INFO, "record {}", new Object[]{i});
+        }
+        assertThat(dispatcher.getDroppedCount()).isZero();
+    }
+
+    /**
+     * Collects events, blocking the writer thread until the gate is opened
+     */
+    private static final class GatedAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        List<String> messages() {
+            return events.stream().map(ILoggingEvent::getFormattedMessage).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.cruddemo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRingBufferTest {
+
+    @Test
+    void roundsTheCapacityUpToAPowerOfTwo() {
+        assertThat(new LogRingBuffer(4).capacity()).isEqualTo(4);
+        assertThat(new LogRingBuffer(5).capacity()).isEqualTo(8);
+        assertThat(new LogRingBuffer(1000).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void handsOutRecordsInOrderAcrossWraparound() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        List<String> consumed = new ArrayList<>();
+        // Three laps around the four slots, with up to three records in flight
+        for (int i = 0; i < 12; i += 3) {
+            for (int j = i; j < i + 3; j++) {
+                publish(buffer, "record " + j);
+            }
+            for (LogRingBuffer.Slot slot = buffer.peek(); slot != null; slot = buffer.peek()) {
+                consumed.add(slot.format);
+                buffer.release();
+            }
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            expected.add("record " + i);
+        }
+        assertThat(consumed).isEqualTo(expected);
+    }
+
+    @Test
+    void rejectsClaimsWhenFullUntilASlotIsReleased() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            publish(buffer, "record " + i);
+        }
+
+        assertThat(buffer.tryClaim()).isEqualTo(-1);
+
+        assertThat(buffer.peek().format).isEqualTo("record 0");
+        buffer.release();
+        long sequence = buffer.tryClaim();
+        assertThat(sequence).isEqualTo(4);
+        // The freed slot is reused and comes back cleared
+        assertThat(buffer.slot(sequence).format).isNull();
+        assertThat(buffer.tryClaim()).isEqualTo(-1);
+    }
+
+    @Test
+    void hidesClaimedSlotsUntilTheyArePublished() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        long first = buffer.tryClaim();
+        long second = buffer.tryClaim();
+        buffer.slot(second).format = "second";
+        buffer.publish(second);
+
+        // The consumer stops at the first unpublished slot, even if a later one is ready
+        assertThat(buffer.peek()).isNull();
+
+        buffer.slot(first).format = "first";
+        buffer.publish(first);
+        assertThat(buffer.peek().format).isEqualTo("first");
+        buffer.release();
+        assertThat(buffer.peek().format).isEqualTo("second");
+    }
+
+    @Test
+    void deliversEveryRecordOnceWithConcurrentProducers() throws Exception {
+        int producers = 4;
+        int recordsPerProducer = 5_000;
+        LogRingBuffer buffer = new LogRingBuffer(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String producer = "producer " + p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < recordsPerProducer; i++) {
+                    long sequence;
+                    while ((sequence = buffer.tryClaim()) < 0) {
+                        Thread.onSpinWait();
+                    }
+                    buffer.slot(sequence).format = producer;
+                    buffer.slot(sequence).timestamp = i;
+                    buffer.publish(sequence);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        Set<String> seen = new HashSet<>();
+        long[] lastByProducer = new long[producers];
+        Arrays.fill(lastByProducer, -1);
+        int consumed = 0;
+        while (consumed < producers * recordsPerProducer) {
+            LogRingBuffer.Slot slot = buffer.peek();
+            if (slot == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = Integer.parseInt(slot.format.substring("producer ".length()));
+            // Each producer's records arrive in the order it published them
+            assertThat(slot.timestamp).isEqualTo(lastByProducer[producer] + 1);
+            lastByProducer[producer] = slot.timestamp;
+            seen.add(slot.format + "/" + slot.timestamp);
+            buffer.release();
+            consumed++;
+        }
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        assertThat(seen).hasSize(producers * recordsPerProducer);
+        assertThat(buffer.peek()).isNull();
+    }
+
+    private static void publish(LogRingBuffer buffer, String format) {
+        long sequence = buffer.tryClaim();
+        assertThat(sequence).isNotNegative();
+        buffer.slot(sequence).format = format;
+        buffer.publish(sequence);
+    }
+}